@@ -0,0 +1,190 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import net.minecraft.init.Bootstrap;
+import net.minecraft.pathfinding.Path;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the path jobs over recorded or synthetic terrain.
+ * <p>
+ * Run with {@code gradlew jmh}, optionally {@code -PjmhInclude=PathJobBenchmark.moveToLocation}.
+ * The gc profiler reports the allocations per search, the auxiliary counters the nodes visited per second and
+ * the length of the found paths. Each trial prints how often the move job reached its destination and how much
+ * longer its paths were than the straight line.
+ * Fixtures are read from {@code src/jmh/resources/fixtures/<name>.nbt}, recorded with
+ * {@link TerrainFixture#record}, and otherwise generated. The hillside fixture is stored: terraces one block high,
+ * a ravine crossed by a bridge, a pond and trees beyond the ravine. The detour fixture is only solved when the jobs
+ * read far enough to the side of their start and end, see {@link #moveToLocationCitizenRange}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PathJobBenchmark
+{
+    /**
+     * Search range of the benchmarked jobs, the one the citizens use.
+     */
+    private static final int RANGE = (int) PathNavigate.MAX_PATHING_LENGTH;
+
+    /**
+     * Search range of the citizens' walks, their follow range.
+     */
+    private static final int CITIZEN_RANGE = 100;
+
+    @Param({"flat", "maze", "forest", "lake", "hillside", "detour"})
+    public String fixtureName;
+
+    private TerrainFixture  fixture;
+    private PathingSnapshot snapshot;
+
+    private int    searches;
+    private int    reached;
+    private long   totalLength;
+    private double totalDetour;
+
+    /**
+     * Nodes and points of the searches of one iteration, reported by JMH next to the timings.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class SearchCounters
+    {
+        public long nodesVisited;
+        public long pathPoints;
+
+        /**
+         * Reset the counters before each iteration.
+         */
+        @Setup(Level.Iteration)
+        public void reset()
+        {
+            nodesVisited = 0;
+            pathPoints = 0;
+        }
+    }
+
+    /**
+     * Register the vanilla blocks and load the fixture.
+     * The snapshot is shared by all searches of the trial, like the one of a world in game.
+     *
+     * @throws IOException if a recorded fixture can't be read.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException
+    {
+        Bootstrap.register();
+        final TerrainFixture recorded = TerrainFixture.load(fixtureName);
+        fixture = recorded == null ? TerrainFixture.generate(fixtureName) : recorded;
+        snapshot = PathingSnapshot.of(fixture);
+    }
+
+    /**
+     * Print the quality of the paths of the move job.
+     */
+    @TearDown(Level.Trial)
+    public void report()
+    {
+        if (searches == 0)
+        {
+            return;
+        }
+
+        System.out.println(String.format("%n%s: reached %.1f%% of %d searches, average length %.1f, detour ratio %.2f",
+          fixtureName,
+          reached * 100.0 / searches,
+          searches,
+          (double) totalLength / searches,
+          reached == 0 ? 0 : totalDetour / reached));
+    }
+
+    /**
+     * Walk from the start to the destination of the fixture.
+     *
+     * @param counters the counters of the iteration.
+     * @return the path, so it isn't optimized away.
+     */
+    @Benchmark
+    public Path moveToLocation(@NotNull final SearchCounters counters)
+    {
+        return move(RANGE, counters);
+    }
+
+    /**
+     * Walk from the start to the destination of the fixture with the range of the citizens' walks.
+     *
+     * @param counters the counters of the iteration.
+     * @return the path, so it isn't optimized away.
+     */
+    @Benchmark
+    public Path moveToLocationCitizenRange(@NotNull final SearchCounters counters)
+    {
+        return move(CITIZEN_RANGE, counters);
+    }
+
+    @Nullable
+    private Path move(final int range, @NotNull final SearchCounters counters)
+    {
+        final PathJobMoveToLocation job =
+          new PathJobMoveToLocation(snapshot, fixture.getStart(), fixture.getDestination(), range);
+        final Path path = run(job, counters);
+
+        searches++;
+        if (path != null)
+        {
+            totalLength += path.getCurrentPathLength();
+            if (job.getResult().getPathReachesDestination())
+            {
+                reached++;
+                totalDetour += path.getCurrentPathLength() / Math.max(1.0, Math.sqrt(fixture.getStart().distanceSq(fixture.getDestination())));
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Search a tree around the hut of the fixture.
+     *
+     * @param counters the counters of the iteration.
+     * @return the path, so it isn't optimized away.
+     */
+    @Benchmark
+    public Path findTree(@NotNull final SearchCounters counters)
+    {
+        return run(new PathJobFindTree(snapshot, fixture.getStart(), fixture.getHut(), RANGE), counters);
+    }
+
+    /**
+     * Search water around the hut of the fixture.
+     *
+     * @param counters the counters of the iteration.
+     * @return the path, so it isn't optimized away.
+     */
+    @Benchmark
+    public Path findWater(@NotNull final SearchCounters counters)
+    {
+        return run(new PathJobFindWater(snapshot, fixture.getStart(), fixture.getHut(), RANGE,
+          Collections.<BlockPos>emptyList()), counters);
+    }
+
+    @Nullable
+    private static Path run(@NotNull final AbstractPathJob job, @NotNull final SearchCounters counters)
+    {
+        final Path path = job.call();
+        counters.nodesVisited += job.getTotalNodesVisited();
+        if (path != null)
+        {
+            counters.pathPoints += path.getCurrentPathLength();
+        }
+        return path;
+    }
+}
@@ -0,0 +1,469 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Biomes;
+import net.minecraft.init.Blocks;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTUtil;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.biome.Biome;
+import net.minecraftforge.common.util.Constants;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recorded terrain for the pathfinding benchmarks, a stub block access over a box of block states.
+ * <p>
+ * Fixtures are stored as compressed NBT: the size of the box, a palette of block names and metadata, one palette
+ * index per block and the start, hut and destination positions of the benchmarked jobs, relative to the box.
+ * Outside of the box the terrain is a stone floor below the box and air everywhere else.
+ */
+public final class TerrainFixture implements IBlockAccess
+{
+    private static final String TAG_SIZE        = "size";
+    private static final String TAG_PALETTE     = "palette";
+    private static final String TAG_BLOCK       = "block";
+    private static final String TAG_META        = "meta";
+    private static final String TAG_BLOCKS      = "blocks";
+    private static final String TAG_START       = "start";
+    private static final String TAG_HUT         = "hut";
+    private static final String TAG_DESTINATION = "destination";
+
+    /**
+     * Size of the synthetic fixtures and height of their ground.
+     */
+    private static final int SYNTHETIC_SIZE   = 96;
+    private static final int SYNTHETIC_HEIGHT = 24;
+    private static final int SYNTHETIC_GROUND = 4;
+
+    /**
+     * Spacing of the walls in the maze fixture and of the trees in the forest fixture.
+     */
+    private static final int MAZE_SPACING   = 6;
+    private static final int FOREST_SPACING = 5;
+    private static final int TREE_HEIGHT    = 5;
+    private static final int LAKE_RADIUS    = 12;
+
+    /**
+     * Distance of the detour fixture's start and destination from its wall, and of the gap in the wall from them.
+     * The gap is further to the side than the 32 blocks path jobs used to read around their start and end.
+     */
+    private static final int DETOUR_OFFSET = 4;
+    private static final int DETOUR_GAP    = 38;
+
+    private final int           sizeX;
+    private final int           sizeY;
+    private final int           sizeZ;
+    private final IBlockState[] states;
+    private       BlockPos      start       = BlockPos.ORIGIN;
+    private       BlockPos      hut         = BlockPos.ORIGIN;
+    private       BlockPos      destination = BlockPos.ORIGIN;
+
+    /**
+     * Create an empty fixture, filled with air.
+     *
+     * @param sizeX the size along x.
+     * @param sizeY the size along y.
+     * @param sizeZ the size along z.
+     */
+    public TerrainFixture(final int sizeX, final int sizeY, final int sizeZ)
+    {
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.states = new IBlockState[sizeX * sizeY * sizeZ];
+        Arrays.fill(states, Blocks.AIR.getDefaultState());
+    }
+
+    /**
+     * Record a box of a live world into a fixture file.
+     *
+     * @param world       the world.
+     * @param from        the lowest corner of the box.
+     * @param to          the highest corner of the box.
+     * @param start       the start position of the jobs.
+     * @param hut         the hut position for the tree and water searches.
+     * @param destination the destination of the move job.
+     * @param file        the file to write.
+     * @throws IOException if the file can't be written.
+     */
+    public static void record(
+                               @NotNull final World world, @NotNull final BlockPos from, @NotNull final BlockPos to,
+                               @NotNull final BlockPos start, @NotNull final BlockPos hut, @NotNull final BlockPos destination,
+                               @NotNull final File file) throws IOException
+    {
+        final TerrainFixture fixture = new TerrainFixture(to.getX() - from.getX() + 1, to.getY() - from.getY() + 1, to.getZ() - from.getZ() + 1);
+        for (final BlockPos.MutableBlockPos pos : BlockPos.getAllInBoxMutable(from, to))
+        {
+            fixture.setBlockState(pos.subtract(from), world.getBlockState(pos));
+        }
+        fixture.setPositions(start.subtract(from), hut.subtract(from), destination.subtract(from));
+        CompressedStreamTools.safeWrite(fixture.writeToNBT(), file);
+    }
+
+    /**
+     * Load a fixture from the benchmark resources.
+     *
+     * @param name the name of the fixture, without extension.
+     * @return the fixture or null if no such resource exists.
+     * @throws IOException if the resource can't be read.
+     */
+    @Nullable
+    public static TerrainFixture load(@NotNull final String name) throws IOException
+    {
+        try (InputStream stream = TerrainFixture.class.getResourceAsStream("/fixtures/" + name + ".nbt"))
+        {
+            if (stream == null)
+            {
+                return null;
+            }
+            return readFromNBT(CompressedStreamTools.readCompressed(stream));
+        }
+    }
+
+    /**
+     * Generate one of the synthetic fixtures, used when no recorded fixture of that name exists.
+     *
+     * @param name flat, maze, forest, lake or detour.
+     * @return the fixture.
+     */
+    @NotNull
+    public static TerrainFixture generate(@NotNull final String name)
+    {
+        final TerrainFixture fixture = new TerrainFixture(SYNTHETIC_SIZE, SYNTHETIC_HEIGHT, SYNTHETIC_SIZE);
+        final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int x = 0; x < SYNTHETIC_SIZE; x++)
+        {
+            for (int z = 0; z < SYNTHETIC_SIZE; z++)
+            {
+                for (int y = 0; y < SYNTHETIC_GROUND; y++)
+                {
+                    fixture.setBlockState(pos.setPos(x, y, z), y == SYNTHETIC_GROUND - 1 ? Blocks.GRASS.getDefaultState() : Blocks.DIRT.getDefaultState());
+                }
+            }
+        }
+
+        final int center = SYNTHETIC_SIZE / 2;
+        switch (name)
+        {
+            case "maze":
+                fixture.generateMaze();
+                break;
+            case "forest":
+                fixture.generateForest();
+                break;
+            case "lake":
+                fixture.generateLake(center);
+                break;
+            case "detour":
+                fixture.generateDetour(center);
+                fixture.setPositions(new BlockPos(center - DETOUR_OFFSET, SYNTHETIC_GROUND, center),
+                  new BlockPos(center - DETOUR_OFFSET, SYNTHETIC_GROUND, center),
+                  new BlockPos(center + DETOUR_OFFSET, SYNTHETIC_GROUND, center));
+                return fixture;
+            case "flat":
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown fixture " + name);
+        }
+
+        fixture.setPositions(new BlockPos(2, SYNTHETIC_GROUND, 2),
+          new BlockPos(2, SYNTHETIC_GROUND, 2),
+          new BlockPos(SYNTHETIC_SIZE - 3, SYNTHETIC_GROUND, SYNTHETIC_SIZE - 3));
+        return fixture;
+    }
+
+    /**
+     * Walls along z every few blocks, each with a single gap alternating between both ends.
+     */
+    private void generateMaze()
+    {
+        final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int x = MAZE_SPACING; x < sizeX - 1; x += MAZE_SPACING)
+        {
+            final int gap = (x / MAZE_SPACING) % 2 == 0 ? 1 : sizeZ - 2;
+            for (int z = 0; z < sizeZ; z++)
+            {
+                if (z == gap)
+                {
+                    continue;
+                }
+                for (int y = SYNTHETIC_GROUND; y < SYNTHETIC_GROUND + 3; y++)
+                {
+                    setBlockState(pos.setPos(x, y, z), Blocks.COBBLESTONE.getDefaultState());
+                }
+            }
+        }
+    }
+
+    /**
+     * A wall along z through the middle of the fixture, with a single gap far to the side of the start and destination.
+     *
+     * @param center the x of the wall and z of the start and destination.
+     */
+    private void generateDetour(final int center)
+    {
+        final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int z = 0; z < sizeZ; z++)
+        {
+            if (z == center + DETOUR_GAP)
+            {
+                continue;
+            }
+            for (int y = SYNTHETIC_GROUND; y < SYNTHETIC_GROUND + 3; y++)
+            {
+                setBlockState(pos.setPos(center, y, z), Blocks.COBBLESTONE.getDefaultState());
+            }
+        }
+    }
+
+    /**
+     * A grid of oak trees, the lowest log on the ground.
+     */
+    private void generateForest()
+    {
+        final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int x = FOREST_SPACING; x < sizeX - 1; x += FOREST_SPACING)
+        {
+            for (int z = FOREST_SPACING; z < sizeZ - 1; z += FOREST_SPACING)
+            {
+                for (int y = SYNTHETIC_GROUND; y < SYNTHETIC_GROUND + TREE_HEIGHT; y++)
+                {
+                    setBlockState(pos.setPos(x, y, z), Blocks.LOG.getDefaultState());
+                }
+                for (int dx = -1; dx <= 1; dx++)
+                {
+                    for (int dz = -1; dz <= 1; dz++)
+                    {
+                        if (dx != 0 || dz != 0)
+                        {
+                            setBlockState(pos.setPos(x + dx, SYNTHETIC_GROUND + TREE_HEIGHT - 1, z + dz), Blocks.LEAVES.getDefaultState());
+                        }
+                    }
+                }
+                setBlockState(pos.setPos(x, SYNTHETIC_GROUND + TREE_HEIGHT, z), Blocks.LEAVES.getDefaultState());
+            }
+        }
+    }
+
+    /**
+     * A round lake, two blocks deep, in the middle of the fixture.
+     *
+     * @param center the center of the lake along x and z.
+     */
+    private void generateLake(final int center)
+    {
+        final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int x = center - LAKE_RADIUS; x <= center + LAKE_RADIUS; x++)
+        {
+            for (int z = center - LAKE_RADIUS; z <= center + LAKE_RADIUS; z++)
+            {
+                final int dx = x - center;
+                final int dz = z - center;
+                if (dx * dx + dz * dz <= LAKE_RADIUS * LAKE_RADIUS)
+                {
+                    setBlockState(pos.setPos(x, SYNTHETIC_GROUND - 1, z), Blocks.WATER.getDefaultState());
+                    setBlockState(pos.setPos(x, SYNTHETIC_GROUND - 2, z), Blocks.WATER.getDefaultState());
+                }
+            }
+        }
+    }
+
+    @NotNull
+    private static TerrainFixture readFromNBT(@NotNull final NBTTagCompound compound)
+    {
+        final int[] size = compound.getIntArray(TAG_SIZE);
+        final TerrainFixture fixture = new TerrainFixture(size[0], size[1], size[2]);
+
+        final NBTTagList paletteTag = compound.getTagList(TAG_PALETTE, Constants.NBT.TAG_COMPOUND);
+        final IBlockState[] palette = new IBlockState[paletteTag.tagCount()];
+        for (int i = 0; i < palette.length; i++)
+        {
+            final NBTTagCompound entry = paletteTag.getCompoundTagAt(i);
+            final Block block = Block.getBlockFromName(entry.getString(TAG_BLOCK));
+            palette[i] = block == null ? Blocks.AIR.getDefaultState() : block.getStateFromMeta(entry.getInteger(TAG_META));
+        }
+
+        final int[] blocks = compound.getIntArray(TAG_BLOCKS);
+        for (int i = 0; i < blocks.length; i++)
+        {
+            fixture.states[i] = palette[blocks[i]];
+        }
+
+        fixture.setPositions(NBTUtil.getPosFromTag(compound.getCompoundTag(TAG_START)),
+          NBTUtil.getPosFromTag(compound.getCompoundTag(TAG_HUT)),
+          NBTUtil.getPosFromTag(compound.getCompoundTag(TAG_DESTINATION)));
+        return fixture;
+    }
+
+    @NotNull
+    private NBTTagCompound writeToNBT()
+    {
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setIntArray(TAG_SIZE, new int[] {sizeX, sizeY, sizeZ});
+
+        final Map<IBlockState, Integer> paletteIndex = new HashMap<>();
+        final List<IBlockState> palette = new ArrayList<>();
+        final int[] blocks = new int[states.length];
+        for (int i = 0; i < states.length; i++)
+        {
+            blocks[i] = paletteIndex.computeIfAbsent(states[i], state ->
+            {
+                palette.add(state);
+                return palette.size() - 1;
+            });
+        }
+
+        final NBTTagList paletteTag = new NBTTagList();
+        for (final IBlockState state : palette)
+        {
+            final NBTTagCompound entry = new NBTTagCompound();
+            entry.setString(TAG_BLOCK, Block.REGISTRY.getNameForObject(state.getBlock()).toString());
+            entry.setInteger(TAG_META, state.getBlock().getMetaFromState(state));
+            paletteTag.appendTag(entry);
+        }
+        compound.setTag(TAG_PALETTE, paletteTag);
+        compound.setIntArray(TAG_BLOCKS, blocks);
+
+        compound.setTag(TAG_START, NBTUtil.createPosTag(start));
+        compound.setTag(TAG_HUT, NBTUtil.createPosTag(hut));
+        compound.setTag(TAG_DESTINATION, NBTUtil.createPosTag(destination));
+        return compound;
+    }
+
+    /**
+     * Set the positions used by the benchmarked jobs.
+     *
+     * @param start       the start of the jobs.
+     * @param hut         the hut of the tree and water searches.
+     * @param destination the destination of the move job.
+     */
+    public void setPositions(@NotNull final BlockPos start, @NotNull final BlockPos hut, @NotNull final BlockPos destination)
+    {
+        this.start = start;
+        this.hut = hut;
+        this.destination = destination;
+    }
+
+    /**
+     * Set a block inside the box.
+     *
+     * @param pos   the position.
+     * @param state the state.
+     */
+    public void setBlockState(@NotNull final BlockPos pos, @NotNull final IBlockState state)
+    {
+        if (isInside(pos))
+        {
+            states[index(pos)] = state;
+        }
+    }
+
+    @NotNull
+    public BlockPos getStart()
+    {
+        return start;
+    }
+
+    @NotNull
+    public BlockPos getHut()
+    {
+        return hut;
+    }
+
+    @NotNull
+    public BlockPos getDestination()
+    {
+        return destination;
+    }
+
+    private boolean isInside(@NotNull final BlockPos pos)
+    {
+        return pos.getX() >= 0 && pos.getX() < sizeX && pos.getY() >= 0 && pos.getY() < sizeY && pos.getZ() >= 0 && pos.getZ() < sizeZ;
+    }
+
+    private int index(@NotNull final BlockPos pos)
+    {
+        return (pos.getY() * sizeZ + pos.getZ()) * sizeX + pos.getX();
+    }
+
+    @NotNull
+    @Override
+    public IBlockState getBlockState(@NotNull final BlockPos pos)
+    {
+        if (isInside(pos))
+        {
+            return states[index(pos)];
+        }
+        return pos.getY() < 0 ? Blocks.STONE.getDefaultState() : Blocks.AIR.getDefaultState();
+    }
+
+    @Override
+    public boolean isAirBlock(@NotNull final BlockPos pos)
+    {
+        return getBlockState(pos).getBlock() == Blocks.AIR;
+    }
+
+    @Nullable
+    @Override
+    public TileEntity getTileEntity(@NotNull final BlockPos pos)
+    {
+        return null;
+    }
+
+    @Override
+    public int getStrongPower(@NotNull final BlockPos pos, @NotNull final EnumFacing direction)
+    {
+        return 0;
+    }
+
+    @Override
+    public boolean isSideSolid(@NotNull final BlockPos pos, @NotNull final EnumFacing side, final boolean defaultValue)
+    {
+        return getBlockState(pos).isSideSolid(this, pos, side);
+    }
+
+    //  Client only accessors, not used by the pathfinding.
+
+    public int getCombinedLight(@NotNull final BlockPos pos, final int lightValue)
+    {
+        return 0;
+    }
+
+    public Biome getBiome(@NotNull final BlockPos pos)
+    {
+        return Biomes.PLAINS;
+    }
+
+    public Biome getBiomeGenForCoords(@NotNull final BlockPos pos)
+    {
+        return Biomes.PLAINS;
+    }
+
+    public boolean extendedLevelsInChunkCache()
+    {
+        return false;
+    }
+
+    public WorldType getWorldType()
+    {
+        return WorldType.DEFAULT;
+    }
+}
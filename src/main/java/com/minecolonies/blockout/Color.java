@@ -50,4 +50,15 @@ public final class Color
         final Integer i = nameToColorMap.get(name.toLowerCase());
         return i != null ? i : def;
     }
+
+    /**
+     * Check if there is a color of a name.
+     *
+     * @param name name of the color.
+     * @return true if the name exists.
+     */
+    public static boolean hasName(final String name)
+    {
+        return nameToColorMap.containsKey(name.toLowerCase());
+    }
 }
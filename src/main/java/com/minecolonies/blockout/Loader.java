@@ -9,6 +9,7 @@ import net.minecraftforge.fml.relauncher.Side;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.w3c.dom.Document;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
@@ -26,6 +27,7 @@ import java.util.Map;
 
 /**
  * Utilities to load xml files.
+ * Layout files are compiled into {@link PaneTemplate}s once and kept until the resources are reloaded.
  */
 public final class Loader
 {
@@ -48,6 +50,8 @@ public final class Loader
         register("itemicon", ItemIcon.class);
         register("switch", SwitchView.class);
     }
+
+    private static final Map<ResourceLocation, PaneTemplate> layoutCache = new HashMap<>();
     private Loader()
     {
         // Hides default constructor.
@@ -88,20 +92,36 @@ public final class Loader
         return name + ":" + (style != null ? style : "");
     }
 
-    private static Pane createFromPaneParams(final PaneParams params)
+    /**
+     * Find the constructor of a pane type and style, falling back to the type without style.
+     *
+     * @param paneType the type.
+     * @param style    the style or null.
+     * @return the constructor or null if the type isn't registered.
+     */
+    @Nullable
+    static Constructor<? extends Pane> findConstructor(final String paneType, final String style)
     {
-        //  Parse Attributes first, to full construct
-        final String paneType = params.getType();
-        final String style = params.getStringAttribute("style", null);
-
-        String key = makeFactoryKey(paneType, style);
-        Constructor<? extends Pane> constructor = paneConstructorMap.get(key);
+        Constructor<? extends Pane> constructor = paneConstructorMap.get(makeFactoryKey(paneType, style));
         if (constructor == null && style != null)
         {
-            key = makeFactoryKey(paneType, null);
-            constructor = paneConstructorMap.get(key);
+            constructor = paneConstructorMap.get(makeFactoryKey(paneType, null));
         }
+        return constructor;
+    }
+
+    /**
+     * Forget the compiled layouts, called when the resources are reloaded.
+     */
+    public static void clearCache()
+    {
+        layoutCache.clear();
+    }
 
+    private static Pane createFromPaneParams(final PaneParams params)
+    {
+        final String paneType = params.getType();
+        final Constructor<? extends Pane> constructor = params.getTemplate().getConstructor();
         if (constructor != null)
         {
             try
@@ -152,16 +172,14 @@ public final class Loader
     }
 
     /**
-     * Parse an XML Document into contents for a View.
+     * Create the contents of a View from a compiled layout.
      *
-     * @param doc    xml document.
+     * @param layout the template of the root element.
      * @param parent parent view.
      */
-    private static void createFromXML(final Document doc, final View parent)
+    private static void createFromTemplate(final PaneTemplate layout, final View parent)
     {
-        doc.getDocumentElement().normalize();
-
-        final PaneParams root = new PaneParams(doc.getDocumentElement());
+        final PaneParams root = new PaneParams(layout);
         if (parent instanceof Window)
         {
             ((Window) parent).loadParams(root);
@@ -174,25 +192,28 @@ public final class Loader
     }
 
     /**
-     * Parse XML from an InputSource into contents for a View.
+     * Parse and compile XML from an InputSource.
      *
-     * @param input  xml file.
-     * @param parent parent view.
+     * @param input xml file.
+     * @return the template of the root element or null if the XML couldn't be parsed.
      */
-    private static void createFromXML(final InputSource input, final View parent)
+    @Nullable
+    private static PaneTemplate compileXML(final InputSource input)
     {
         try
         {
             final DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
             final DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
             final Document doc = dBuilder.parse(input);
+            doc.getDocumentElement().normalize();
 
-            createFromXML(doc, parent);
+            return PaneTemplate.compile(doc.getDocumentElement());
         }
         catch (ParserConfigurationException | SAXException | IOException exc)
         {
             logger.error("Exception when parsing XML.", exc);
         }
+        return null;
     }
 
     /**
@@ -203,7 +224,11 @@ public final class Loader
      */
     public static void createFromXML(final String xmlString, final View parent)
     {
-        createFromXML(new InputSource(new StringReader(xmlString)), parent);
+        final PaneTemplate layout = compileXML(new InputSource(new StringReader(xmlString)));
+        if (layout != null)
+        {
+            createFromTemplate(layout, parent);
+        }
     }
 
     /**
@@ -219,13 +244,24 @@ public final class Loader
 
     /**
      * Parse XML contains in a ResourceLocation into contents for a Window.
+     * The file is only parsed the first time, later calls reuse the compiled layout.
      *
      * @param resource xml as a {@link ResourceLocation}.
      * @param parent   parent view.
      */
     public static void createFromXMLFile(final ResourceLocation resource, final View parent)
     {
-        createFromXML(new InputSource(createInputStream(resource)), parent);
+        PaneTemplate layout = layoutCache.get(resource);
+        if (layout == null)
+        {
+            layout = compileXML(new InputSource(createInputStream(resource)));
+            if (layout == null)
+            {
+                return;
+            }
+            layoutCache.put(resource, layout);
+        }
+        createFromTemplate(layout, parent);
     }
 
     /**
@@ -138,6 +138,10 @@ public class Pane extends Gui
     public final void setID(final String id)
     {
         this.id = id;
+        if (parent != null)
+        {
+            parent.invalidateIdIndex();
+        }
     }
 
     /**
@@ -1,28 +1,21 @@
 package com.minecolonies.blockout;
 
 import net.minecraft.client.resources.I18n;
-import net.minecraft.util.math.MathHelper;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.w3c.dom.Node;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
-import static com.minecolonies.blockout.Log.getLogger;
 
 /**
  * Special parameters for the panes.
+ * Wraps the {@link PaneTemplate} of a pane, which is shared by every window created from the same layout.
  */
 public class PaneParams
 {
-    private static final Pattern PERCENTAGE_PATTERN = Pattern.compile("([-+]?\\d+)(%|px)?", Pattern.CASE_INSENSITIVE);
-    private static final Pattern RGBA_PATTERN       =
-      Pattern.compile("rgba?\\(\\s*(\\d+)\\s*,\\s*(\\d+)\\s*,\\s*(\\d+)\\s*(?:,\\s*([01]\\.\\d+)\\s*)?\\)", Pattern.CASE_INSENSITIVE);
-    private final Node node;
-    private       View parentView;
+    private final PaneTemplate template;
+    private       View         parentView;
 
     /**
      * Instantiates the pane parameters.
@@ -31,12 +24,28 @@ public class PaneParams
      */
     public PaneParams(final Node n)
     {
-        node = n;
+        this(PaneTemplate.compile(n));
+    }
+
+    /**
+     * Instantiates the pane parameters from a compiled template.
+     *
+     * @param template the template.
+     */
+    public PaneParams(@NotNull final PaneTemplate template)
+    {
+        this.template = template;
     }
 
     public String getType()
     {
-        return node.getNodeName();
+        return template.getType();
+    }
+
+    @NotNull
+    public PaneTemplate getTemplate()
+    {
+        return template;
     }
 
     public View getParentView()
@@ -62,36 +71,29 @@ public class PaneParams
     @Nullable
     public List<PaneParams> getChildren()
     {
-        List<PaneParams> list = null;
-
-        Node child = node.getFirstChild();
-        while (child != null)
+        if (template.getChildren().isEmpty())
         {
-            if (child.getNodeType() == Node.ELEMENT_NODE)
-            {
-                if (list == null)
-                {
-                    list = new ArrayList<>();
-                }
-
-                list.add(new PaneParams(child));
-            }
-            child = child.getNextSibling();
+            return null;
         }
 
+        final List<PaneParams> list = new ArrayList<>(template.getChildren().size());
+        for (final PaneTemplate child : template.getChildren())
+        {
+            list.add(new PaneParams(child));
+        }
         return list;
     }
 
     @NotNull
     public String getText()
     {
-        return node.getTextContent().trim();
+        return template.getText();
     }
 
     @Nullable
     public String getLocalizedText()
     {
-        return localize(node.getTextContent().trim());
+        return localize(template.getText());
     }
 
     @Nullable
@@ -149,13 +151,8 @@ public class PaneParams
      */
     public String getStringAttribute(final String name, final String def)
     {
-        final Node attr = getAttribute(name);
-        return (attr != null) ? attr.getNodeValue() : def;
-    }
-
-    private Node getAttribute(final String name)
-    {
-        return node.getAttributes().getNamedItem(name);
+        final String attr = template.getAttribute(name);
+        return (attr != null) ? attr : def;
     }
 
     /**
@@ -324,41 +321,8 @@ public class PaneParams
      */
     public int getScalableIntegerAttribute(final String name, final int def, final int scale)
     {
-        final String attr = getStringAttribute(name, null);
-        if (attr != null)
-        {
-            final Matcher m = PERCENTAGE_PATTERN.matcher(attr);
-            if (m.find())
-            {
-                return parseScalableIntegerRegexMatch(m, def, scale);
-            }
-        }
-
-        return def;
-    }
-
-    private static int parseScalableIntegerRegexMatch(final Matcher m, final int def, final int scale)
-    {
-        try
-        {
-            int value = Integer.parseInt(m.group(1));
-
-            if ("%".equals(m.group(2)))
-            {
-                value = scale * MathHelper.clamp_int(value, 0, 100) / 100;
-            }
-            //  DO NOT attempt to do a "value < 0" treated as (100% of parent) - abs(size)
-            //  without differentiating between 'size' and 'position' value types
-            //  even then, it's probably not actually necessary...
-
-            return value;
-        }
-        catch (NumberFormatException | IndexOutOfBoundsException | IllegalStateException ex)
-        {
-            getLogger().warn(ex);
-        }
-
-        return def;
+        final PaneTemplate.Scalable[] values = template.getScalables(name);
+        return values != null ? values[0].resolve(def, scale) : def;
     }
 
     /**
@@ -372,28 +336,22 @@ public class PaneParams
     @Nullable
     public SizePair getSizePairAttribute(final String name, final SizePair def, final SizePair scale)
     {
-        final String attr = getStringAttribute(name, null);
-        if (attr != null)
+        if (template.getAttribute(name) == null)
         {
-            int w = def != null ? def.x : 0;
-            int h = def != null ? def.y : 0;
-
-            final Matcher m = PERCENTAGE_PATTERN.matcher(attr);
-            if (m.find())
-            {
-                w = parseScalableIntegerRegexMatch(m, w, scale != null ? scale.x : 0);
+            return def;
+        }
 
-                if (m.find() || m.find(0))
-                {
-                    //  If no second value is passed, use the first value
-                    h = parseScalableIntegerRegexMatch(m, h, scale != null ? scale.y : 0);
-                }
-            }
+        int w = def != null ? def.x : 0;
+        int h = def != null ? def.y : 0;
 
-            return new SizePair(w, h);
+        final PaneTemplate.Scalable[] values = template.getScalables(name);
+        if (values != null)
+        {
+            w = values[0].resolve(w, scale != null ? scale.x : 0);
+            h = values[1].resolve(h, scale != null ? scale.y : 0);
         }
 
-        return def;
+        return new SizePair(w, h);
     }
 
     /**
@@ -405,57 +363,7 @@ public class PaneParams
      */
     public int getColorAttribute(final String name, final int def)
     {
-        final String attr = getStringAttribute(name, null);
-        if (attr == null)
-        {
-            return def;
-        }
-
-        final Matcher m = RGBA_PATTERN.matcher(attr);
-
-        if (attr.startsWith("#"))
-        {
-            //  CSS Hex format: #00112233
-            return Integer.parseInt(attr.substring(1), 16);
-        }
-        //  CSS RGB format: rgb(255,0,0) and rgba(255,0,0,0.3)
-        else if ((attr.startsWith("rgb(") || attr.startsWith("rgba(")) && m.find())
-        {
-            return getRGBA(attr, m);
-        }
-        else
-        {
-            return getColorByNumberOrName(def, attr);
-        }
-    }
-
-    private static int getRGBA(final String attr, final Matcher m)
-    {
-        final int r = MathHelper.clamp_int(Integer.parseInt(m.group(1)), 0, 255);
-        final int g = MathHelper.clamp_int(Integer.parseInt(m.group(2)), 0, 255);
-        final int b = MathHelper.clamp_int(Integer.parseInt(m.group(3)), 0, 255);
-
-        int color = ((r & 0xFF) << 16) | ((g & 0xFF) << 8) | (b & 0xFF);
-
-        if (attr.startsWith("rgba"))
-        {
-            final int alpha = (int) (Double.parseDouble(m.group(4)) * 255.0F);
-            color |= MathHelper.clamp_int(alpha, 0, 255) << 24;
-        }
-
-        return color;
-    }
-
-    private static int getColorByNumberOrName(final int def, final String attr)
-    {
-        try
-        {
-            return Integer.parseInt(attr);
-        }
-        catch (final NumberFormatException ex)
-        {
-            return Color.getByName(attr, def);
-        }
+        return template.getColor(name, def);
     }
 
     /**
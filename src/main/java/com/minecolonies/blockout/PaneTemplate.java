@@ -0,0 +1,283 @@
+package com.minecolonies.blockout;
+
+import net.minecraft.util.math.MathHelper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+import java.lang.reflect.Constructor;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.minecolonies.blockout.Log.getLogger;
+
+/**
+ * An xml element compiled once, the type, attributes, text and children of a pane and the constructor to create it.
+ * <p>
+ * The templates of a layout are shared by every window using it, {@link PaneParams} wrap them for one pane. Values
+ * which don't depend on the parent, like colors and the numbers of sizes, are parsed on first use and kept.
+ */
+public final class PaneTemplate
+{
+    private static final Pattern PERCENTAGE_PATTERN = Pattern.compile("([-+]?\\d+)(%|px)?", Pattern.CASE_INSENSITIVE);
+    private static final Pattern RGBA_PATTERN       =
+      Pattern.compile("rgba?\\(\\s*(\\d+)\\s*,\\s*(\\d+)\\s*,\\s*(\\d+)\\s*(?:,\\s*([01]\\.\\d+)\\s*)?\\)", Pattern.CASE_INSENSITIVE);
+
+    @NotNull
+    private final String                      type;
+    @NotNull
+    private final Map<String, String>         attributes;
+    @NotNull
+    private final String                      text;
+    @NotNull
+    private final List<PaneTemplate>          children;
+    @Nullable
+    private final Constructor<? extends Pane> constructor;
+
+    //  Parsed on first use
+    @NotNull
+    private final Map<String, Integer>    colors    = new HashMap<>();
+    @NotNull
+    private final Map<String, Scalable[]> scalables = new HashMap<>();
+
+    private PaneTemplate(
+                          @NotNull final String type,
+                          @NotNull final Map<String, String> attributes,
+                          @NotNull final String text,
+                          @NotNull final List<PaneTemplate> children)
+    {
+        this.type = type;
+        this.attributes = Collections.unmodifiableMap(attributes);
+        this.text = text;
+        this.children = Collections.unmodifiableList(children);
+        this.constructor = Loader.findConstructor(type, attributes.get("style"));
+    }
+
+    /**
+     * Compile an xml element and its children.
+     *
+     * @param node the element.
+     * @return the template.
+     */
+    @NotNull
+    public static PaneTemplate compile(@NotNull final Node node)
+    {
+        final Map<String, String> attributes = new HashMap<>();
+        final NamedNodeMap nodeAttributes = node.getAttributes();
+        if (nodeAttributes != null)
+        {
+            for (int i = 0; i < nodeAttributes.getLength(); ++i)
+            {
+                final Node attribute = nodeAttributes.item(i);
+                attributes.put(attribute.getNodeName(), attribute.getNodeValue());
+            }
+        }
+
+        final List<PaneTemplate> children = new ArrayList<>();
+        Node child = node.getFirstChild();
+        while (child != null)
+        {
+            if (child.getNodeType() == Node.ELEMENT_NODE)
+            {
+                children.add(compile(child));
+            }
+            child = child.getNextSibling();
+        }
+
+        return new PaneTemplate(node.getNodeName(), attributes, node.getTextContent().trim(), children);
+    }
+
+    @NotNull
+    public String getType()
+    {
+        return type;
+    }
+
+    @NotNull
+    public String getText()
+    {
+        return text;
+    }
+
+    /**
+     * @return the templates of the child elements.
+     */
+    @NotNull
+    public List<PaneTemplate> getChildren()
+    {
+        return children;
+    }
+
+    /**
+     * @return the constructor of the pane type and style, or null if it isn't a registered pane.
+     */
+    @Nullable
+    public Constructor<? extends Pane> getConstructor()
+    {
+        return constructor;
+    }
+
+    /**
+     * Get the raw value of an attribute.
+     *
+     * @param name the name.
+     * @return the value or null if the attribute isn't set.
+     */
+    @Nullable
+    public String getAttribute(final String name)
+    {
+        return attributes.get(name);
+    }
+
+    /**
+     * Get a color attribute.
+     *
+     * @param name the name.
+     * @param def  the color if the attribute isn't set or no known color.
+     * @return int color value.
+     */
+    public int getColor(final String name, final int def)
+    {
+        if (!colors.containsKey(name))
+        {
+            final String attr = attributes.get(name);
+            colors.put(name, attr == null ? null : parseColor(attr));
+        }
+
+        final Integer color = colors.get(name);
+        return color != null ? color : def;
+    }
+
+    /**
+     * Parses a color, returns null if it is an unknown name.
+     */
+    @Nullable
+    private static Integer parseColor(@NotNull final String attr)
+    {
+        final Matcher m = RGBA_PATTERN.matcher(attr);
+
+        if (attr.startsWith("#"))
+        {
+            //  CSS Hex format: #00112233
+            return Integer.parseInt(attr.substring(1), 16);
+        }
+        //  CSS RGB format: rgb(255,0,0) and rgba(255,0,0,0.3)
+        else if ((attr.startsWith("rgb(") || attr.startsWith("rgba(")) && m.find())
+        {
+            return getRGBA(attr, m);
+        }
+
+        try
+        {
+            return Integer.parseInt(attr);
+        }
+        catch (final NumberFormatException ex)
+        {
+            return Color.hasName(attr) ? Color.getByName(attr, 0) : null;
+        }
+    }
+
+    private static int getRGBA(final String attr, final Matcher m)
+    {
+        final int r = MathHelper.clamp_int(Integer.parseInt(m.group(1)), 0, 255);
+        final int g = MathHelper.clamp_int(Integer.parseInt(m.group(2)), 0, 255);
+        final int b = MathHelper.clamp_int(Integer.parseInt(m.group(3)), 0, 255);
+
+        int color = ((r & 0xFF) << 16) | ((g & 0xFF) << 8) | (b & 0xFF);
+
+        if (attr.startsWith("rgba"))
+        {
+            final int alpha = (int) (Double.parseDouble(m.group(4)) * 255.0F);
+            color |= MathHelper.clamp_int(alpha, 0, 255) << 24;
+        }
+
+        return color;
+    }
+
+    /**
+     * Get the first and second number of a scalable attribute, like "50%" or "20 100%".
+     * The second is the first one again if there is only one.
+     *
+     * @param name the name.
+     * @return the two numbers or null if the attribute isn't set or has no number.
+     */
+    @Nullable
+    public Scalable[] getScalables(final String name)
+    {
+        if (!scalables.containsKey(name))
+        {
+            final String attr = attributes.get(name);
+            scalables.put(name, attr == null ? null : parseScalables(attr));
+        }
+        return scalables.get(name);
+    }
+
+    @Nullable
+    private static Scalable[] parseScalables(@NotNull final String attr)
+    {
+        final Matcher m = PERCENTAGE_PATTERN.matcher(attr);
+        if (!m.find())
+        {
+            return null;
+        }
+
+        final Scalable first = Scalable.parse(m);
+        //  If no second value is passed, use the first value
+        final Scalable second = m.find() ? Scalable.parse(m) : first;
+        return new Scalable[] {first, second};
+    }
+
+    /**
+     * A number which is either absolute or a percentage of a scale.
+     */
+    public static final class Scalable
+    {
+        private static final Scalable INVALID = new Scalable(0, false, false);
+
+        private final int     value;
+        private final boolean percent;
+        private final boolean valid;
+
+        private Scalable(final int value, final boolean percent, final boolean valid)
+        {
+            this.value = value;
+            this.percent = percent;
+            this.valid = valid;
+        }
+
+        @NotNull
+        private static Scalable parse(@NotNull final Matcher m)
+        {
+            try
+            {
+                return new Scalable(Integer.parseInt(m.group(1)), "%".equals(m.group(2)), true);
+            }
+            catch (NumberFormatException | IndexOutOfBoundsException | IllegalStateException ex)
+            {
+                getLogger().warn(ex);
+            }
+            return INVALID;
+        }
+
+        /**
+         * Calculate the number.
+         *
+         * @param def   the number if it couldn't be parsed.
+         * @param scale the scale of a percentage.
+         * @return the number.
+         */
+        public int resolve(final int def, final int scale)
+        {
+            if (!valid)
+            {
+                return def;
+            }
+            //  DO NOT attempt to do a "value < 0" treated as (100% of parent) - abs(size)
+            //  without differentiating between 'size' and 'position' value types
+            //  even then, it's probably not actually necessary...
+            return percent ? scale * MathHelper.clamp_int(value, 0, 100) / 100 : value;
+        }
+    }
+}
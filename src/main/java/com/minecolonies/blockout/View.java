@@ -6,8 +6,10 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 
 /**
  * A View is a Pane which can contain other Panes.
@@ -18,6 +20,12 @@ public class View extends Pane
     protected List<Pane> children = new ArrayList<>();
     protected int        padding  = 0;
 
+    /**
+     * The first pane of every id below this view, built on the first lookup and dropped when the hierarchy changes.
+     */
+    @Nullable
+    private Map<String, Pane> idIndex;
+
     /**
      * Constructs a barebones View.
      */
@@ -87,16 +95,38 @@ public class View extends Pane
             return this;
         }
 
-        for (final Pane child : children)
+        if (idIndex == null)
         {
-            final Pane found = child.findPaneByID(id);
-            if (found != null)
+            idIndex = new HashMap<>();
+            indexChildren(this, idIndex);
+        }
+        return idIndex.get(id);
+    }
+
+    /**
+     * Adds the panes below a view to an index in depth-first order, keeping the first pane of an id.
+     */
+    private static void indexChildren(@NotNull final View view, @NotNull final Map<String, Pane> index)
+    {
+        for (final Pane child : view.children)
+        {
+            index.putIfAbsent(child.getID(), child);
+            if (child instanceof View)
             {
-                return found;
+                indexChildren((View) child, index);
             }
         }
+    }
 
-        return null;
+    /**
+     * Drop the id index of this view and the views containing it, call when panes or their ids change.
+     */
+    protected void invalidateIdIndex()
+    {
+        for (View view = this; view != null; view = view.getParent())
+        {
+            view.idIndex = null;
+        }
     }
 
     @Override
@@ -184,6 +214,7 @@ public class View extends Pane
     {
         child.setWindow(getWindow());
         children.add(child);
+        invalidateIdIndex();
         adjustChild(child);
     }
 
@@ -238,5 +269,6 @@ public class View extends Pane
     public void removeChild(final Pane child)
     {
         children.remove(child);
+        invalidateIdIndex();
     }
 }
@@ -34,6 +34,29 @@ public class ScrollingList extends ScrollingView
     public ScrollingList(final PaneParams params)
     {
         super(params);
+        setVirtualized(params.getBooleanAttribute("virtual", false));
+    }
+
+    /**
+     * Check if only the visible rows of the list exist as panes.
+     *
+     * @return true if virtualized.
+     */
+    public boolean isVirtualized()
+    {
+        return ((ScrollingListContainer) container).isVirtualized();
+    }
+
+    /**
+     * Set whether only the visible rows of the list exist as panes, rows are then bound to other elements while
+     * scrolling. Off by default, the data provider of a virtualized list has to set the whole state of a row in
+     * updateElement. Lists whose rows keep state of their own, like text fields, should not be virtualized.
+     *
+     * @param virtualized true to virtualize.
+     */
+    public void setVirtualized(final boolean virtualized)
+    {
+        ((ScrollingListContainer) container).setVirtualized(virtualized);
     }
 
     public void setDataProvider(final DataProvider p)
@@ -6,16 +6,54 @@ import com.minecolonies.blockout.PaneParams;
 
 /**
  * A Blockout pane that contains a scrolling line of other panes.
+ * <p>
+ * When virtualized, only the rows in sight plus a few above and below exist as panes, they are bound to other
+ * elements of the list while scrolling.
  */
 public class ScrollingListContainer extends ScrollingContainer
 {
+    /**
+     * Rows kept above and below the visible ones, so they are ready when scrolling starts.
+     */
+    private static final int OVERSCAN = 2;
+
     private int listElementHeight = 0;
 
+    //  Virtualization
+    private boolean                    virtualized;
+    private ScrollingList.DataProvider dataProvider;
+    private PaneParams                 listNodeParams;
+    private int                        elementCount = 0;
+    /**
+     * The index of the element bound to the first child.
+     */
+    private int                        firstIndex   = 0;
+
     ScrollingListContainer(final ScrollingList owner)
     {
         super(owner);
     }
 
+    /**
+     * Check if only the visible rows exist as panes.
+     *
+     * @return true if virtualized.
+     */
+    public boolean isVirtualized()
+    {
+        return virtualized;
+    }
+
+    /**
+     * Set whether only the visible rows exist as panes, call before the data provider is set.
+     *
+     * @param virtualized true to virtualize.
+     */
+    public void setVirtualized(final boolean virtualized)
+    {
+        this.virtualized = virtualized;
+    }
+
     /**
      * Creates, deletes, and updates existing Panes for elements in the list based on the DataProvider.
      *
@@ -24,6 +62,16 @@ public class ScrollingListContainer extends ScrollingContainer
      */
     public void refreshElementPanes(final ScrollingList.DataProvider dataProvider, final PaneParams listNodeParams)
     {
+        if (virtualized)
+        {
+            this.dataProvider = dataProvider;
+            this.listNodeParams = listNodeParams;
+            elementCount = (dataProvider != null) ? dataProvider.getElementCount() : 0;
+            computeContentHeight();
+            bindRows(true);
+            return;
+        }
+
         if (dataProvider != null)
         {
             for (int i = 0; i < dataProvider.getElementCount(); ++i)
@@ -61,6 +109,108 @@ public class ScrollingListContainer extends ScrollingContainer
         computeContentHeight();
     }
 
+    /**
+     * The content of a virtualized list is as high as all of its elements, not only the existing rows.
+     */
+    @Override
+    public void computeContentHeight()
+    {
+        if (!virtualized)
+        {
+            super.computeContentHeight();
+            return;
+        }
+
+        if (listElementHeight == 0 && elementCount > 0 && !createRow())
+        {
+            return;
+        }
+        contentHeight = elementCount * listElementHeight;
+        setScrollY(scrollY);
+    }
+
+    @Override
+    public void setScrollY(final int offset)
+    {
+        super.setScrollY(offset);
+        if (virtualized)
+        {
+            bindRows(false);
+        }
+    }
+
+    /**
+     * Make the rows cover the visible elements and the overscan, binding them to their elements if they moved.
+     *
+     * @param force whether to bind every row, for example because the data changed.
+     */
+    private void bindRows(final boolean force)
+    {
+        if (dataProvider == null || elementCount == 0)
+        {
+            while (!children.isEmpty())
+            {
+                removeChild(children.get(children.size() - 1));
+            }
+            return;
+        }
+        if (listElementHeight == 0)
+        {
+            return;
+        }
+
+        final int first = Math.max(0, scrollY / listElementHeight - OVERSCAN);
+        final int last = Math.min(elementCount, (scrollY + getHeight()) / listElementHeight + 1 + OVERSCAN);
+        final int rows = Math.max(0, last - first);
+
+        boolean changed = force || first != firstIndex || children.size() != rows;
+        while (children.size() < rows)
+        {
+            if (!createRow())
+            {
+                return;
+            }
+            changed = true;
+        }
+        while (children.size() > rows)
+        {
+            removeChild(children.get(children.size() - 1));
+        }
+
+        if (!changed)
+        {
+            return;
+        }
+
+        firstIndex = first;
+        for (int i = 0; i < rows; ++i)
+        {
+            final Pane child = children.get(i);
+            child.setPosition(0, (first + i) * listElementHeight);
+            dataProvider.updateElement(first + i, child);
+        }
+    }
+
+    /**
+     * Add one row pane, measuring the row height with the first one.
+     *
+     * @return false if the row couldn't be created.
+     */
+    private boolean createRow()
+    {
+        final Pane child = Loader.createFromPaneParams(listNodeParams, this);
+        if (child == null)
+        {
+            return false;
+        }
+
+        if (listElementHeight == 0)
+        {
+            listElementHeight = child.getHeight();
+        }
+        return listElementHeight > 0;
+    }
+
     /**
      * Returns the element list index for the given pane.
      *
@@ -80,7 +230,7 @@ public class ScrollingListContainer extends ScrollingContainer
             return -1;
         }
 
-        return getChildren().indexOf(parentPane);
+        return getChildren().indexOf(parentPane) + (virtualized ? firstIndex : 0);
     }
 
     /**
@@ -98,8 +248,8 @@ public class ScrollingListContainer extends ScrollingContainer
             return null;
         }
 
-        final int listElement = my / listElementHeight;
-        if (listElement < children.size())
+        final int listElement = my / listElementHeight - (virtualized ? firstIndex : 0);
+        if (listElement >= 0 && listElement < children.size())
         {
             final Pane child = children.get(listElement);
             if (child.canHandleClick(mx, my))
@@ -7,6 +7,7 @@ import com.minecolonies.blockout.views.ScrollingList;
 import com.minecolonies.blockout.views.SwitchView;
 import com.minecolonies.coremod.colony.buildings.BuildingBuilder;
 import com.minecolonies.coremod.lib.Constants;
+import com.minecolonies.coremod.util.LanguageHandler;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Map;
@@ -21,6 +22,8 @@ public class WindowHutBuilder extends AbstractWindowWorkerBuilding<BuildingBuild
      */
     private static final String HUT_BUILDER_RESOURCE_SUFFIX = ":gui/windowHutBuilder.xml";
     private static final String LIST_RESOURCES              = "resources";
+    private static final String LABEL_PROGRESS              = "resourceProgress";
+    private static final int    DONE_PERCENT                = 100;
     private static final String PAGE_RESOURCES              = "resourceActions";
     private static final String VIEW_PAGES = "pages";
     private final BuildingBuilder.View builder;
@@ -49,6 +52,18 @@ public class WindowHutBuilder extends AbstractWindowWorkerBuilding<BuildingBuild
         }
     }
 
+    /**
+     * Show the progress of the resource calculation while it runs.
+     */
+    private void updateProgress()
+    {
+        final int progress = builder.getCalculationProgress();
+        final String text = progress > 0 && progress < DONE_PERCENT
+                              ? LanguageHandler.format("com.minecolonies.coremod.gui.workerHuts.resourceProgress", progress)
+                              : "";
+        findPaneOfTypeByID(LABEL_PROGRESS, Label.class).setLabelText(text);
+    }
+
     /**
      * Returns the name of a building.
      *
@@ -66,6 +81,7 @@ public class WindowHutBuilder extends AbstractWindowWorkerBuilding<BuildingBuild
     {
         super.onOpened();
         pullResourcesFromHut();
+        updateProgress();
 
         final Object[] entries = resources.entrySet().toArray();
 
@@ -101,6 +117,7 @@ public class WindowHutBuilder extends AbstractWindowWorkerBuilding<BuildingBuild
         if (currentPage.equals(PAGE_RESOURCES))
         {
             pullResourcesFromHut();
+            updateProgress();
             window.findPaneOfTypeByID(LIST_RESOURCES, ScrollingList.class).refreshElementPanes();
         }
     }
@@ -247,10 +247,8 @@ public class WindowHutFarmer extends AbstractWindowWorkerBuilding<BuildingFarmer
                     }
                 }
 
-                if (field.getItem() != null)
-                {
-                    rowPane.findPaneOfTypeByID(TAG_ICON, ItemIcon.class).setItem(new ItemStack(field.getItem(), 1));
-                }
+                final ItemIcon icon = rowPane.findPaneOfTypeByID(TAG_ICON, ItemIcon.class);
+                icon.setItem(field.getItem() == null ? null : new ItemStack(field.getItem(), 1));
             }
         });
     }
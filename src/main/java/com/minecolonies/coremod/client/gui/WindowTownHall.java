@@ -521,22 +521,11 @@ public class WindowTownHall extends AbstractWindowBuilding<BuildingTownHall.View
                 final WorkOrderView workOrder = workOrders.get(index);
                 String claimingCitizen = "";
 
-                if (index == 0)
-                {
-                    if (getElementCount() == 1)
-                    {
-                        rowPane.findPaneOfTypeByID(BUTTON_DOWN, Button.class).hide();
-                    }
-                    else
-                    {
-                        rowPane.findPaneOfTypeByID(BUTTON_DOWN, Button.class).show();
-                    }
-                    rowPane.findPaneOfTypeByID(BUTTON_UP, Button.class).hide();
-                }
-                else if (index == getElementCount() - 1)
-                {
-                    rowPane.findPaneOfTypeByID(BUTTON_DOWN, Button.class).hide();
-                }
+                //Rows are reused while scrolling, so both buttons are set for every index.
+                final Button upButton = rowPane.findPaneOfTypeByID(BUTTON_UP, Button.class);
+                final Button downButton = rowPane.findPaneOfTypeByID(BUTTON_DOWN, Button.class);
+                upButton.setVisible(index != 0);
+                downButton.setVisible(index != getElementCount() - 1);
 
                 //Searches citizen of id x
                 for (@NotNull final CitizenDataView citizen : citizens)
@@ -0,0 +1,167 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.coremod.util.Log;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Collects the block changes inside of a colony and hands them to the subscribed listeners once per tick.
+ * <p>
+ * Several changes of the same position within a tick are merged into one, from the first old state to the last new
+ * state, and positions which ended up unchanged are left out. Listeners react to these changes instead of reading the
+ * world every tick.
+ */
+public class BlockChangeJournal
+{
+    /**
+     * Listener of the block changes of a colony.
+     */
+    @FunctionalInterface
+    public interface Listener
+    {
+        /**
+         * Called once per tick with the changes of the last tick, if there were any.
+         *
+         * @param changes the changes, in the order the positions first changed.
+         */
+        void onBlocksChanged(@NotNull Collection<BlockChange> changes);
+    }
+
+    /**
+     * The change of one position.
+     */
+    public static final class BlockChange
+    {
+        @NotNull
+        private final BlockPos    pos;
+        @NotNull
+        private final IBlockState oldState;
+        @NotNull
+        private       IBlockState newState;
+
+        private BlockChange(@NotNull final BlockPos pos, @NotNull final IBlockState oldState, @NotNull final IBlockState newState)
+        {
+            this.pos = pos;
+            this.oldState = oldState;
+            this.newState = newState;
+        }
+
+        /**
+         * @return the changed position.
+         */
+        @NotNull
+        public BlockPos getPos()
+        {
+            return pos;
+        }
+
+        /**
+         * @return the state before the first change of the tick.
+         */
+        @NotNull
+        public IBlockState getOldState()
+        {
+            return oldState;
+        }
+
+        /**
+         * @return the state after the last change of the tick.
+         */
+        @NotNull
+        public IBlockState getNewState()
+        {
+            return newState;
+        }
+    }
+
+    @NotNull
+    private final Map<BlockPos, BlockChange> pending   = new LinkedHashMap<>();
+    @NotNull
+    private final List<Listener>             listeners = new ArrayList<>();
+
+    /**
+     * Subscribe to the changes of the colony.
+     *
+     * @param listener the listener.
+     */
+    public void subscribe(@NotNull final Listener listener)
+    {
+        if (!listeners.contains(listener))
+        {
+            listeners.add(listener);
+        }
+    }
+
+    /**
+     * Stop receiving the changes of the colony.
+     *
+     * @param listener the listener.
+     */
+    public void unsubscribe(@NotNull final Listener listener)
+    {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Record a block change, called when the world notifies a block update in the colony.
+     *
+     * @param pos      the position.
+     * @param oldState the state before.
+     * @param newState the state after.
+     */
+    void record(@NotNull final BlockPos pos, @NotNull final IBlockState oldState, @NotNull final IBlockState newState)
+    {
+        final BlockChange change = pending.get(pos);
+        if (change == null)
+        {
+            final BlockPos key = pos.toImmutable();
+            pending.put(key, new BlockChange(key, oldState, newState));
+        }
+        else
+        {
+            change.newState = newState;
+        }
+    }
+
+    /**
+     * Hand the changes of the last tick to the listeners.
+     */
+    void flush()
+    {
+        if (pending.isEmpty())
+        {
+            return;
+        }
+
+        final List<BlockChange> changes = new ArrayList<>(pending.size());
+        for (final BlockChange change : pending.values())
+        {
+            if (change.oldState != change.newState)
+            {
+                changes.add(change);
+            }
+        }
+        pending.clear();
+        if (changes.isEmpty())
+        {
+            return;
+        }
+
+        final Collection<BlockChange> view = Collections.unmodifiableList(changes);
+        //Copy, listeners may unsubscribe while being notified.
+        for (final Listener listener : new ArrayList<>(listeners))
+        {
+            try
+            {
+                listener.onBlocksChanged(view);
+            }
+            catch (final RuntimeException e)
+            {
+                Log.getLogger().warn("Block change listener threw an exception:", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
+import com.minecolonies.coremod.colony.buildings.AbstractBuildingWorker;
+import com.minecolonies.coremod.colony.buildings.BuildingBuilder;
+import com.minecolonies.coremod.colony.buildings.BuildingHome;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Hands out the homes and jobs of a colony to its citizens.
+ * <p>
+ * The homeless and jobless citizens are kept in sets which follow every change of their home or work building.
+ * Whenever citizens, buildings or building levels change the free slots are handed out again, the best huts first.
+ * Moving citizens into better huts than the ones they live in happens now and then, a few citizens at a time.
+ */
+public class CitizenAllocator
+{
+    /**
+     * Ticks between two rounds of moving citizens to better huts.
+     */
+    private static final int REBALANCE_TICK_INCREMENT = 5 * 20;
+
+    /**
+     * The maximum number of citizens moving to better huts in one round.
+     */
+    private static final int REBALANCE_BUDGET = 2;
+
+    /**
+     * Orders the buildings from the highest level down, by position if the level is the same.
+     */
+    private static final Comparator<AbstractBuilding> BEST_FIRST =
+      Comparator.comparingInt(AbstractBuilding::getBuildingLevel).reversed().thenComparing(AbstractBuilding::getID);
+
+    @NotNull
+    private final Colony                    colony;
+    @NotNull
+    private final Map<Integer, CitizenData> homeless = new TreeMap<>();
+    @NotNull
+    private final Map<Integer, CitizenData> jobless  = new TreeMap<>();
+    private       boolean                   dirty    = true;
+
+    /**
+     * Create the allocator of a colony.
+     *
+     * @param colony the colony.
+     */
+    CitizenAllocator(@NotNull final Colony colony)
+    {
+        this.colony = colony;
+    }
+
+    /**
+     * Update the sets of a citizen after it was added or its home or work building changed.
+     *
+     * @param citizen the citizen.
+     */
+    public void onCitizenChanged(@NotNull final CitizenData citizen)
+    {
+        //Buildings let go of removed citizens after the colony did.
+        if (colony.getCitizen(citizen.getId()) != citizen)
+        {
+            return;
+        }
+
+        if (citizen.getHomeBuilding() == null)
+        {
+            homeless.put(citizen.getId(), citizen);
+        }
+        else
+        {
+            homeless.remove(citizen.getId());
+        }
+
+        if (citizen.getWorkBuilding() == null)
+        {
+            jobless.put(citizen.getId(), citizen);
+        }
+        else
+        {
+            jobless.remove(citizen.getId());
+        }
+        dirty = true;
+    }
+
+    /**
+     * Forget a citizen which left the colony.
+     *
+     * @param citizen the citizen.
+     */
+    void onCitizenRemoved(@NotNull final CitizenData citizen)
+    {
+        homeless.remove(citizen.getId());
+        jobless.remove(citizen.getId());
+        dirty = true;
+    }
+
+    /**
+     * Hand out the homes and jobs again on the next tick, call when buildings, their levels or the hiring mode change.
+     */
+    public void markDirty()
+    {
+        dirty = true;
+    }
+
+    /**
+     * Get the unemployed citizen with the lowest id.
+     *
+     * @return the citizen or null if everybody has a job.
+     */
+    @Nullable
+    public CitizenData getJoblessCitizen()
+    {
+        return jobless.isEmpty() ? null : jobless.values().iterator().next();
+    }
+
+    /**
+     * Hand out free homes and jobs if something changed and move citizens to better huts now and then.
+     *
+     * @param worldTime the time of the world.
+     */
+    void onWorldTick(final long worldTime)
+    {
+        if (dirty)
+        {
+            allocateHomes();
+            if (!colony.isManualHiring())
+            {
+                allocateJobs();
+            }
+            //The assignments themselves are changes too.
+            dirty = false;
+        }
+
+        if (worldTime % REBALANCE_TICK_INCREMENT == 0)
+        {
+            rebalanceHomes();
+        }
+    }
+
+    /**
+     * Move the homeless citizens into the best huts with free beds.
+     */
+    private void allocateHomes()
+    {
+        if (homeless.isEmpty())
+        {
+            return;
+        }
+
+        for (final BuildingHome home : getHomesBestFirst())
+        {
+            while (!homeless.isEmpty() && home.getResidents().size() < home.getMaxInhabitants())
+            {
+                home.addResident(homeless.values().iterator().next());
+            }
+        }
+    }
+
+    /**
+     * Give the jobless citizens the free jobs, in the best huts first.
+     */
+    private void allocateJobs()
+    {
+        if (jobless.isEmpty())
+        {
+            return;
+        }
+
+        final List<AbstractBuildingWorker> freeJobs = new ArrayList<>();
+        for (final AbstractBuilding building : colony.getBuildings().values())
+        {
+            if (building instanceof AbstractBuildingWorker && !((AbstractBuildingWorker) building).hasWorker()
+                  && (building.getBuildingLevel() > 0 || building instanceof BuildingBuilder))
+            {
+                freeJobs.add((AbstractBuildingWorker) building);
+            }
+        }
+        freeJobs.sort(BEST_FIRST);
+
+        for (final AbstractBuildingWorker building : freeJobs)
+        {
+            final CitizenData citizen = getJoblessCitizen();
+            if (citizen == null)
+            {
+                return;
+            }
+            building.setWorker(citizen);
+        }
+    }
+
+    /**
+     * Move a few citizens from worse huts into better huts with free beds.
+     */
+    private void rebalanceHomes()
+    {
+        final List<BuildingHome> homes = getHomesBestFirst();
+        int budget = REBALANCE_BUDGET;
+        int worst = homes.size() - 1;
+        for (int best = 0; best < worst && budget > 0; best++)
+        {
+            final BuildingHome home = homes.get(best);
+            while (budget > 0 && home.getResidents().size() < home.getMaxInhabitants())
+            {
+                //Find the worst hut with a resident to move.
+                while (worst > best && homes.get(worst).getResidents().isEmpty())
+                {
+                    worst--;
+                }
+                if (worst <= best || homes.get(worst).getBuildingLevel() >= home.getBuildingLevel())
+                {
+                    return;
+                }
+
+                final CitizenData citizen = homes.get(worst).getResidents().get(0);
+                homes.get(worst).removeCitizen(citizen);
+                home.addResident(citizen);
+                budget--;
+            }
+        }
+    }
+
+    /**
+     * Collects the huts of the colony which can house someone, the best ones first.
+     */
+    @NotNull
+    private List<BuildingHome> getHomesBestFirst()
+    {
+        final List<BuildingHome> homes = new ArrayList<>();
+        for (final AbstractBuilding building : colony.getBuildings().values())
+        {
+            if (building instanceof BuildingHome && ((BuildingHome) building).getMaxInhabitants() > 0)
+            {
+                homes.add((BuildingHome) building);
+            }
+        }
+        homes.sort(BEST_FIRST);
+        return homes;
+    }
+}
@@ -407,6 +407,7 @@ public class CitizenData
         {
             homeBuilding = building;
             markDirty();
+            colony.getCitizenAllocator().onCitizenChanged(this);
         }
     }
 
@@ -451,7 +452,14 @@ public class CitizenData
                 final EntityCitizen citizen = getCitizenEntity();
                 if (citizen != null)
                 {
-                    citizen.tasks.removeTask(citizen.tasks.taskEntries.stream().filter(task -> task.action instanceof AbstractAISkeleton).findFirst().orElse(null).action);
+                    citizen.tasks.taskEntries.stream()
+                      .filter(task -> task.action instanceof AbstractAISkeleton)
+                      .findFirst()
+                      .ifPresent(task ->
+                      {
+                          citizen.tasks.removeTask(task.action);
+                          ((AbstractAISkeleton) task.action).onRemoved();
+                      });
                 }
                 //  No place of employment, get rid of our job
                 setJob(null);
@@ -459,6 +467,7 @@ public class CitizenData
             }
 
             markDirty();
+            colony.getCitizenAllocator().onCitizenChanged(this);
         }
     }
 
@@ -488,6 +497,7 @@ public class CitizenData
     public void setJob(final AbstractJob job)
     {
         this.job = job;
+        colony.getWorkManager().onJobChanged(this);
 
         @Nullable final EntityCitizen localEntity = getCitizenEntity();
         if (localEntity != null)
@@ -12,11 +12,13 @@ import com.minecolonies.coremod.colony.workorders.AbstractWorkOrder;
 import com.minecolonies.coremod.configuration.Configurations;
 import com.minecolonies.coremod.entity.EntityCitizen;
 import com.minecolonies.coremod.entity.ai.citizen.farmer.Field;
+import com.minecolonies.coremod.entity.pathfinding.PathCache;
+import com.minecolonies.coremod.entity.pathfinding.WaypointGraph;
 import com.minecolonies.coremod.network.messages.*;
-import com.minecolonies.coremod.permissions.ColonyPermissionEventHandler;
 import com.minecolonies.coremod.tileentities.ScarecrowTileEntity;
 import com.minecolonies.coremod.tileentities.TileEntityColonyBuilding;
 import com.minecolonies.coremod.util.*;
+import io.netty.buffer.ByteBuf;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
@@ -30,7 +32,6 @@ import net.minecraft.stats.StatBase;
 import net.minecraft.stats.StatList;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.util.Constants.NBT;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 import org.jetbrains.annotations.NotNull;
@@ -63,12 +64,16 @@ public class Colony implements IColony
     //private int autoHostile = 0;//Off
     private static final String TAG_FIELDS                  = "fields";
     private static final String TAG_MOB_KILLS               = "mobKills";
+    private static final String TAG_FISHING_SPOTS           = "fishingSpots";
     private static final int    NUM_MOBS_ACHIEVEMENT_FIRST  = 1;
     private static final int    NUM_MOBS_ACHIEVEMENT_SECOND = 25;
     private static final int    NUM_MOBS_ACHIEVEMENT_THIRD  = 100;
     private static final int    NUM_MOBS_ACHIEVEMENT_FOURTH = 500;
     private static final int    NUM_MOBS_ACHIEVEMENT_FIFTH  = 1000;
-    private static final int    CHECK_WAYPOINT_EVERY        = 100;
+    /**
+     * Ticks between two checks of all building blocks and waypoints, for changes the journal missed.
+     */
+    private static final int    SANITY_CHECK_TICK_INCREMENT = 5 * 20;
     private final int id;
     //  General Attributes
     private final int dimensionId;
@@ -82,6 +87,20 @@ public class Colony implements IColony
     //  Workload and Jobs
     private final WorkManager                     workManager      = new WorkManager(this);
     private final MaterialSystem                  materialSystem   = new MaterialSystem();
+    //  Recently computed paths of the citizens
+    private final PathCache                       pathCache        = new PathCache();
+    //  Routing graph over the waypoints and buildings
+    private final WaypointGraph                   waypointGraph    = new WaypointGraph();
+    //  Block changes inside of the colony
+    private final BlockChangeJournal              blockChanges     = new BlockChangeJournal();
+    //  Trees for the lumberjacks
+    private final TreeRegistry                    treeRegistry     = new TreeRegistry(this);
+    //  Fishing spots for the fishermen
+    private final FishingSpotRegistry             fishingSpots     = new FishingSpotRegistry(this);
+    //  Mobs and players for the guards
+    private final HostileTracker                  hostiles         = new HostileTracker(this);
+    //  Homes and jobs of the citizens
+    private final CitizenAllocator                allocator        = new CitizenAllocator(this);
     @NotNull
     private final Map<BlockPos, AbstractBuilding> buildings        = new HashMap<>();
     //  Citizenry
@@ -136,9 +155,9 @@ public class Colony implements IColony
         this.dimensionId = dim;
         this.permissions = new Permissions(this);
         this.colonyAchievements = new ArrayList<>();
-
-        // Register a new event handler
-        MinecraftForge.EVENT_BUS.register(new ColonyPermissionEventHandler(this));
+        blockChanges.subscribe(this::onBlocksChanged);
+        blockChanges.subscribe(treeRegistry::onBlocksChanged);
+        blockChanges.subscribe(fishingSpots::onBlocksChanged);
     }
 
     /**
@@ -181,6 +200,8 @@ public class Colony implements IColony
             final NBTTagCompound citizenCompound = citizenTagList.getCompoundTagAt(i);
             final CitizenData data = CitizenData.createFromNBT(citizenCompound, this);
             citizens.put(data.getId(), data);
+            allocator.onCitizenChanged(data);
+            workManager.onJobChanged(data);
             topCitizenId = Math.max(topCitizenId, data.getId());
         }
 
@@ -224,6 +245,9 @@ public class Colony implements IColony
         //  Workload
         workManager.readFromNBT(compound.getCompoundTag(TAG_WORK));
 
+        //  Fishing spots
+        fishingSpots.readFromNBT(compound.getCompoundTag(TAG_FISHING_SPOTS));
+
 
         // Waypoints
         final NBTTagList wayPointTagList = compound.getTagList(TAG_WAYPOINT, NBT.TAG_COMPOUND);
@@ -245,6 +269,9 @@ public class Colony implements IColony
     {
         buildings.put(building.getID(), building);
         building.markDirty();
+        waypointGraph.markDirty();
+        allocator.markDirty();
+        workManager.scheduleMatching();
 
         //  Limit 1 town hall
         if (building instanceof BuildingTownHall && townHall == null)
@@ -331,6 +358,11 @@ public class Colony implements IColony
         workManager.writeToNBT(workManagerCompound);
         compound.setTag(TAG_WORK, workManagerCompound);
 
+        //  Fishing spots
+        @NotNull final NBTTagCompound fishingSpotsCompound = new NBTTagCompound();
+        fishingSpots.writeToNBT(fishingSpotsCompound);
+        compound.setTag(TAG_FISHING_SPOTS, fishingSpotsCompound);
+
         // Waypoints
         @NotNull final NBTTagList wayPointTagList = new NBTTagList();
         for (@NotNull final Map.Entry<BlockPos, IBlockState> entry : wayPoints.entrySet())
@@ -621,20 +653,8 @@ public class Colony implements IColony
             //Permissions
             sendPermissionsPackets(oldSubscribers, hasNewSubscribers);
 
-            //WorkOrders
-            sendWorkOrderPackets(oldSubscribers, hasNewSubscribers);
-
-            //Citizens
-            sendCitizenPackets(oldSubscribers, hasNewSubscribers);
-
-            //Buildings
-            sendBuildingPackets(oldSubscribers, hasNewSubscribers);
-
-            //Fields
-            if (!isBuildingsDirty)
-            {
-                sendFieldPackets(oldSubscribers, hasNewSubscribers);
-            }
+            //WorkOrders, Citizens, Buildings and Fields
+            sendViewBatches(oldSubscribers, hasNewSubscribers);
         }
 
         isFieldsDirty = false;
@@ -683,87 +703,88 @@ public class Colony implements IColony
     }
 
     /**
-     * Sends packages to update the workOrders.
+     * Sends the changed workOrders, citizens and buildings in one batch per subscriber.
+     * Each object is serialized once: existing subscribers get a batch of the changed objects, new subscribers a
+     * batch of all objects, both sharing the serialized entries.
      *
      * @param oldSubscribers    the existing subscribers.
      * @param hasNewSubscribers the new subscribers.
      */
-    private void sendWorkOrderPackets(@NotNull final Set<EntityPlayerMP> oldSubscribers, final boolean hasNewSubscribers)
+    private void sendViewBatches(@NotNull final Set<EntityPlayerMP> oldSubscribers, final boolean hasNewSubscribers)
     {
+        @NotNull final ColonyViewBatchMessage updates = new ColonyViewBatchMessage(this);
+        @NotNull final ColonyViewBatchMessage fullView = new ColonyViewBatchMessage(this);
+
         if (getWorkManager().isDirty() || hasNewSubscribers)
         {
             for (final AbstractWorkOrder workOrder : getWorkManager().getWorkOrders().values())
             {
-                subscribers.stream().filter(player -> workManager.isDirty() || !oldSubscribers.contains(player))
-                  .forEach(player -> MineColonies.getNetwork().sendTo(new ColonyViewWorkOrderMessage(this, workOrder), player));
+                addViewEntry(ColonyViewBatchMessage.workOrderEntry(workOrder), getWorkManager().isDirty(), hasNewSubscribers, updates, fullView);
             }
 
             getWorkManager().setDirty(false);
         }
-    }
 
-    /**
-     * Sends packages to update the citizens.
-     *
-     * @param oldSubscribers    the existing subscribers.
-     * @param hasNewSubscribers the new subscribers.
-     */
-    private void sendCitizenPackets(@NotNull final Set<EntityPlayerMP> oldSubscribers, final boolean hasNewSubscribers)
-    {
         if (isCitizensDirty || hasNewSubscribers)
         {
             for (@NotNull final CitizenData citizen : citizens.values())
             {
                 if (citizen.isDirty() || hasNewSubscribers)
                 {
-                    subscribers.stream()
-                      .filter(player -> citizen.isDirty() || !oldSubscribers.contains(player))
-                      .forEach(player -> MineColonies.getNetwork().sendTo(new ColonyViewCitizenViewMessage(this, citizen), player));
+                    addViewEntry(ColonyViewBatchMessage.citizenEntry(citizen), citizen.isDirty(), hasNewSubscribers, updates, fullView);
                 }
             }
         }
-    }
 
-    /**
-     * Sends packages to update the buildings.
-     *
-     * @param oldSubscribers    the existing subscribers.
-     * @param hasNewSubscribers the new subscribers.
-     */
-    private void sendBuildingPackets(@NotNull final Set<EntityPlayerMP> oldSubscribers, final boolean hasNewSubscribers)
-    {
-        if (isBuildingsDirty || hasNewSubscribers)
+        if (isBuildingsDirty || isFieldsDirty || hasNewSubscribers)
         {
             for (@NotNull final AbstractBuilding building : buildings.values())
             {
-                if (building.isDirty() || hasNewSubscribers)
+                //  Farmers carry the fields, so they are sent again whenever a field changed.
+                final boolean changed = building.isDirty() || (isFieldsDirty && building instanceof BuildingFarmer);
+                if (changed || hasNewSubscribers)
                 {
-                    subscribers.stream()
-                      .filter(player -> building.isDirty() || !oldSubscribers.contains(player))
-                      .forEach(player -> MineColonies.getNetwork().sendTo(new ColonyViewBuildingViewMessage(building), player));
+                    addViewEntry(ColonyViewBatchMessage.buildingEntry(building), changed, hasNewSubscribers, updates, fullView);
                 }
             }
         }
+
+        for (final EntityPlayerMP player : subscribers)
+        {
+            final ColonyViewBatchMessage batch = oldSubscribers.contains(player) ? updates : fullView;
+            if (!batch.isEmpty())
+            {
+                MineColonies.getNetwork().sendTo(batch, player);
+            }
+        }
+
+        //  The messages are encoded while being sent, so the shared entries can be released now.
+        updates.release();
+        fullView.release();
     }
 
     /**
-     * Sends packages to update the fields.
+     * Add a serialized view to the batches which need it and release the reference of the caller.
      *
-     * @param oldSubscribers    the existing subscribers.
-     * @param hasNewSubscribers the new subscribers.
+     * @param entry             the serialized view.
+     * @param changed           whether the object changed, so existing subscribers need it.
+     * @param hasNewSubscribers whether new subscribers need every object.
+     * @param updates           the batch of the existing subscribers.
+     * @param fullView          the batch of the new subscribers.
      */
-    private void sendFieldPackets(final Set<EntityPlayerMP> oldSubscribers, final boolean hasNewSubscribers)
+    private static void addViewEntry(
+                                      @NotNull final ByteBuf entry, final boolean changed, final boolean hasNewSubscribers,
+                                      @NotNull final ColonyViewBatchMessage updates, @NotNull final ColonyViewBatchMessage fullView)
     {
-        if ((isFieldsDirty && !isBuildingsDirty) || hasNewSubscribers)
+        if (changed)
         {
-            for (final AbstractBuilding building : buildings.values())
-            {
-                if (building instanceof BuildingFarmer)
-                {
-                    subscribers.forEach(player -> MineColonies.getNetwork().sendTo(new ColonyViewBuildingViewMessage(building), player));
-                }
-            }
+            updates.add(entry);
+        }
+        if (hasNewSubscribers)
+        {
+            fullView.add(entry);
         }
+        entry.release();
     }
 
     /**
@@ -777,6 +798,102 @@ public class Colony implements IColony
         return workManager;
     }
 
+    /**
+     * Get the cache of recently computed paths of the colony.
+     *
+     * @return the PathCache of the colony.
+     */
+    @NotNull
+    public PathCache getPathCache()
+    {
+        return pathCache;
+    }
+
+    /**
+     * Get the journal of the block changes in the colony, to subscribe to them.
+     *
+     * @return the journal.
+     */
+    @NotNull
+    public BlockChangeJournal getBlockChangeJournal()
+    {
+        return blockChanges;
+    }
+
+    /**
+     * Get the registry of the trees around the colony, for the lumberjacks.
+     *
+     * @return the TreeRegistry of the colony.
+     */
+    @NotNull
+    public TreeRegistry getTreeRegistry()
+    {
+        return treeRegistry;
+    }
+
+    /**
+     * Get the registry of the fishing spots around the colony, for the fishermen.
+     *
+     * @return the FishingSpotRegistry of the colony.
+     */
+    @NotNull
+    public FishingSpotRegistry getFishingSpotRegistry()
+    {
+        return fishingSpots;
+    }
+
+    /**
+     * Get the tracker of the mobs and players around the colony, for the guards.
+     *
+     * @return the HostileTracker of the colony.
+     */
+    @NotNull
+    public HostileTracker getHostileTracker()
+    {
+        return hostiles;
+    }
+
+    /**
+     * Get the allocator handing out the homes and jobs of the colony.
+     *
+     * @return the CitizenAllocator of the colony.
+     */
+    @NotNull
+    public CitizenAllocator getCitizenAllocator()
+    {
+        return allocator;
+    }
+
+    /**
+     * React to the block changes of the last tick.
+     * Removes buildings and waypoints whose block is gone and drops the cached paths through changed blocks.
+     *
+     * @param changes the changes.
+     */
+    private void onBlocksChanged(@NotNull final Collection<BlockChangeJournal.BlockChange> changes)
+    {
+        final List<AbstractBuilding> removedBuildings = new ArrayList<>();
+        for (final BlockChangeJournal.BlockChange change : changes)
+        {
+            final BlockPos pos = change.getPos();
+            pathCache.invalidate(pos);
+
+            final AbstractBuilding building = buildings.get(pos);
+            if (building != null && !building.isMatchingBlock(change.getNewState().getBlock()))
+            {
+                removedBuildings.add(building);
+            }
+
+            final IBlockState wayPoint = wayPoints.get(pos);
+            if (wayPoint != null && wayPoint.getBlock() != change.getNewState().getBlock())
+            {
+                wayPoints.remove(pos);
+                waypointGraph.markDirty();
+            }
+        }
+        removedBuildings.forEach(AbstractBuilding::destroy);
+    }
+
     /**
      * Any per-world-tick logic should be performed here.
      * NOTE: If the Colony's world isn't loaded, it won't have a world tick.
@@ -793,6 +910,10 @@ public class Colony implements IColony
 
         if (event.phase == TickEvent.Phase.START)
         {
+            blockChanges.flush();
+            hostiles.onWorldTick(event.world);
+            allocator.onWorldTick(event.world.getWorldTime());
+
             //  Detect CitizenData whose EntityCitizen no longer exist in world, and clear the mapping
             //  Consider handing this in an ChunkUnload Event instead?
             citizens.values()
@@ -840,24 +961,6 @@ public class Colony implements IColony
             building.onWorldTick(event);
         }
 
-        final Random rand = new Random();
-        if (rand.nextInt(CHECK_WAYPOINT_EVERY) <= 1 && wayPoints.size() > 0)
-        {
-            final Object[] entries = wayPoints.entrySet().toArray();
-            final int stopAt = rand.nextInt(entries.length);
-            final Object obj = entries[stopAt];
-
-            if (obj instanceof Map.Entry && ((Map.Entry) obj).getKey() instanceof BlockPos && ((Map.Entry) obj).getValue() instanceof IBlockState)
-            {
-                @NotNull final BlockPos key = (BlockPos) ((Map.Entry) obj).getKey();
-                @NotNull final IBlockState value = (IBlockState) ((Map.Entry) obj).getValue();
-                if (world != null && world.getBlockState(key).getBlock() != (value.getBlock()))
-                {
-                    wayPoints.remove(key);
-                }
-            }
-        }
-
         workManager.onWorldTick(event);
     }
 
@@ -879,23 +982,13 @@ public class Colony implements IColony
 
     private void cleanUpBuildings(@NotNull final TickEvent.WorldTickEvent event)
     {
-        @Nullable final List<AbstractBuilding> removedBuildings = new ArrayList<>();
-
-        //Need this list, we may enter he while we add a building in the real world.
-        final List<AbstractBuilding> tempBuildings = new ArrayList<>(buildings.values());
-
-        for (@NotNull final AbstractBuilding building : tempBuildings)
+        //  Buildings and waypoints react to the block change journal,
+        //  only check them all once in a while for blocks changed without a block update.
+        if (event.world.getWorldTime() % SANITY_CHECK_TICK_INCREMENT == 0)
         {
-            final BlockPos loc = building.getLocation();
-            if (event.world.isBlockLoaded(loc) && !building.isMatchingBlock(event.world.getBlockState(loc).getBlock()))
-            {
-                //  Sanity cleanup
-                removedBuildings.add(building);
-            }
+            checkBuildingsAndWayPoints(event.world);
         }
 
-        removedBuildings.forEach(AbstractBuilding::destroy);
-
         @NotNull final ArrayList<Field> tempFields = new ArrayList<>(fields.values());
 
         for (@NotNull final Field field : tempFields)
@@ -917,6 +1010,42 @@ public class Colony implements IColony
         markFieldsDirty();
     }
 
+    /**
+     * Remove the buildings and waypoints whose block is gone.
+     *
+     * @param w the world of the colony.
+     */
+    private void checkBuildingsAndWayPoints(@NotNull final World w)
+    {
+        @Nullable final List<AbstractBuilding> removedBuildings = new ArrayList<>();
+
+        //Need this list, we may enter he while we add a building in the real world.
+        final List<AbstractBuilding> tempBuildings = new ArrayList<>(buildings.values());
+
+        for (@NotNull final AbstractBuilding building : tempBuildings)
+        {
+            final BlockPos loc = building.getLocation();
+            if (w.isBlockLoaded(loc) && !building.isMatchingBlock(w.getBlockState(loc).getBlock()))
+            {
+                //  Sanity cleanup
+                removedBuildings.add(building);
+            }
+        }
+
+        removedBuildings.forEach(AbstractBuilding::destroy);
+
+        final Iterator<Map.Entry<BlockPos, IBlockState>> iterator = wayPoints.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            final Map.Entry<BlockPos, IBlockState> entry = iterator.next();
+            if (w.isBlockLoaded(entry.getKey()) && w.getBlockState(entry.getKey()).getBlock() != entry.getValue().getBlock())
+            {
+                iterator.remove();
+                waypointGraph.markDirty();
+            }
+        }
+    }
+
     /**
      * Spawn a brand new Citizen.
      */
@@ -967,6 +1096,7 @@ public class Colony implements IColony
                 citizenData.initializeFromEntity(entity);
 
                 citizens.put(citizenData.getId(), citizenData);
+                allocator.onCitizenChanged(citizenData);
 
                 if (getMaxCitizens() == getCitizens().size())
                 {
@@ -1161,7 +1291,8 @@ public class Colony implements IColony
         }
 
         calculateMaxCitizens();
-        ColonyManager.markDirty();
+        ColonyManager.markDirty(getID());
+        ColonyManager.onBuildingsChanged(this);
 
         return building;
     }
@@ -1198,6 +1329,9 @@ public class Colony implements IColony
     {
         if (buildings.remove(building.getID()) != null)
         {
+            waypointGraph.markDirty();
+            allocator.markDirty();
+
             for (final EntityPlayerMP player : subscribers)
             {
                 MineColonies.getNetwork().sendTo(new ColonyViewRemoveBuildingMessage(this, building.getID()), player);
@@ -1214,6 +1348,8 @@ public class Colony implements IColony
             townHall = null;
         }
 
+        workManager.onBuildingRemoved();
+
         //Allow Citizens to fix up any data that wasn't fixed up by the AbstractBuilding's own onDestroyed
         for (@NotNull final CitizenData citizen : citizens.values())
         {
@@ -1222,7 +1358,8 @@ public class Colony implements IColony
 
         calculateMaxCitizens();
 
-        ColonyManager.markDirty();
+        ColonyManager.markDirty(getID());
+        ColonyManager.onBuildingsChanged(this);
     }
 
     /**
@@ -1243,6 +1380,7 @@ public class Colony implements IColony
     public void setManualHiring(final boolean manualHiring)
     {
         this.manualHiring = manualHiring;
+        allocator.markDirty();
         markDirty();
     }
 
@@ -1277,6 +1415,7 @@ public class Colony implements IColony
     {
         //Remove the Citizen
         citizens.remove(citizen.getId());
+        allocator.onCitizenRemoved(citizen);
 
         for (@NotNull final AbstractBuilding building : buildings.values())
         {
@@ -1318,22 +1457,14 @@ public class Colony implements IColony
     }
 
     /**
-     * Get the first unemployed citizen.
+     * Get the unemployed citizen with the lowest id.
      *
      * @return Citizen with no current job.
      */
     @Nullable
     public CitizenData getJoblessCitizen()
     {
-        for (@NotNull final CitizenData citizen : citizens.values())
-        {
-            if (citizen.getWorkBuilding() == null)
-            {
-                return citizen;
-            }
-        }
-
-        return null;
+        return allocator.getJoblessCitizen();
     }
 
     public List<BlockPos> getDeliverymanRequired()
@@ -1395,40 +1526,27 @@ public class Colony implements IColony
     public void addWayPoint(final BlockPos point, IBlockState block)
     {
         wayPoints.put(point, block);
+        waypointGraph.markDirty();
     }
 
     /**
-     * Returns a list of all wayPoints of the colony.
+     * Find the waypoints and buildings to walk through on a long walk, rebuilding the routing graph if needed.
      *
-     * @param position start position.
-     * @param target   end position.
-     * @return list of wayPoints.
+     * @param start  start position.
+     * @param target end position.
+     * @return the positions to walk through in order, empty if the target should be walked to directly.
      */
     @NotNull
-    public List<BlockPos> getWayPoints(@NotNull final BlockPos position, @NotNull final BlockPos target)
+    public List<BlockPos> getWaypointRoute(@NotNull final BlockPos start, @NotNull final BlockPos target)
     {
-        final List<BlockPos> tempWayPoints = new ArrayList<>();
-        tempWayPoints.addAll(wayPoints.keySet());
-        tempWayPoints.addAll(getBuildings().keySet());
-
-        final double maxX = Math.max(position.getX(), target.getX());
-        final double maxZ = Math.max(position.getZ(), target.getZ());
-
-        final double minX = Math.min(position.getX(), target.getX());
-        final double minZ = Math.min(position.getZ(), target.getZ());
-
-        final List<BlockPos> wayPointsCopy = new ArrayList<>(tempWayPoints);
-        for (final BlockPos p : wayPointsCopy)
+        if (waypointGraph.isDirty())
         {
-            final int x = p.getX();
-            final int z = p.getZ();
-            if (x < minX || x > maxX || z < minZ || z > maxZ)
-            {
-                tempWayPoints.remove(p);
-            }
+            final List<BlockPos> nodes = new ArrayList<>(wayPoints.keySet());
+            nodes.addAll(buildings.keySet());
+            waypointGraph.rebuild(nodes);
         }
 
-        return tempWayPoints;
+        return waypointGraph.findRoute(start, target);
     }
 
     /**
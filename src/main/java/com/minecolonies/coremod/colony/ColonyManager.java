@@ -7,6 +7,7 @@ import com.minecolonies.coremod.colony.permissions.Permissions;
 import com.minecolonies.coremod.configuration.Configurations;
 import com.minecolonies.coremod.util.AchievementUtils;
 import com.minecolonies.coremod.util.LanguageHandler;
+import com.minecolonies.coremod.util.MathUtils;
 import com.minecolonies.coremod.util.Log;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.client.Minecraft;
@@ -25,6 +26,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.*;
 
@@ -39,10 +41,26 @@ public final class ColonyManager
     private static final String FILENAME_MINECOLONIES_PATH = "minecolonies";
 
     /**
-     * The file name of the minecolonies.
+     * The file name of the minecolonies, all colonies in one file as saved by older versions.
      */
     private static final String FILENAME_MINECOLONIES = "colonies.dat";
 
+    /**
+     * The suffix the old colonies file is renamed to after it was split into one file per colony.
+     */
+    private static final String FILENAME_MINECOLONIES_BACKUP = ".bak";
+
+    /**
+     * The prefix and suffix of the file of one colony.
+     */
+    private static final String FILENAME_COLONY_PREFIX = "colony";
+    private static final String FILENAME_COLONY_SUFFIX = ".dat";
+
+    /**
+     * Milliseconds per second, to convert the save interval.
+     */
+    private static final long MILLIS_PER_SECOND = 1000L;
+
     /**
      * The tag of the colonies.
      */
@@ -61,6 +79,21 @@ public final class ColonyManager
      */
     @NotNull
     private static final Map<Integer, List<Colony>> coloniesByWorld       = new HashMap<>();
+    /**
+     * The chunks covered by the colonies of every world.
+     */
+    @NotNull
+    private static final ColonySpatialIndex         spatialIndex          = new ColonySpatialIndex();
+    /**
+     * The ranks of every player in the colonies they are listed in, by player and colony id.
+     */
+    @NotNull
+    private static final Map<UUID, Map<Integer, Permissions.Rank>> ranksByPlayer = new HashMap<>();
+    /**
+     * The players listed in the permissions of every colony.
+     */
+    @NotNull
+    private static final Map<Integer, Set<UUID>>    playersByColony       = new HashMap<>();
     /**
      * The last colony id.
      */
@@ -75,9 +108,14 @@ public final class ColonyManager
      */
     private static int numWorldsLoaded;
     /**
-     * Whether the colonyManager should persist data.
+     * The ids of the colonies which changed since they were last saved.
      */
-    private static boolean saveNeeded;
+    @NotNull
+    private static final Set<Integer> dirtyColonies = new HashSet<>();
+    /**
+     * The time the changed colonies were last saved.
+     */
+    private static long lastSaveTime;
 
     private ColonyManager()
     {
@@ -105,6 +143,8 @@ public final class ColonyManager
         }
 
         coloniesByWorld.get(colony.getDimension()).add(colony);
+        spatialIndex.update(colony);
+        indexPlayers(colony);
 
         final String colonyName = LanguageHandler.format("com.minecolonies.coremod.gui.townHall.defaultName", player.getDisplayNameString());
         colony.setName(colonyName);
@@ -113,7 +153,7 @@ public final class ColonyManager
         colony.triggerAchievement(ModAchievements.achievementGetSupply);
         colony.triggerAchievement(ModAchievements.achievementTownhall);
 
-        markDirty();
+        markDirty(colony.getID());
 
         Log.getLogger().info(String.format("New Colony Id: %d by %s", colony.getID(), player.getName()));
 
@@ -121,11 +161,13 @@ public final class ColonyManager
     }
 
     /**
-     * Specify that colonies should be saved.
+     * Specify that a colony should be saved.
+     *
+     * @param colonyId the id of the colony.
      */
-    public static void markDirty()
+    public static void markDirty(final int colonyId)
     {
-        saveNeeded = true;
+        dirtyColonies.add(colonyId);
     }
 
     /**
@@ -141,6 +183,10 @@ public final class ColonyManager
             Log.getLogger().info("Deleting colony " + id);
             colonies.remove(id);
             coloniesByWorld.get(colony.getDimension()).remove(colony);
+            dirtyColonies.remove(id);
+            spatialIndex.remove(colony);
+            unindexPlayers(id);
+            ColonyPersistence.delete(getColonyFile(id));
             final Set<World> colonyWorlds = new HashSet<>();
             Log.getLogger().info("Removing citizens for " + id);
             for (final CitizenData citizenData : new ArrayList<>(colony.getCitizens().values()))
@@ -174,6 +220,142 @@ public final class ColonyManager
         }
     }
 
+    /**
+     * Index the chunks of a colony again after a building was added or removed.
+     *
+     * @param colony the colony.
+     */
+    static void onBuildingsChanged(@NotNull final Colony colony)
+    {
+        if (colonies.containsKey(colony.getID()))
+        {
+            spatialIndex.update(colony);
+        }
+    }
+
+    /**
+     * Index the players of a colony again after its permissions changed.
+     *
+     * @param colony the colony.
+     */
+    public static void onPermissionsChanged(@NotNull final Colony colony)
+    {
+        if (colonies.containsKey(colony.getID()))
+        {
+            indexPlayers(colony);
+        }
+    }
+
+    /**
+     * Replace the index entries of the players of a colony.
+     *
+     * @param colony the colony.
+     */
+    private static void indexPlayers(@NotNull final Colony colony)
+    {
+        unindexPlayers(colony.getID());
+
+        final Permissions permissions = colony.getPermissions();
+        final Map<UUID, Permissions.Rank> ranks = new HashMap<>();
+        for (@NotNull final Permissions.Player player : permissions.getPlayers().values())
+        {
+            ranks.put(player.getID(), player.getRank());
+        }
+
+        //  The owner might not be listed if their profile couldn't be resolved on load.
+        final UUID owner = permissions.getOwner();
+        if (owner != null)
+        {
+            ranks.putIfAbsent(owner, Permissions.Rank.OWNER);
+        }
+
+        for (@NotNull final Map.Entry<UUID, Permissions.Rank> entry : ranks.entrySet())
+        {
+            ranksByPlayer.computeIfAbsent(entry.getKey(), id -> new HashMap<>()).put(colony.getID(), entry.getValue());
+        }
+        playersByColony.put(colony.getID(), ranks.keySet());
+    }
+
+    /**
+     * Remove the index entries of the players of a colony.
+     *
+     * @param colonyId the id of the colony.
+     */
+    private static void unindexPlayers(final int colonyId)
+    {
+        final Set<UUID> players = playersByColony.remove(colonyId);
+        if (players == null)
+        {
+            return;
+        }
+
+        for (@NotNull final UUID player : players)
+        {
+            final Map<Integer, Permissions.Rank> ranks = ranksByPlayer.get(player);
+            if (ranks != null)
+            {
+                ranks.remove(colonyId);
+                if (ranks.isEmpty())
+                {
+                    ranksByPlayer.remove(player);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the ranks a player has in the colonies they are listed in.
+     *
+     * @param player UUID of the player.
+     * @return the ranks by colony id, empty if the player isn't listed in any colony.
+     */
+    @NotNull
+    public static Map<Integer, Permissions.Rank> getRanksOfPlayer(@Nullable final UUID player)
+    {
+        final Map<Integer, Permissions.Rank> ranks = player == null ? null : ranksByPlayer.get(player);
+        return ranks == null ? Collections.emptyMap() : Collections.unmodifiableMap(ranks);
+    }
+
+    /**
+     * Get the colonies in which a player has one of the given ranks.
+     *
+     * @param player UUID of the player.
+     * @param ranks  the ranks to look for, for example only owner or all subscriber ranks.
+     * @return the colonies, sorted by id.
+     */
+    @NotNull
+    public static List<Colony> getColoniesByPlayer(@Nullable final UUID player, @NotNull final Set<Permissions.Rank> ranks)
+    {
+        @NotNull final List<Colony> result = new ArrayList<>();
+        for (@NotNull final Map.Entry<Integer, Permissions.Rank> entry : new TreeMap<>(getRanksOfPlayer(player)).entrySet())
+        {
+            final Colony colony = colonies.get(entry.getKey());
+            if (colony != null && ranks.contains(entry.getValue()))
+            {
+                result.add(colony);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the ids of the colonies which might contain a position or own a building there.
+     *
+     * @param w   World.
+     * @param pos coordinates.
+     * @return the candidate colony ids.
+     */
+    @NotNull
+    private static List<Integer> getColonyCandidates(@NotNull final World w, @NotNull final BlockPos pos)
+    {
+        if (spatialIndex.isOutdated())
+        {
+            spatialIndex.clear();
+            colonies.values().forEach(spatialIndex::update);
+        }
+        return spatialIndex.getCandidates(w.provider.getDimension(), pos);
+    }
+
     /**
      * Get Colony by UUID.
      *
@@ -213,15 +395,13 @@ public final class ColonyManager
         }
 
         //  Fallback - there might be a AbstractBuilding for this block, but it's outside of it's owning colony's radius.
-        if (coloniesByWorld.containsKey(w.provider.getDimension()))
+        for (final int id : getColonyCandidates(w, pos))
         {
-            for (@NotNull final Colony otherColony : coloniesByWorld.get(w.provider.getDimension()))
+            final Colony otherColony = colonies.get(id);
+            final AbstractBuilding building = otherColony == null ? null : otherColony.getBuilding(pos);
+            if (building != null)
             {
-                final AbstractBuilding building = otherColony.getBuilding(pos);
-                if (building != null)
-                {
-                    return building;
-                }
+                return building;
             }
         }
 
@@ -237,15 +417,10 @@ public final class ColonyManager
      */
     public static Colony getColony(@NotNull final World w, @NotNull final BlockPos pos)
     {
-        final List<Colony> coloniesInWorld = coloniesByWorld.get(w.provider.getDimension());
-        if (coloniesInWorld == null)
-        {
-            return null;
-        }
-
-        for (@NotNull final Colony c : coloniesInWorld)
+        for (final int id : getColonyCandidates(w, pos))
         {
-            if (c.isCoordInColony(w, pos))
+            final Colony c = colonies.get(id);
+            if (c != null && c.isCoordInColony(w, pos))
             {
                 return c;
             }
@@ -392,14 +567,35 @@ public final class ColonyManager
      */
     public static Colony getClosestColony(@NotNull final World w, @NotNull final BlockPos pos)
     {
+        //  A colony containing the position is closer than every colony not indexed in its chunk.
+        @Nullable Colony closestColony = null;
+        long closestDist = (long) MathUtils.square(Configurations.workingRangeTownHall);
+        for (final int id : getColonyCandidates(w, pos))
+        {
+            final Colony c = colonies.get(id);
+            if (c != null)
+            {
+                final long dist = c.getDistanceSquared(pos);
+                if (dist <= closestDist)
+                {
+                    closestColony = c;
+                    closestDist = dist;
+                }
+            }
+        }
+
+        if (closestColony != null)
+        {
+            return closestColony;
+        }
+
         final List<Colony> coloniesInWorld = coloniesByWorld.get(w.provider.getDimension());
         if (coloniesInWorld == null)
         {
             return null;
         }
 
-        @Nullable Colony closestColony = null;
-        long closestDist = Long.MAX_VALUE;
+        closestDist = Long.MAX_VALUE;
 
         for (@NotNull final Colony c : coloniesInWorld)
         {
@@ -480,16 +676,8 @@ public final class ColonyManager
     @Nullable
     private static IColony getColonyByOwner(@Nullable final UUID owner)
     {
-        if (owner == null)
-        {
-            return null;
-        }
-
-        return colonies.values()
-                 .stream()
-                 .filter(c -> owner.equals(c.getPermissions().getOwner()))
-                 .findFirst()
-                 .orElse(null);
+        final List<Colony> owned = getColoniesByPlayer(owner, EnumSet.of(Permissions.Rank.OWNER));
+        return owned.isEmpty() ? null : owned.get(0);
     }
 
     /**
@@ -516,24 +704,33 @@ public final class ColonyManager
             c.onServerTick(event);
         }
 
-        if (saveNeeded)
+        if (!dirtyColonies.isEmpty() && System.currentTimeMillis() - lastSaveTime >= Configurations.colonySaveInterval * MILLIS_PER_SECOND)
         {
-            saveColonies();
+            saveColonies(new ArrayList<>(dirtyColonies));
         }
     }
 
     /**
-     * Save all the Colonies.
+     * Save the given colonies.
+     * Their NBT is written here, compressing and writing the files happens in the background.
+     *
+     * @param ids the ids of the colonies to save.
      */
-    private static void saveColonies()
+    private static void saveColonies(@NotNull final Collection<Integer> ids)
     {
-        @NotNull final NBTTagCompound compound = new NBTTagCompound();
-        writeToNBT(compound);
-
-        @NotNull final File file = getSaveLocation();
-        saveNBTToPath(file, compound);
+        for (final int id : ids)
+        {
+            final Colony colony = colonies.get(id);
+            if (colony != null)
+            {
+                @NotNull final NBTTagCompound compound = new NBTTagCompound();
+                colony.writeToNBT(compound);
+                ColonyPersistence.write(getColonyFile(id), compound);
+            }
+        }
 
-        saveNeeded = false;
+        dirtyColonies.removeAll(ids);
+        lastSaveTime = System.currentTimeMillis();
     }
 
     /**
@@ -554,37 +751,26 @@ public final class ColonyManager
     }
 
     /**
-     * Get save location for Minecolonies data, from the world/save directory.
+     * Get save directory for Minecolonies data, from the world/save directory.
      *
-     * @return Save file for minecolonies.
+     * @return Save directory for minecolonies.
      */
     @NotNull
-    private static File getSaveLocation()
+    private static File getSaveDirectory()
     {
-        @NotNull final File saveDir = new File(DimensionManager.getWorld(0).getSaveHandler().getWorldDirectory(), FILENAME_MINECOLONIES_PATH);
-        return new File(saveDir, FILENAME_MINECOLONIES);
+        return new File(DimensionManager.getWorld(0).getSaveHandler().getWorldDirectory(), FILENAME_MINECOLONIES_PATH);
     }
 
     /**
-     * Save an NBTTagCompound to a file.  Does so in a safe manner using an intermediate tmp file.
+     * Get save location of one colony.
      *
-     * @param file     The destination file to write the data to.
-     * @param compound The NBTTagCompound to write to the file.
+     * @param id the id of the colony.
+     * @return Save file for the colony.
      */
-    private static void saveNBTToPath(@Nullable final File file, @NotNull final NBTTagCompound compound)
+    @NotNull
+    private static File getColonyFile(final int id)
     {
-        try
-        {
-            if (file != null)
-            {
-                file.getParentFile().mkdir();
-                CompressedStreamTools.safeWrite(compound, file);
-            }
-        }
-        catch (final IOException exception)
-        {
-            Log.getLogger().error("Exception when saving ColonyManager", exception);
-        }
+        return new File(getSaveDirectory(), FILENAME_COLONY_PREFIX + id + FILENAME_COLONY_SUFFIX);
     }
 
     /**
@@ -629,12 +815,7 @@ public final class ColonyManager
         {
             if (numWorldsLoaded == 0)
             {
-                @NotNull final File file = getSaveLocation();
-                @Nullable final NBTTagCompound data = loadNBTFromPath(file);
-                if (data != null)
-                {
-                    readFromNBT(data);
-                }
+                loadColonies();
             }
             ++numWorldsLoaded;
 
@@ -651,19 +832,86 @@ public final class ColonyManager
         }
     }
 
+    /**
+     * Load the file of every colony.
+     * Colonies saved by older versions in a single file are split into one file per colony on the first load.
+     */
+    private static void loadColonies()
+    {
+        @NotNull final File saveDir = getSaveDirectory();
+        final File[] files = saveDir.listFiles((dir, name) -> name.startsWith(FILENAME_COLONY_PREFIX) && name.endsWith(FILENAME_COLONY_SUFFIX));
+        if (files != null)
+        {
+            for (@NotNull final File file : files)
+            {
+                @Nullable final NBTTagCompound data = loadNBTFromPath(file, true);
+                if (data != null)
+                {
+                    addColony(Colony.loadColony(data));
+                }
+            }
+        }
+
+        @NotNull final File legacyFile = new File(saveDir, FILENAME_MINECOLONIES);
+        if (colonies.isEmpty() && legacyFile.exists())
+        {
+            @Nullable final NBTTagCompound data = loadNBTFromPath(legacyFile, false);
+            if (data != null)
+            {
+                readFromNBT(data);
+                saveColonies(new ArrayList<>(colonies.keySet()));
+                ColonyPersistence.flush();
+                if (!legacyFile.renameTo(new File(saveDir, FILENAME_MINECOLONIES + FILENAME_MINECOLONIES_BACKUP)))
+                {
+                    Log.getLogger().warn("Unable to rename " + legacyFile + ", colonies will be loaded from the single colony files");
+                }
+            }
+        }
+
+        Log.getLogger().info(String.format("Loaded %d colonies", colonies.size()));
+    }
+
+    /**
+     * Add a loaded colony to the manager.
+     *
+     * @param colony the colony.
+     */
+    private static void addColony(@NotNull final Colony colony)
+    {
+        colonies.put(colony.getID(), colony);
+
+        if (!coloniesByWorld.containsKey(colony.getDimension()))
+        {
+            coloniesByWorld.put(colony.getDimension(), new ArrayList<>());
+        }
+        coloniesByWorld.get(colony.getDimension()).add(colony);
+        spatialIndex.update(colony);
+        indexPlayers(colony);
+
+        topColonyId = Math.max(topColonyId, colony.getID());
+    }
+
     /**
      * Load a file and return the data as an NBTTagCompound.
      *
-     * @param file The path to the file.
+     * @param file       The path to the file.
+     * @param compressed whether the file is compressed, the single colonies file of older versions isn't.
      * @return the data from the file as an NBTTagCompound, or null.
      */
     private static NBTTagCompound loadNBTFromPath(
-                                                   @Nullable final File file)
+                                                   @Nullable final File file, final boolean compressed)
     {
         try
         {
             if (file != null && file.exists())
             {
+                if (compressed)
+                {
+                    try (FileInputStream in = new FileInputStream(file))
+                    {
+                        return CompressedStreamTools.readCompressed(in);
+                    }
+                }
                 return CompressedStreamTools.read(file);
             }
         }
@@ -684,19 +932,8 @@ public final class ColonyManager
         final NBTTagList colonyTags = compound.getTagList(TAG_COLONIES, NBT.TAG_COMPOUND);
         for (int i = 0; i < colonyTags.tagCount(); ++i)
         {
-            @NotNull final Colony colony = Colony.loadColony(colonyTags.getCompoundTagAt(i));
-            colonies.put(colony.getID(), colony);
-
-            if (!coloniesByWorld.containsKey(colony.getDimension()))
-            {
-                coloniesByWorld.put(colony.getDimension(), new ArrayList<>());
-            }
-            coloniesByWorld.get(colony.getDimension()).add(colony);
-
-            topColonyId = Math.max(topColonyId, colony.getID());
+            addColony(Colony.loadColony(colonyTags.getCompoundTagAt(i)));
         }
-
-        Log.getLogger().info(String.format("Loaded %d colonies", colonies.size()));
     }
 
     /**
@@ -709,7 +946,7 @@ public final class ColonyManager
         //We save when the first dimension is saved.
         if (!world.isRemote && world.provider.getDimension() == 0)
         {
-            saveColonies();
+            saveColonies(new ArrayList<>(colonies.keySet()));
         }
     }
 
@@ -735,8 +972,13 @@ public final class ColonyManager
             --numWorldsLoaded;
             if (numWorldsLoaded == 0)
             {
+                ColonyPersistence.flush();
                 colonies.clear();
                 coloniesByWorld.clear();
+                dirtyColonies.clear();
+                spatialIndex.clear();
+                ranksByPlayer.clear();
+                playersByColony.clear();
             }
         }
     }
@@ -1,6 +1,7 @@
 package com.minecolonies.coremod.colony;
 
 import com.minecolonies.coremod.entity.EntityCitizen;
+import com.minecolonies.coremod.entity.pathfinding.PathingSnapshot;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayer;
@@ -19,8 +20,13 @@ public class ColonyManagerWorldAccess implements IWorldEventListener
     @Override
     public void notifyBlockUpdate(final World worldIn, final BlockPos pos, final IBlockState oldState, final IBlockState newState, final int flags)
     {
-        //Not needed
+        PathingSnapshot.invalidate(worldIn, pos);
 
+        final Colony colony = ColonyManager.getColony(worldIn, pos);
+        if (colony != null)
+        {
+            colony.getBlockChangeJournal().record(pos, oldState, newState);
+        }
     }
 
     @Override
@@ -68,6 +74,10 @@ public class ColonyManagerWorldAccess implements IWorldEventListener
         {
             ((EntityCitizen) entity).updateColonyServer();
         }
+        else if (HostileTracker.isTracked(entity))
+        {
+            ColonyManager.getColonies(entity.worldObj).forEach(colony -> colony.getHostileTracker().add(entity));
+        }
     }
 
     @Override
@@ -81,6 +91,10 @@ public class ColonyManagerWorldAccess implements IWorldEventListener
                 citizen.setCitizenEntity(null);
             }
         }
+        else if (HostileTracker.isTracked(entity))
+        {
+            ColonyManager.getColonies(entity.worldObj).forEach(colony -> colony.getHostileTracker().remove(entity));
+        }
     }
 
     @Override
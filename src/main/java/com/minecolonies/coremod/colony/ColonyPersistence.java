@@ -0,0 +1,164 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.coremod.util.Log;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes colony files on a background thread.
+ * <p>
+ * The NBT is snapshot on the server thread and handed over here, compression and syncing to disk happen on the
+ * writer thread. A colony written again before its previous snapshot reached the disk only writes the newest one.
+ * Files are written to a temporary file first and then moved over the old one, so a crash never leaves half a file.
+ */
+final class ColonyPersistence
+{
+    /**
+     * Suffix of the temporary files.
+     */
+    private static final String TMP_SUFFIX = ".tmp";
+
+    /**
+     * Time to wait for pending writes when flushing, in seconds.
+     */
+    private static final long FLUSH_TIMEOUT = 60;
+
+    /**
+     * Snapshots waiting to be written by file, null for a file to delete.
+     */
+    private static final Map<File, NBTTagCompound> pending = new LinkedHashMap<>();
+
+    private static final ExecutorService writer = Executors.newSingleThreadExecutor(runnable ->
+    {
+        final Thread thread = new Thread(runnable, "Minecolonies Colony Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ColonyPersistence()
+    {
+        //Hides default constructor.
+    }
+
+    /**
+     * Queue a snapshot to be written, replacing an older snapshot of the same file which wasn't written yet.
+     *
+     * @param file     the file to write.
+     * @param compound the snapshot, not modified afterwards.
+     */
+    static void write(@NotNull final File file, @NotNull final NBTTagCompound compound)
+    {
+        queue(file, compound);
+    }
+
+    /**
+     * Queue a file to be deleted, dropping a pending write of it.
+     *
+     * @param file the file to delete.
+     */
+    static void delete(@NotNull final File file)
+    {
+        queue(file, null);
+    }
+
+    /**
+     * Wait for all queued writes to reach the disk.
+     */
+    static void flush()
+    {
+        try
+        {
+            writer.submit(() -> {
+                //Runs after every task queued before.
+            }).get(FLUSH_TIMEOUT, TimeUnit.SECONDS);
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (final Exception e)
+        {
+            Log.getLogger().error("Exception when waiting for the colonies to be saved", e);
+        }
+    }
+
+    private static void queue(@NotNull final File file, @Nullable final NBTTagCompound compound)
+    {
+        synchronized (pending)
+        {
+            final boolean queued = pending.containsKey(file);
+            pending.put(file, compound);
+            if (queued)
+            {
+                return;
+            }
+        }
+        writer.execute(() -> process(file));
+    }
+
+    private static void process(@NotNull final File file)
+    {
+        final NBTTagCompound compound;
+        synchronized (pending)
+        {
+            if (!pending.containsKey(file))
+            {
+                return;
+            }
+            compound = pending.remove(file);
+        }
+
+        try
+        {
+            if (compound == null)
+            {
+                Files.deleteIfExists(file.toPath());
+            }
+            else
+            {
+                writeSynced(file, compound);
+            }
+        }
+        catch (final IOException exception)
+        {
+            Log.getLogger().error("Exception when saving " + file.getName(), exception);
+        }
+    }
+
+    /**
+     * Compress a compound to a temporary file, sync it to disk and move it over the target.
+     *
+     * @param file     the target file.
+     * @param compound the compound.
+     * @throws IOException if the file can't be written.
+     */
+    private static void writeSynced(@NotNull final File file, @NotNull final NBTTagCompound compound) throws IOException
+    {
+        //  writeCompressed closes its stream, so compress into memory first to keep the file open for the sync.
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CompressedStreamTools.writeCompressed(compound, bytes);
+
+        file.getParentFile().mkdirs();
+        final File tmp = new File(file.getParentFile(), file.getName() + TMP_SUFFIX);
+        try (FileOutputStream out = new FileOutputStream(tmp))
+        {
+            bytes.writeTo(out);
+            out.getFD().sync();
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
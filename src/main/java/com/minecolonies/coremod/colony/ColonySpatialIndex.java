@@ -0,0 +1,168 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.coremod.configuration.Configurations;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Index of the chunks covered by the colonies of every dimension, so the colony at a position is found without
+ * checking every colony.
+ * <p>
+ * A chunk maps to the ids of the colonies whose radius touches it and of the colonies owning a building inside it,
+ * callers still check the exact position against these candidates. The index is rebuilt when the colony radius
+ * in the configuration changed.
+ */
+final class ColonySpatialIndex
+{
+    /**
+     * Size of a chunk, in blocks.
+     */
+    private static final int CHUNK_SIZE  = 16;
+    private static final int CHUNK_SHIFT = 4;
+
+    /**
+     * Candidate colony ids by dimension and chunk.
+     */
+    @NotNull
+    private final Map<Integer, Map<Long, List<Integer>>> chunks        = new HashMap<>();
+    /**
+     * The chunks every colony is registered in.
+     */
+    @NotNull
+    private final Map<Integer, Set<Long>>                chunksOfColony = new HashMap<>();
+    /**
+     * The radius the index was built with.
+     */
+    private       int                                    radius         = Configurations.workingRangeTownHall;
+
+    /**
+     * Get the ids of the colonies which might contain a position or own a building at it.
+     *
+     * @param dimension the dimension.
+     * @param pos       the position.
+     * @return the candidate ids, empty if no colony is near.
+     */
+    @NotNull
+    List<Integer> getCandidates(final int dimension, @NotNull final BlockPos pos)
+    {
+        final Map<Long, List<Integer>> dimensionChunks = chunks.get(dimension);
+        if (dimensionChunks == null)
+        {
+            return Collections.emptyList();
+        }
+        final List<Integer> candidates = dimensionChunks.get(chunkKey(pos.getX() >> CHUNK_SHIFT, pos.getZ() >> CHUNK_SHIFT));
+        return candidates == null ? Collections.emptyList() : candidates;
+    }
+
+    /**
+     * Check whether the colony radius changed since the index was built.
+     *
+     * @return true if every colony has to be indexed again.
+     */
+    boolean isOutdated()
+    {
+        return radius != Configurations.workingRangeTownHall;
+    }
+
+    /**
+     * Drop every entry, before indexing all colonies again.
+     */
+    void clear()
+    {
+        chunks.clear();
+        chunksOfColony.clear();
+        radius = Configurations.workingRangeTownHall;
+    }
+
+    /**
+     * Index a colony, replacing its previous entries.
+     * Call on creation, loading and whenever a building was added or removed.
+     *
+     * @param colony the colony.
+     */
+    void update(@NotNull final Colony colony)
+    {
+        remove(colony);
+
+        final Set<Long> keys = new HashSet<>();
+        final BlockPos center = colony.getCenter();
+        final int centerChunkX = center.getX() >> CHUNK_SHIFT;
+        final int centerChunkZ = center.getZ() >> CHUNK_SHIFT;
+        final int chunkRadius = (radius >> CHUNK_SHIFT) + 1;
+        final long radiusSq = (long) radius * radius;
+
+        for (int chunkX = centerChunkX - chunkRadius; chunkX <= centerChunkX + chunkRadius; chunkX++)
+        {
+            for (int chunkZ = centerChunkZ - chunkRadius; chunkZ <= centerChunkZ + chunkRadius; chunkZ++)
+            {
+                //  Distance from the center to the closest block of the chunk.
+                final long dx = distanceToRange(center.getX(), chunkX << CHUNK_SHIFT);
+                final long dz = distanceToRange(center.getZ(), chunkZ << CHUNK_SHIFT);
+                if (dx * dx + dz * dz <= radiusSq)
+                {
+                    keys.add(chunkKey(chunkX, chunkZ));
+                }
+            }
+        }
+
+        for (final BlockPos building : colony.getBuildings().keySet())
+        {
+            keys.add(chunkKey(building.getX() >> CHUNK_SHIFT, building.getZ() >> CHUNK_SHIFT));
+        }
+
+        final Map<Long, List<Integer>> dimensionChunks = chunks.computeIfAbsent(colony.getDimension(), dimension -> new HashMap<>());
+        for (final long key : keys)
+        {
+            dimensionChunks.computeIfAbsent(key, k -> new ArrayList<>(1)).add(colony.getID());
+        }
+        chunksOfColony.put(colony.getID(), keys);
+    }
+
+    /**
+     * Remove a colony from the index.
+     *
+     * @param colony the colony.
+     */
+    void remove(@NotNull final Colony colony)
+    {
+        final Set<Long> keys = chunksOfColony.remove(colony.getID());
+        final Map<Long, List<Integer>> dimensionChunks = chunks.get(colony.getDimension());
+        if (keys == null || dimensionChunks == null)
+        {
+            return;
+        }
+
+        for (final long key : keys)
+        {
+            final List<Integer> ids = dimensionChunks.get(key);
+            if (ids != null)
+            {
+                ids.remove(Integer.valueOf(colony.getID()));
+                if (ids.isEmpty())
+                {
+                    dimensionChunks.remove(key);
+                }
+            }
+        }
+    }
+
+    private static long chunkKey(final int chunkX, final int chunkZ)
+    {
+        return ((long) chunkX << Integer.SIZE) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static long distanceToRange(final int coordinate, final int rangeStart)
+    {
+        if (coordinate < rangeStart)
+        {
+            return (long) rangeStart - coordinate;
+        }
+        if (coordinate >= rangeStart + CHUNK_SIZE)
+        {
+            return (long) coordinate - (rangeStart + CHUNK_SIZE - 1);
+        }
+        return 0;
+    }
+}
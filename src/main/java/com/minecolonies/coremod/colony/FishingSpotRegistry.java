@@ -0,0 +1,548 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.coremod.colony.jobs.JobFisherman;
+import com.minecolonies.coremod.entity.ai.citizen.fisherman.Pond;
+import com.minecolonies.coremod.util.BlockPosUtil;
+import net.minecraft.block.material.Material;
+import net.minecraft.init.Blocks;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraftforge.common.util.Constants.NBT;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Index of the fishing spots around a colony, for the fishermen to pick from instead of searching the area.
+ * <p>
+ * A fishing spot is a water surface block next to a bank the fisherman can stand on, which belongs to a pond large
+ * enough for {@link Pond}. Each loaded chunk is scanned once when a fisherman searches near it, the spots of a chunk
+ * are kept apart from each other and the block changes of the colony keep them up to date. The journal only sees
+ * changes inside the colony, so chunks reaching out of it are scanned again once their scan is {@link #RESCAN_TIME}
+ * old. The index is saved with the colony, a spot can be reserved by one fisherman at a time. Spots a fisherman couldn't
+ * fish at are left out for {@link #UNREACHABLE_TIME}.
+ */
+public class FishingSpotRegistry
+{
+    private static final String TAG_CHUNKS = "chunks";
+    private static final String TAG_CHUNK  = "chunk";
+    private static final String TAG_SPOTS  = "spots";
+    private static final String TAG_RESCAN = "rescan";
+
+    /**
+     * Bits to shift a block coordinate by to get the chunk coordinate.
+     */
+    private static final int CHUNK_SHIFT = 4;
+
+    /**
+     * The width of a chunk in blocks.
+     */
+    private static final int CHUNK_SIZE = 16;
+
+    /**
+     * Horizontal reach of the pond check from a spot, the area which has to be loaded and which a change affects.
+     */
+    private static final int POND_RADIUS = 10;
+
+    /**
+     * Minimum squared distance between two spots of a chunk.
+     */
+    private static final int MIN_SPOT_DISTANCE_SQ = 40;
+
+    /**
+     * Ticks until a chunk which isn't entirely inside of the colony is scanned again.
+     */
+    private static final long RESCAN_TIME = 6000L;
+
+    /**
+     * Saved rescan time of the chunks inside of the colony, which are kept up to date by the journal.
+     */
+    private static final long NO_RESCAN = Long.MAX_VALUE;
+
+    /**
+     * Ticks a spot no fisherman could fish at is left out.
+     */
+    private static final long UNREACHABLE_TIME = 24000L;
+
+    @NotNull
+    private final Colony                   colony;
+    @NotNull
+    private final Map<Long, Set<BlockPos>> spotsByChunk = new HashMap<>();
+    @NotNull
+    private final Map<BlockPos, Integer>   reservations = new HashMap<>();
+    /**
+     * The time the scan of chunks outside of the journal runs out at.
+     */
+    @NotNull
+    private final Map<Long, Long>          rescanAt     = new HashMap<>();
+    /**
+     * The time unreachable spots may be picked again at.
+     */
+    @NotNull
+    private final Map<BlockPos, Long>      unreachable  = new HashMap<>();
+
+    /**
+     * Create the registry of a colony.
+     *
+     * @param colony the colony.
+     */
+    FishingSpotRegistry(@NotNull final Colony colony)
+    {
+        this.colony = colony;
+    }
+
+    /**
+     * Scan the loaded chunks in range of a position which weren't scanned yet.
+     *
+     * @param center the center, usually the hut of the fisherman.
+     * @param range  the range in blocks.
+     * @param budget the maximum number of chunks to scan.
+     * @return true if every loaded chunk in range is scanned.
+     */
+    public boolean scan(@NotNull final BlockPos center, final int range, final int budget)
+    {
+        final World world = colony.getWorld();
+        if (world == null)
+        {
+            return true;
+        }
+
+        int scanned = 0;
+        for (int chunkX = (center.getX() - range) >> CHUNK_SHIFT; chunkX <= (center.getX() + range) >> CHUNK_SHIFT; chunkX++)
+        {
+            for (int chunkZ = (center.getZ() - range) >> CHUNK_SHIFT; chunkZ <= (center.getZ() + range) >> CHUNK_SHIFT; chunkZ++)
+            {
+                if (isScanned(world, ChunkPos.asLong(chunkX, chunkZ))
+                      || !world.isAreaLoaded(new BlockPos((chunkX << CHUNK_SHIFT) + CHUNK_SIZE / 2, 0, (chunkZ << CHUNK_SHIFT) + CHUNK_SIZE / 2), CHUNK_SIZE / 2 + POND_RADIUS))
+                {
+                    continue;
+                }
+                if (scanned >= budget)
+                {
+                    return false;
+                }
+                scanChunk(world, chunkX, chunkZ);
+                scanned++;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a chunk has been scanned and its spots are still up to date.
+     */
+    private boolean isScanned(@NotNull final World world, final long chunk)
+    {
+        final Long expiry = rescanAt.get(chunk);
+        return spotsByChunk.containsKey(chunk) && (expiry == null || world.getTotalWorldTime() < expiry);
+    }
+
+    /**
+     * Find the spots of a chunk at the surface of each column.
+     */
+    private void scanChunk(@NotNull final World world, final int chunkX, final int chunkZ)
+    {
+        final Set<BlockPos> spots = new HashSet<>();
+        final long chunk = ChunkPos.asLong(chunkX, chunkZ);
+        spotsByChunk.put(chunk, spots);
+        if (isInColony(world, chunkX, chunkZ))
+        {
+            rescanAt.remove(chunk);
+        }
+        else
+        {
+            rescanAt.put(chunk, world.getTotalWorldTime() + RESCAN_TIME);
+        }
+
+        for (int x = 0; x < CHUNK_SIZE; x++)
+        {
+            for (int z = 0; z < CHUNK_SIZE; z++)
+            {
+                final BlockPos surface = world.getHeight(new BlockPos((chunkX << CHUNK_SHIFT) + x, 0, (chunkZ << CHUNK_SHIFT) + z)).down();
+                if (!isNearSpot(spots, surface) && isFishingSpot(world, surface))
+                {
+                    spots.add(surface);
+                }
+            }
+        }
+        ColonyManager.markDirty(colony.getID());
+    }
+
+    /**
+     * Checks if all of a chunk is inside of the colony, so that the journal sees all of its changes.
+     * The colony is a circle, if its corners are inside the whole chunk is.
+     */
+    private boolean isInColony(@NotNull final World world, final int chunkX, final int chunkZ)
+    {
+        final int minX = chunkX << CHUNK_SHIFT;
+        final int minZ = chunkZ << CHUNK_SHIFT;
+        final int maxX = minX + CHUNK_SIZE - 1;
+        final int maxZ = minZ + CHUNK_SIZE - 1;
+        return colony.isCoordInColony(world, new BlockPos(minX, 0, minZ))
+                 && colony.isCoordInColony(world, new BlockPos(maxX, 0, minZ))
+                 && colony.isCoordInColony(world, new BlockPos(minX, 0, maxZ))
+                 && colony.isCoordInColony(world, new BlockPos(maxX, 0, maxZ));
+    }
+
+    /**
+     * Update the spots around the changed positions.
+     * The known spots close to a change are checked again, the changed position and its neighbours may become spots.
+     *
+     * @param changes the block changes of the colony.
+     */
+    void onBlocksChanged(@NotNull final Collection<BlockChangeJournal.BlockChange> changes)
+    {
+        final World world = colony.getWorld();
+        if (world == null)
+        {
+            return;
+        }
+
+        boolean changed = false;
+        for (final BlockChangeJournal.BlockChange change : changes)
+        {
+            final BlockPos pos = change.getPos();
+            final boolean water = change.getOldState().getMaterial() == Material.WATER || change.getNewState().getMaterial() == Material.WATER;
+            final List<BlockPos> nearSpots = getSpotsInRange(pos, POND_RADIUS);
+            if (!water && nearSpots.isEmpty())
+            {
+                continue;
+            }
+
+            for (final BlockPos spot : nearSpots)
+            {
+                if (world.isAreaLoaded(spot, POND_RADIUS) && !isFishingSpot(world, spot))
+                {
+                    changed |= remove(spot);
+                }
+            }
+
+            changed |= tryAdd(world, pos);
+            changed |= tryAdd(world, pos.down());
+            for (final EnumFacing facing : EnumFacing.HORIZONTALS)
+            {
+                changed |= tryAdd(world, pos.offset(facing).down());
+            }
+        }
+
+        if (changed)
+        {
+            ColonyManager.markDirty(colony.getID());
+        }
+    }
+
+    /**
+     * Add a position to the spots of its scanned chunk if it is a spot which isn't too close to another one.
+     */
+    private boolean tryAdd(@NotNull final World world, @NotNull final BlockPos pos)
+    {
+        final Set<BlockPos> spots = spotsByChunk.get(getChunkKey(pos));
+        if (spots == null || spots.contains(pos) || isNearSpot(spots, pos) || !isFishingSpot(world, pos))
+        {
+            return false;
+        }
+        spots.add(pos.toImmutable());
+        return true;
+    }
+
+    /**
+     * Collects the known spots within a horizontal range of a position.
+     */
+    @NotNull
+    private List<BlockPos> getSpotsInRange(@NotNull final BlockPos pos, final int range)
+    {
+        final List<BlockPos> result = new ArrayList<>();
+        final long rangeSq = (long) range * range;
+        for (int chunkX = (pos.getX() - range) >> CHUNK_SHIFT; chunkX <= (pos.getX() + range) >> CHUNK_SHIFT; chunkX++)
+        {
+            for (int chunkZ = (pos.getZ() - range) >> CHUNK_SHIFT; chunkZ <= (pos.getZ() + range) >> CHUNK_SHIFT; chunkZ++)
+            {
+                final Set<BlockPos> spots = spotsByChunk.get(ChunkPos.asLong(chunkX, chunkZ));
+                if (spots == null)
+                {
+                    continue;
+                }
+                for (final BlockPos spot : spots)
+                {
+                    if (BlockPosUtil.getDistanceSquared2D(pos, spot) <= rangeSq)
+                    {
+                        result.add(spot);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reserve the nearest spot in range of a position which nobody has reserved, the spots of unloaded chunks are
+     * left out. When one is found any former reservation of the citizen is released.
+     *
+     * @param center    the center, usually the hut of the fisherman.
+     * @param range     the range in blocks.
+     * @param citizenId the id of the fisherman.
+     * @return the spot or null if there is none.
+     */
+    @Nullable
+    public BlockPos reserveNearestSpot(@NotNull final BlockPos center, final int range, final int citizenId)
+    {
+        final World world = colony.getWorld();
+        if (world == null)
+        {
+            return null;
+        }
+
+        while (true)
+        {
+            final BlockPos nearest = findNearestSpot(world, center, range);
+            if (nearest == null)
+            {
+                return null;
+            }
+
+            //Blocks changed without a block update aren't in the journal.
+            if (isFishingSpot(world, nearest))
+            {
+                release(citizenId);
+                reservations.put(nearest, citizenId);
+                return nearest;
+            }
+            discard(nearest);
+        }
+    }
+
+    /**
+     * Finds the nearest known spot in range which isn't reserved.
+     */
+    @Nullable
+    private BlockPos findNearestSpot(@NotNull final World world, @NotNull final BlockPos center, final int range)
+    {
+        BlockPos nearest = null;
+        long nearestDistance = (long) range * range;
+        for (int chunkX = (center.getX() - range) >> CHUNK_SHIFT; chunkX <= (center.getX() + range) >> CHUNK_SHIFT; chunkX++)
+        {
+            for (int chunkZ = (center.getZ() - range) >> CHUNK_SHIFT; chunkZ <= (center.getZ() + range) >> CHUNK_SHIFT; chunkZ++)
+            {
+                final Set<BlockPos> spots = spotsByChunk.get(ChunkPos.asLong(chunkX, chunkZ));
+                if (spots == null)
+                {
+                    continue;
+                }
+
+                for (final BlockPos spot : spots)
+                {
+                    final long distance = BlockPosUtil.getDistanceSquared2D(center, spot);
+                    if (distance <= nearestDistance && world.isAreaLoaded(spot, POND_RADIUS) && !isReserved(spot)
+                          && !isUnreachable(world, spot))
+                    {
+                        nearest = spot;
+                        nearestDistance = distance;
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Reserve a certain spot, for example the one a fisherman was fishing at before the server restarted.
+     *
+     * @param spot      the spot.
+     * @param citizenId the id of the fisherman.
+     * @return false if another fisherman has reserved it.
+     */
+    public boolean reserve(@NotNull final BlockPos spot, final int citizenId)
+    {
+        final Integer owner = reservations.get(spot);
+        if (owner != null && owner != citizenId && isReserved(spot))
+        {
+            return false;
+        }
+        release(citizenId);
+        reservations.put(spot.toImmutable(), citizenId);
+        return true;
+    }
+
+    /**
+     * Release the spot reserved by a citizen.
+     *
+     * @param citizenId the id of the fisherman.
+     */
+    public void release(final int citizenId)
+    {
+        reservations.values().removeIf(id -> id == citizenId);
+    }
+
+    /**
+     * Leave out a spot a fisherman couldn't walk to or fish at for a while and release its reservation.
+     *
+     * @param spot the spot.
+     */
+    public void markUnreachable(@NotNull final BlockPos spot)
+    {
+        final World world = colony.getWorld();
+        if (world == null)
+        {
+            return;
+        }
+
+        final long now = world.getTotalWorldTime();
+        unreachable.values().removeIf(expiry -> expiry <= now);
+        unreachable.put(spot.toImmutable(), now + UNREACHABLE_TIME);
+        reservations.remove(spot);
+    }
+
+    /**
+     * Checks if a fisherman couldn't walk to or fish at a spot lately.
+     */
+    private boolean isUnreachable(@NotNull final World world, @NotNull final BlockPos spot)
+    {
+        final Long expiry = unreachable.get(spot);
+        return expiry != null && world.getTotalWorldTime() < expiry;
+    }
+
+    /**
+     * Forget a spot which is no fishing spot anymore.
+     */
+    private void discard(@NotNull final BlockPos spot)
+    {
+        if (remove(spot))
+        {
+            ColonyManager.markDirty(colony.getID());
+        }
+    }
+
+    /**
+     * Forget a spot and its reservation.
+     */
+    private boolean remove(@NotNull final BlockPos spot)
+    {
+        final Set<BlockPos> spots = spotsByChunk.get(getChunkKey(spot));
+        reservations.remove(spot);
+        return spots != null && spots.remove(spot);
+    }
+
+    /**
+     * Checks if a spot is reserved by a fisherman which is still fishing there.
+     * Reservations of citizens which died, lost their job or moved on are dropped here.
+     */
+    private boolean isReserved(@NotNull final BlockPos spot)
+    {
+        final Integer owner = reservations.get(spot);
+        if (owner == null)
+        {
+            return false;
+        }
+
+        final CitizenData citizen = colony.getCitizen(owner);
+        final JobFisherman job = citizen == null ? null : citizen.getJob(JobFisherman.class);
+        if (job != null && spot.equals(job.getWater()))
+        {
+            return true;
+        }
+        reservations.remove(spot);
+        return false;
+    }
+
+    /**
+     * Checks if a position is water at the surface of a large enough pond, next to a bank to stand on.
+     */
+    private static boolean isFishingSpot(@NotNull final World world, @NotNull final BlockPos pos)
+    {
+        if (!world.isAreaLoaded(pos, POND_RADIUS) || world.getBlockState(pos).getBlock() != Blocks.WATER)
+        {
+            return false;
+        }
+
+        for (final EnumFacing facing : EnumFacing.HORIZONTALS)
+        {
+            final BlockPos bank = pos.offset(facing);
+            if (world.getBlockState(bank).getMaterial().isSolid() && world.isAirBlock(bank.up()) && world.isAirBlock(bank.up(2)))
+            {
+                return Pond.createWater(world, pos) != null;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a position is too close to one of the spots of its chunk.
+     */
+    private static boolean isNearSpot(@NotNull final Set<BlockPos> spots, @NotNull final BlockPos pos)
+    {
+        for (final BlockPos spot : spots)
+        {
+            if (spot.distanceSq(pos) < MIN_SPOT_DISTANCE_SQ)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long getChunkKey(@NotNull final BlockPos pos)
+    {
+        return ChunkPos.asLong(pos.getX() >> CHUNK_SHIFT, pos.getZ() >> CHUNK_SHIFT);
+    }
+
+    /**
+     * Save the scanned chunks, their spots and when they are scanned again.
+     *
+     * @param compound Compound to save to.
+     */
+    public void writeToNBT(@NotNull final NBTTagCompound compound)
+    {
+        @NotNull final NBTTagList chunkList = new NBTTagList();
+        for (@NotNull final Map.Entry<Long, Set<BlockPos>> entry : spotsByChunk.entrySet())
+        {
+            @NotNull final NBTTagCompound chunkCompound = new NBTTagCompound();
+            chunkCompound.setLong(TAG_CHUNK, entry.getKey());
+            final Long expiry = rescanAt.get(entry.getKey());
+            chunkCompound.setLong(TAG_RESCAN, expiry == null ? NO_RESCAN : expiry);
+
+            @NotNull final NBTTagList spotList = new NBTTagList();
+            for (@NotNull final BlockPos spot : entry.getValue())
+            {
+                BlockPosUtil.writeToNBTTagList(spotList, spot);
+            }
+            chunkCompound.setTag(TAG_SPOTS, spotList);
+            chunkList.appendTag(chunkCompound);
+        }
+        compound.setTag(TAG_CHUNKS, chunkList);
+    }
+
+    /**
+     * Restore the scanned chunks, their spots and when they are scanned again.
+     *
+     * @param compound Compound to read from.
+     */
+    public void readFromNBT(@NotNull final NBTTagCompound compound)
+    {
+        spotsByChunk.clear();
+        rescanAt.clear();
+        final NBTTagList chunkList = compound.getTagList(TAG_CHUNKS, NBT.TAG_COMPOUND);
+        for (int i = 0; i < chunkList.tagCount(); ++i)
+        {
+            final NBTTagCompound chunkCompound = chunkList.getCompoundTagAt(i);
+            final Set<BlockPos> spots = new HashSet<>();
+            final NBTTagList spotList = chunkCompound.getTagList(TAG_SPOTS, NBT.TAG_COMPOUND);
+            for (int j = 0; j < spotList.tagCount(); ++j)
+            {
+                spots.add(BlockPosUtil.readFromNBTTagList(spotList, j));
+            }
+            final long chunk = chunkCompound.getLong(TAG_CHUNK);
+            spotsByChunk.put(chunk, spots);
+            //Chunks saved without the time are scanned again right away.
+            final long expiry = chunkCompound.getLong(TAG_RESCAN);
+            if (expiry != NO_RESCAN)
+            {
+                rescanAt.put(chunk, expiry);
+            }
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.coremod.configuration.Configurations;
+import com.minecolonies.coremod.entity.EntityCitizen;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.monster.EntityMob;
+import net.minecraft.entity.monster.EntitySlime;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Keeps track of the mobs and players in and around a colony in a grid of chunk sized cells, for the guards to find
+ * their targets without searching the world.
+ * <p>
+ * Entities are added when they spawn in the area and found by one sweep over the area every second when they walk
+ * in, the cells follow their movement every tick. A guard claims the target it hunts, other guards leave a claimed
+ * target alone as long as the claiming guard is alive and close to it.
+ */
+public class HostileTracker
+{
+    /**
+     * Bits to shift a block coordinate by to get the cell coordinate, the cells are as large as chunks.
+     */
+    private static final int CELL_SHIFT = 4;
+
+    /**
+     * Ticks between two sweeps over the area for entities which walked in.
+     */
+    private static final int SWEEP_TICK_INCREMENT = 20;
+
+    /**
+     * Blocks around the colony border in which entities are tracked, guards see and follow that far out.
+     */
+    private static final int TRACKING_PADDING = 32;
+
+    /**
+     * Maximum squared distance between a guard and its claimed target.
+     */
+    private static final double CLAIM_RANGE_SQ = 48.0D * 48.0D;
+
+    /**
+     * The height of the world, the tracked area covers all of it.
+     */
+    private static final int WORLD_HEIGHT = 256;
+
+    @NotNull
+    private final Colony                           colony;
+    @NotNull
+    private final Map<Long, Set<EntityLivingBase>> cells        = new HashMap<>();
+    @NotNull
+    private final Map<EntityLivingBase, Long>      cellOfEntity = new HashMap<>();
+    @NotNull
+    private final Map<Integer, Integer>            claims       = new HashMap<>();
+
+    /**
+     * Create the tracker of a colony.
+     *
+     * @param colony the colony.
+     */
+    HostileTracker(@NotNull final Colony colony)
+    {
+        this.colony = colony;
+    }
+
+    /**
+     * Checks if an entity is of a kind guards may attack.
+     *
+     * @param entity the entity.
+     * @return true if it is tracked.
+     */
+    public static boolean isTracked(@Nullable final Entity entity)
+    {
+        return entity instanceof EntityMob || entity instanceof EntitySlime || entity instanceof EntityPlayer;
+    }
+
+    /**
+     * Start tracking an entity if it is of a tracked kind and in the area of the colony.
+     *
+     * @param entity the entity.
+     */
+    void add(@NotNull final Entity entity)
+    {
+        if (isTracked(entity) && !cellOfEntity.containsKey(entity) && isInArea(entity))
+        {
+            move((EntityLivingBase) entity, getCell(entity));
+        }
+    }
+
+    /**
+     * Stop tracking an entity.
+     *
+     * @param entity the entity.
+     */
+    void remove(@NotNull final Entity entity)
+    {
+        final Long cell = cellOfEntity.remove(entity);
+        if (cell != null)
+        {
+            removeFromCell(entity, cell);
+        }
+        claims.remove(entity.getEntityId());
+    }
+
+    /**
+     * Moves the entities to their current cells, forgets the dead or gone ones and sweeps for new ones now and then.
+     *
+     * @param world the world of the colony.
+     */
+    void onWorldTick(@NotNull final World world)
+    {
+        for (final EntityLivingBase entity : new ArrayList<>(cellOfEntity.keySet()))
+        {
+            if (!entity.isEntityAlive() || entity.worldObj != world || !isInArea(entity))
+            {
+                remove(entity);
+                continue;
+            }
+
+            final long cell = getCell(entity);
+            if (cellOfEntity.get(entity) != cell)
+            {
+                move(entity, cell);
+            }
+        }
+
+        if (world.getWorldTime() % SWEEP_TICK_INCREMENT == 0)
+        {
+            world.getEntitiesWithinAABB(EntityLivingBase.class, getArea(), HostileTracker::isTracked).forEach(this::add);
+        }
+    }
+
+    /**
+     * Find the nearest tracked entity in a box around a guard which no other guard claimed and which the guard may
+     * attack, and claim it. Any former claim of the guard is released.
+     *
+     * @param guard      the guard.
+     * @param range      the horizontal range of the box.
+     * @param height     the vertical range of the box.
+     * @param attackable whether the guard may attack an entity, checked from the nearest entity on.
+     * @return the target or null if there is none.
+     */
+    @Nullable
+    public EntityLivingBase claimNearestTarget(
+                                                @NotNull final EntityCitizen guard, final double range, final double height,
+                                                @NotNull final Predicate<EntityLivingBase> attackable)
+    {
+        final int citizenId = guard.getCitizenData().getId();
+        final List<EntityLivingBase> candidates = new ArrayList<>();
+        final int minCellX = ((int) Math.floor(guard.posX - range)) >> CELL_SHIFT;
+        final int maxCellX = ((int) Math.floor(guard.posX + range)) >> CELL_SHIFT;
+        final int minCellZ = ((int) Math.floor(guard.posZ - range)) >> CELL_SHIFT;
+        final int maxCellZ = ((int) Math.floor(guard.posZ + range)) >> CELL_SHIFT;
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++)
+        {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++)
+            {
+                final Set<EntityLivingBase> entities = cells.get(ChunkPos.asLong(cellX, cellZ));
+                if (entities == null)
+                {
+                    continue;
+                }
+
+                for (final EntityLivingBase entity : entities)
+                {
+                    if (entity.isEntityAlive()
+                          && Math.abs(entity.posX - guard.posX) <= range
+                          && Math.abs(entity.posZ - guard.posZ) <= range
+                          && Math.abs(entity.posY - guard.posY) <= height
+                          && !isClaimedByOther(entity, citizenId))
+                    {
+                        candidates.add(entity);
+                    }
+                }
+            }
+        }
+
+        candidates.sort(Comparator.comparingDouble(guard::getDistanceSqToEntity));
+        for (final EntityLivingBase entity : candidates)
+        {
+            if (attackable.test(entity))
+            {
+                release(citizenId);
+                claims.put(entity.getEntityId(), citizenId);
+                return entity;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Release the target claimed by a guard.
+     *
+     * @param citizenId the id of the guard.
+     */
+    public void release(final int citizenId)
+    {
+        claims.values().removeIf(id -> id == citizenId);
+    }
+
+    /**
+     * Checks if another guard claimed an entity and is still after it.
+     * Claims of guards which died or went away are dropped here.
+     */
+    private boolean isClaimedByOther(@NotNull final EntityLivingBase entity, final int citizenId)
+    {
+        final Integer owner = claims.get(entity.getEntityId());
+        if (owner == null || owner == citizenId)
+        {
+            return false;
+        }
+
+        final CitizenData citizen = colony.getCitizen(owner);
+        final EntityCitizen claimant = citizen == null ? null : citizen.getCitizenEntity();
+        if (claimant != null && claimant.isEntityAlive() && claimant.getDistanceSqToEntity(entity) <= CLAIM_RANGE_SQ)
+        {
+            return true;
+        }
+        claims.remove(entity.getEntityId());
+        return false;
+    }
+
+    private void move(@NotNull final EntityLivingBase entity, final long cell)
+    {
+        final Long oldCell = cellOfEntity.put(entity, cell);
+        if (oldCell != null)
+        {
+            removeFromCell(entity, oldCell);
+        }
+        cells.computeIfAbsent(cell, key -> new HashSet<>()).add(entity);
+    }
+
+    private void removeFromCell(@NotNull final Entity entity, final long cell)
+    {
+        final Set<EntityLivingBase> entities = cells.get(cell);
+        if (entities != null)
+        {
+            entities.remove(entity);
+            if (entities.isEmpty())
+            {
+                cells.remove(cell);
+            }
+        }
+    }
+
+    private static long getCell(@NotNull final Entity entity)
+    {
+        return ChunkPos.asLong(((int) Math.floor(entity.posX)) >> CELL_SHIFT, ((int) Math.floor(entity.posZ)) >> CELL_SHIFT);
+    }
+
+    /**
+     * Checks if an entity is in the tracked area, the colony and some padding around it.
+     */
+    private boolean isInArea(@NotNull final Entity entity)
+    {
+        final BlockPos center = colony.getCenter();
+        final double range = getAreaRange();
+        return Math.abs(entity.posX - center.getX()) <= range && Math.abs(entity.posZ - center.getZ()) <= range;
+    }
+
+    @NotNull
+    private AxisAlignedBB getArea()
+    {
+        final BlockPos center = colony.getCenter();
+        final double range = getAreaRange();
+        return new AxisAlignedBB(center.getX() - range, 0, center.getZ() - range, center.getX() + range, WORLD_HEIGHT, center.getZ() + range);
+    }
+
+    private static double getAreaRange()
+    {
+        return Configurations.workingRangeTownHall + Configurations.townHallPadding + TRACKING_PADDING;
+    }
+}
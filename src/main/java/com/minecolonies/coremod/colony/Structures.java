@@ -2,6 +2,7 @@ package com.minecolonies.coremod.colony;
 
 import com.minecolonies.coremod.lib.Constants;
 import com.minecolonies.coremod.util.Log;
+import com.minecolonies.structures.helpers.SchematicCache;
 import net.minecraft.block.Block;
 import net.minecraft.client.Minecraft;
 import net.minecraftforge.fml.common.FMLCommonHandler;
@@ -62,9 +63,11 @@ public final class Structures
      * Loads all styles saved in ["/assets/minecolonies/schematics/"].
      * Puts these in {@link #hutStyleMap}, with key being the name of the hutDec (E.G. Lumberjack).
      * and the value is a list of styles. Puts decorations in {@link #decorationStyleMap}.
+     * Drops the cached schematics, they might have changed on disk.
      */
     private static void loadStyleMaps()
     {
+        SchematicCache.clear();
         try
         {
             @NotNull final URI uri = ColonyManager.class.getResource(SCHEMATICS_ASSET_PATH).toURI();
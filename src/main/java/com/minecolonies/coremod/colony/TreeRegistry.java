@@ -0,0 +1,439 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.coremod.colony.jobs.JobLumberjack;
+import com.minecolonies.coremod.entity.ai.citizen.lumberjack.Tree;
+import com.minecolonies.coremod.util.BlockPosUtil;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Index of the trees around a colony, for the lumberjacks to pick from instead of searching the area every time.
+ * <p>
+ * A loaded chunk is scanned once, column by column from the surface down, the first time a lumberjack searches near
+ * it, afterwards the block changes of the colony keep it up to date. The journal only sees changes inside the colony,
+ * so chunks reaching out of it are scanned again once their scan is {@link #RESCAN_TIME} old. A tree is known by the
+ * lowest log of its trunk, the north west one for thick trunks, and can be reserved by one lumberjack at a time. Trees
+ * a lumberjack couldn't walk to are left out for {@link #UNREACHABLE_TIME}.
+ */
+public class TreeRegistry
+{
+    /**
+     * Bits to shift a block coordinate by to get the chunk coordinate.
+     */
+    private static final int CHUNK_SHIFT = 4;
+
+    /**
+     * The width of a chunk in blocks.
+     */
+    private static final int CHUNK_SIZE = 16;
+
+    /**
+     * Horizontal reach of a tree from its trunk, the area which has to be loaded to check it.
+     */
+    private static final int TREE_RADIUS = 8;
+
+    /**
+     * Ticks until a chunk which isn't entirely inside of the colony is scanned again.
+     */
+    private static final long RESCAN_TIME = 6000L;
+
+    /**
+     * Ticks a tree no lumberjack could walk to is left out.
+     */
+    private static final long UNREACHABLE_TIME = 24000L;
+
+    @NotNull
+    private final Colony                   colony;
+    @NotNull
+    private final Map<Long, Set<BlockPos>> treesByChunk = new HashMap<>();
+    @NotNull
+    private final Map<BlockPos, Integer>   reservations = new HashMap<>();
+    /**
+     * The time the scan of chunks outside of the journal runs out at.
+     */
+    @NotNull
+    private final Map<Long, Long>          rescanAt     = new HashMap<>();
+    /**
+     * The time unreachable trees may be picked again at.
+     */
+    @NotNull
+    private final Map<BlockPos, Long>      unreachable  = new HashMap<>();
+
+    /**
+     * Create the registry of a colony.
+     *
+     * @param colony the colony.
+     */
+    TreeRegistry(@NotNull final Colony colony)
+    {
+        this.colony = colony;
+    }
+
+    /**
+     * Scan the loaded chunks in range of a position which weren't scanned yet.
+     *
+     * @param center the center, usually the hut of the lumberjack.
+     * @param range  the range in blocks.
+     * @param budget the maximum number of chunks to scan.
+     * @return true if every loaded chunk in range is scanned.
+     */
+    public boolean scan(@NotNull final BlockPos center, final int range, final int budget)
+    {
+        final World world = colony.getWorld();
+        if (world == null)
+        {
+            return true;
+        }
+
+        int scanned = 0;
+        for (int chunkX = (center.getX() - range) >> CHUNK_SHIFT; chunkX <= (center.getX() + range) >> CHUNK_SHIFT; chunkX++)
+        {
+            for (int chunkZ = (center.getZ() - range) >> CHUNK_SHIFT; chunkZ <= (center.getZ() + range) >> CHUNK_SHIFT; chunkZ++)
+            {
+                if (isScanned(world, ChunkPos.asLong(chunkX, chunkZ))
+                      || !world.isBlockLoaded(new BlockPos(chunkX << CHUNK_SHIFT, 0, chunkZ << CHUNK_SHIFT)))
+                {
+                    continue;
+                }
+                if (scanned >= budget)
+                {
+                    return false;
+                }
+                scanChunk(world, chunkX, chunkZ);
+                scanned++;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a chunk has been scanned and its trees are still up to date.
+     */
+    private boolean isScanned(@NotNull final World world, final long chunk)
+    {
+        final Long expiry = rescanAt.get(chunk);
+        return treesByChunk.containsKey(chunk) && (expiry == null || world.getTotalWorldTime() < expiry);
+    }
+
+    /**
+     * Find the trees of a chunk, looking down each column until the ground.
+     */
+    private void scanChunk(@NotNull final World world, final int chunkX, final int chunkZ)
+    {
+        final Set<BlockPos> trees = new HashSet<>();
+        final long chunk = ChunkPos.asLong(chunkX, chunkZ);
+        treesByChunk.put(chunk, trees);
+        if (isInColony(world, chunkX, chunkZ))
+        {
+            rescanAt.remove(chunk);
+        }
+        else
+        {
+            rescanAt.put(chunk, world.getTotalWorldTime() + RESCAN_TIME);
+        }
+
+        for (int x = 0; x < CHUNK_SIZE; x++)
+        {
+            for (int z = 0; z < CHUNK_SIZE; z++)
+            {
+                BlockPos pos = world.getHeight(new BlockPos((chunkX << CHUNK_SHIFT) + x, 0, (chunkZ << CHUNK_SHIFT) + z));
+                while (pos.getY() > 0)
+                {
+                    pos = pos.down();
+                    final IBlockState state = world.getBlockState(pos);
+                    if (state.getBlock().isWood(world, pos))
+                    {
+                        final BlockPos base = getTrunkBottom(world, pos);
+                        if (isTreeBase(world, base))
+                        {
+                            trees.add(base);
+                        }
+                        break;
+                    }
+                    if (!state.getMaterial().equals(Material.LEAVES) && !state.getMaterial().isReplaceable())
+                    {
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if all of a chunk is inside of the colony, so that the journal sees all of its changes.
+     * The colony is a circle, if its corners are inside the whole chunk is.
+     */
+    private boolean isInColony(@NotNull final World world, final int chunkX, final int chunkZ)
+    {
+        final int minX = chunkX << CHUNK_SHIFT;
+        final int minZ = chunkZ << CHUNK_SHIFT;
+        final int maxX = minX + CHUNK_SIZE - 1;
+        final int maxZ = minZ + CHUNK_SIZE - 1;
+        return colony.isCoordInColony(world, new BlockPos(minX, 0, minZ))
+                 && colony.isCoordInColony(world, new BlockPos(maxX, 0, minZ))
+                 && colony.isCoordInColony(world, new BlockPos(minX, 0, maxZ))
+                 && colony.isCoordInColony(world, new BlockPos(maxX, 0, maxZ));
+    }
+
+    /**
+     * Update the trees at the changed positions.
+     * A changed log can create, move or remove the base of its own trunk, of the trunk below or of a thick trunk
+     * next to it.
+     *
+     * @param changes the block changes of the colony.
+     */
+    void onBlocksChanged(@NotNull final Collection<BlockChangeJournal.BlockChange> changes)
+    {
+        final World world = colony.getWorld();
+        if (world == null)
+        {
+            return;
+        }
+
+        for (final BlockChangeJournal.BlockChange change : changes)
+        {
+            final BlockPos pos = change.getPos();
+            //The old state isn't in the world anymore, so only the material tells if a log changed.
+            if (!treesByChunk.containsKey(getChunkKey(pos))
+                  || !(change.getOldState().getMaterial() == Material.WOOD || change.getNewState().getMaterial() == Material.WOOD))
+            {
+                continue;
+            }
+
+            update(world, pos);
+            update(world, pos.down());
+            update(world, pos.east());
+            update(world, pos.south());
+            update(world, pos.south().east());
+        }
+    }
+
+    /**
+     * Add or remove the trunk at a position depending on whether it is a tree now.
+     */
+    private void update(@NotNull final World world, @NotNull final BlockPos pos)
+    {
+        final Set<BlockPos> trees = treesByChunk.get(getChunkKey(pos));
+        if (trees == null || !world.isBlockLoaded(pos))
+        {
+            return;
+        }
+
+        final BlockPos base = getTrunkBottom(world, pos);
+        if (!base.equals(pos))
+        {
+            remove(trees, pos);
+        }
+        if (isTreeBase(world, base))
+        {
+            trees.add(base.toImmutable());
+        }
+        else
+        {
+            remove(trees, base);
+        }
+    }
+
+    /**
+     * Forget a tree and its reservation.
+     */
+    private void remove(@NotNull final Set<BlockPos> trees, @NotNull final BlockPos pos)
+    {
+        if (trees.remove(pos))
+        {
+            reservations.remove(pos);
+        }
+    }
+
+    /**
+     * Reserve the nearest free tree in range of a position, the trees of unloaded chunks are left out.
+     *
+     * @param center    the center, usually the hut of the lumberjack.
+     * @param range     the range in blocks.
+     * @param citizenId the id of the lumberjack.
+     * @return the base of the tree or null if there is none.
+     */
+    @Nullable
+    public BlockPos reserveNearestTree(@NotNull final BlockPos center, final int range, final int citizenId)
+    {
+        final World world = colony.getWorld();
+        if (world == null)
+        {
+            return null;
+        }
+
+        while (true)
+        {
+            final BlockPos nearest = findNearestTree(world, center, range, citizenId);
+            if (nearest == null)
+            {
+                return null;
+            }
+
+            //Blocks changed without a block update aren't in the journal.
+            if (isTreeBase(world, nearest))
+            {
+                reservations.put(nearest, citizenId);
+                return nearest;
+            }
+            remove(treesByChunk.get(getChunkKey(nearest)), nearest);
+        }
+    }
+
+    /**
+     * Finds the nearest known tree in range which isn't reserved by someone else.
+     */
+    @Nullable
+    private BlockPos findNearestTree(@NotNull final World world, @NotNull final BlockPos center, final int range, final int citizenId)
+    {
+        BlockPos nearest = null;
+        long nearestDistance = (long) range * range;
+        for (int chunkX = (center.getX() - range) >> CHUNK_SHIFT; chunkX <= (center.getX() + range) >> CHUNK_SHIFT; chunkX++)
+        {
+            for (int chunkZ = (center.getZ() - range) >> CHUNK_SHIFT; chunkZ <= (center.getZ() + range) >> CHUNK_SHIFT; chunkZ++)
+            {
+                final Set<BlockPos> trees = treesByChunk.get(ChunkPos.asLong(chunkX, chunkZ));
+                if (trees == null)
+                {
+                    continue;
+                }
+
+                for (final BlockPos tree : trees)
+                {
+                    final long distance = BlockPosUtil.getDistanceSquared2D(center, tree);
+                    if (distance <= nearestDistance
+                          && world.isAreaLoaded(tree, TREE_RADIUS)
+                          && !isReservedByOther(tree, citizenId)
+                          && !isUnreachable(world, tree))
+                    {
+                        nearest = tree;
+                        nearestDistance = distance;
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Reserve a certain tree, for example one a lumberjack was working on before the server restarted.
+     *
+     * @param tree      the base of the tree.
+     * @param citizenId the id of the lumberjack.
+     * @return false if another lumberjack has reserved it.
+     */
+    public boolean reserve(@NotNull final BlockPos tree, final int citizenId)
+    {
+        if (isReservedByOther(tree, citizenId))
+        {
+            return false;
+        }
+        reservations.put(tree.toImmutable(), citizenId);
+        return true;
+    }
+
+    /**
+     * Leave out a tree a lumberjack couldn't walk to for a while and release its reservation.
+     *
+     * @param tree the base of the tree.
+     */
+    public void markUnreachable(@NotNull final BlockPos tree)
+    {
+        final World world = colony.getWorld();
+        if (world == null)
+        {
+            return;
+        }
+
+        final long now = world.getTotalWorldTime();
+        unreachable.values().removeIf(expiry -> expiry <= now);
+        unreachable.put(tree.toImmutable(), now + UNREACHABLE_TIME);
+        reservations.remove(tree);
+    }
+
+    /**
+     * Checks if a lumberjack couldn't walk to a tree lately.
+     */
+    private boolean isUnreachable(@NotNull final World world, @NotNull final BlockPos tree)
+    {
+        final Long expiry = unreachable.get(tree);
+        return expiry != null && world.getTotalWorldTime() < expiry;
+    }
+
+    /**
+     * Release the trees reserved by a citizen, once it is done with its tree.
+     *
+     * @param citizenId the id of the lumberjack.
+     */
+    public void release(final int citizenId)
+    {
+        reservations.values().removeIf(id -> id == citizenId);
+    }
+
+    /**
+     * Checks if a tree is reserved by another lumberjack which is still working on a tree.
+     * Reservations of citizens which died or lost their job are dropped here.
+     */
+    private boolean isReservedByOther(@NotNull final BlockPos tree, final int citizenId)
+    {
+        final Integer owner = reservations.get(tree);
+        if (owner == null || owner == citizenId)
+        {
+            return false;
+        }
+
+        final CitizenData citizen = colony.getCitizen(owner);
+        final JobLumberjack job = citizen == null ? null : citizen.getJob(JobLumberjack.class);
+        if (job != null && job.tree != null)
+        {
+            return true;
+        }
+        reservations.remove(tree);
+        return false;
+    }
+
+    /**
+     * Checks if a position is the lowest, north west log of a tree.
+     */
+    private static boolean isTreeBase(@NotNull final World world, @NotNull final BlockPos pos)
+    {
+        return world.isAreaLoaded(pos, TREE_RADIUS)
+                 && isWood(world, pos)
+                 && !isWood(world, pos.down())
+                 && !isWood(world, pos.west())
+                 && !isWood(world, pos.north())
+                 && !isWood(world, pos.north().west())
+                 && Tree.checkTree(world, pos);
+    }
+
+    /**
+     * Follows a trunk down to its lowest log, returns the position itself if it isn't a log.
+     */
+    @NotNull
+    private static BlockPos getTrunkBottom(@NotNull final World world, @NotNull final BlockPos pos)
+    {
+        BlockPos bottom = pos;
+        while (bottom.getY() > 0 && isWood(world, bottom.down()))
+        {
+            bottom = bottom.down();
+        }
+        return bottom;
+    }
+
+    private static boolean isWood(@NotNull final World world, @NotNull final BlockPos pos)
+    {
+        return world.getBlockState(pos).getBlock().isWood(world, pos);
+    }
+
+    private static long getChunkKey(@NotNull final BlockPos pos)
+    {
+        return ChunkPos.asLong(pos.getX() >> CHUNK_SHIFT, pos.getZ() >> CHUNK_SHIFT);
+    }
+}
@@ -1,5 +1,6 @@
 package com.minecolonies.coremod.colony;
 
+import com.minecolonies.coremod.colony.jobs.JobBuilder;
 import com.minecolonies.coremod.colony.workorders.AbstractWorkOrder;
 import com.minecolonies.coremod.util.Log;
 import net.minecraft.nbt.NBTTagCompound;
@@ -9,31 +10,43 @@ import net.minecraftforge.fml.common.gameevent.TickEvent;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.*;
 
 /**
  * Handles work orders for a colony.
+ * <p>
+ * The unclaimed orders wait in a queue by priority and the builders of the colony are kept apart, both sides are
+ * matched on the next tick after either of them changed. Orders are checked for validity when a building is removed.
  */
 public class WorkManager
 {
-    private static final String TAG_WORK_ORDERS              = "workOrders";
-    //  Once a second
-    private static final int    WORK_ORDER_FULFILL_INCREMENT = 1 * 20;
+    private static final String                        TAG_WORK_ORDERS = "workOrders";
+    /**
+     * Orders the work orders from the highest priority down, the oldest first if the priority is the same.
+     */
+    private static final Comparator<AbstractWorkOrder> BY_PRIORITY     =
+      Comparator.comparingInt(AbstractWorkOrder::getPriority).reversed().thenComparingInt(AbstractWorkOrder::getID);
     /**
      * The Colony the workManager takes part of.
      */
     protected final Colony colony;
     @NotNull
-    private final Map<Integer, AbstractWorkOrder> workOrders     = new LinkedHashMap<>();
-    private       int                             topWorkOrderId = 0;
+    private final Map<Integer, AbstractWorkOrder>                                         workOrders       = new LinkedHashMap<>();
+    @NotNull
+    private final Map<Class<? extends AbstractWorkOrder>, Map<Integer, AbstractWorkOrder>> workOrdersByType = new HashMap<>();
+    @NotNull
+    private final NavigableSet<AbstractWorkOrder>                                         unclaimed        = new TreeSet<>(BY_PRIORITY);
+    @NotNull
+    private final Map<Integer, CitizenData>                                               builders         = new TreeMap<>();
+    private       int                                                                     topWorkOrderId   = 0;
     /**
      * Checks if there has been changes.
      */
-    private       boolean                         dirty          = false;
+    private       boolean                                                                 dirty            = false;
+    /**
+     * Whether the unclaimed orders or the builders changed since they were last matched.
+     */
+    private       boolean                                                                 matchPending     = false;
 
     /**
      * Constructor, saves reference to the colony.
@@ -62,10 +75,45 @@ public class WorkManager
      */
     public void removeWorkOrder(final int orderId)
     {
-        workOrders.remove(orderId);
+        final AbstractWorkOrder order = workOrders.remove(orderId);
+        if (order != null)
+        {
+            unclaimed.remove(order);
+            final Map<Integer, AbstractWorkOrder> ofType = workOrdersByType.get(order.getClass());
+            if (ofType != null)
+            {
+                ofType.remove(orderId);
+            }
+            dirty = true;
+        }
         colony.removeWorkOrder(orderId);
     }
 
+    /**
+     * Change the priority of a work order, moving it in the queue.
+     *
+     * @param orderId  ID of the order.
+     * @param priority the new priority.
+     */
+    public void setPriority(final int orderId, final int priority)
+    {
+        final AbstractWorkOrder order = workOrders.get(orderId);
+        if (order == null)
+        {
+            return;
+        }
+
+        //The queue is sorted by priority, take the order out while it changes.
+        final boolean queued = unclaimed.remove(order);
+        order.setPriority(priority);
+        if (queued)
+        {
+            unclaimed.add(order);
+            matchPending = true;
+        }
+        dirty = true;
+    }
+
     /**
      * Get a work order of the specified id, as a specific type.
      *
@@ -101,7 +149,7 @@ public class WorkManager
     }
 
     /**
-     * Get an unclaimed work order of a specified type.
+     * Get the unclaimed work order of a specified type with the highest priority.
      *
      * @param type the class of the type of work order to find.
      * @param <W>  the type of work order to return.
@@ -110,9 +158,9 @@ public class WorkManager
     @Nullable
     public <W extends AbstractWorkOrder> W getUnassignedWorkOrder(@NotNull final Class<W> type)
     {
-        for (@NotNull final AbstractWorkOrder o : workOrders.values())
+        for (@NotNull final AbstractWorkOrder o : unclaimed)
         {
-            if (!o.isClaimed() && type.isAssignableFrom(o.getClass()))
+            if (type.isAssignableFrom(o.getClass()))
             {
                 return type.cast(o);
             }
@@ -130,7 +178,18 @@ public class WorkManager
      */
     public <W extends AbstractWorkOrder> List<W> getWorkOrdersOfType(@NotNull final Class<W> type)
     {
-        return workOrders.values().stream().filter(o -> type.isAssignableFrom(o.getClass())).map(type::cast).collect(Collectors.toList());
+        final List<W> orders = new ArrayList<>();
+        for (final Map.Entry<Class<? extends AbstractWorkOrder>, Map<Integer, AbstractWorkOrder>> entry : workOrdersByType.entrySet())
+        {
+            if (type.isAssignableFrom(entry.getKey()))
+            {
+                for (final AbstractWorkOrder o : entry.getValue().values())
+                {
+                    orders.add(type.cast(o));
+                }
+            }
+        }
+        return orders;
     }
 
     /**
@@ -141,7 +200,18 @@ public class WorkManager
     @NotNull
     public Map<Integer, AbstractWorkOrder> getWorkOrders()
     {
-        return workOrders;
+        return Collections.unmodifiableMap(workOrders);
+    }
+
+    /**
+     * Get the builders of the colony, to fulfill the work orders.
+     *
+     * @return an unmodifiable collection of the citizens with a builder job, by id.
+     */
+    @NotNull
+    public Collection<CitizenData> getBuilders()
+    {
+        return Collections.unmodifiableCollection(builders.values());
     }
 
     /**
@@ -152,7 +222,60 @@ public class WorkManager
     public void clearWorkForCitizen(@NotNull final CitizenData citizen)
     {
         dirty = true;
-        workOrders.values().stream().filter(o -> o.isClaimedBy(citizen)).forEach(AbstractWorkOrder::clearClaimedBy);
+        for (final AbstractWorkOrder o : workOrders.values())
+        {
+            if (o.isClaimedBy(citizen))
+            {
+                o.clearClaimedBy();
+                o.resetChange();
+                unclaimed.add(o);
+                matchPending = true;
+            }
+        }
+        //The citizen may have left the colony or lost its job.
+        onJobChanged(citizen);
+    }
+
+    /**
+     * Keep track of the builders, called when the job of a citizen changed.
+     *
+     * @param citizen the citizen.
+     */
+    public void onJobChanged(@NotNull final CitizenData citizen)
+    {
+        if (citizen.getJob() instanceof JobBuilder && colony.getCitizen(citizen.getId()) == citizen)
+        {
+            builders.put(citizen.getId(), citizen);
+        }
+        else
+        {
+            builders.remove(citizen.getId());
+        }
+        matchPending = true;
+    }
+
+    /**
+     * Match the unclaimed orders again on the next tick, call when a builder becomes free or its hut changes level.
+     */
+    public void scheduleMatching()
+    {
+        matchPending = true;
+    }
+
+    /**
+     * Remove the work orders which became invalid, called when a building of the colony is removed.
+     */
+    public void onBuildingRemoved()
+    {
+        for (final AbstractWorkOrder o : new ArrayList<>(workOrders.values()))
+        {
+            if (!o.isValid(colony))
+            {
+                removeWorkOrder(o.getID());
+            }
+        }
+        //The town hall may build anything.
+        matchPending = true;
     }
 
     /**
@@ -188,8 +311,6 @@ public class WorkManager
             @Nullable final AbstractWorkOrder o = AbstractWorkOrder.createFromNBT(orderCompound);
             if (o != null)
             {
-                addWorkOrder(o);
-
                 //  If this Work Order is claimed, and the Citizen who claimed it no longer exists
                 //  then clear the Claimed status
                 //  This is just a failsafe cleanup; this should not happen under normal circumstances
@@ -198,6 +319,8 @@ public class WorkManager
                     o.clearClaimedBy();
                 }
 
+                addWorkOrder(o);
+
                 topWorkOrderId = Math.max(topWorkOrderId, o.getID());
             }
         }
@@ -219,39 +342,41 @@ public class WorkManager
         }
 
         workOrders.put(order.getID(), order);
+        workOrdersByType.computeIfAbsent(order.getClass(), type -> new LinkedHashMap<>()).put(order.getID(), order);
+        if (!order.isClaimed())
+        {
+            unclaimed.add(order);
+            matchPending = true;
+        }
     }
 
     /**
      * Process updates on the World Tick.
-     * Currently, does periodic Work Order cleanup.
+     * Offers the unclaimed Work Orders to the builders, highest priority first, if either side changed.
      *
      * @param event {@link net.minecraftforge.fml.common.gameevent.TickEvent.WorldTickEvent}.
      */
     public void onWorldTick(@NotNull final TickEvent.WorldTickEvent event)
     {
-        if (event.phase == TickEvent.Phase.END)
+        if (event.phase != TickEvent.Phase.END || !matchPending)
         {
-            @NotNull final Iterator<AbstractWorkOrder> iter = workOrders.values().iterator();
-            while (iter.hasNext())
+            return;
+        }
+        matchPending = false;
+
+        final Iterator<AbstractWorkOrder> iter = unclaimed.iterator();
+        while (iter.hasNext())
+        {
+            final AbstractWorkOrder o = iter.next();
+            o.attemptToFulfill(colony);
+            if (o.hasChanged())
             {
-                final AbstractWorkOrder o = iter.next();
-                if (!o.isValid(colony))
-                {
-                    iter.remove();
-                    dirty = true;
-                }
-                else if (o.hasChanged())
-                {
-                    dirty = true;
-                    o.resetChange();
-                }
+                dirty = true;
+                o.resetChange();
             }
-
-            if ((event.world.getWorldTime() % WORK_ORDER_FULFILL_INCREMENT) == 0)
+            if (o.isClaimed())
             {
-                workOrders.values().stream().filter(o -> !o.isClaimed())
-                  .sorted((first, second) -> second.getPriority() > first.getPriority() ? 1 : (second.getPriority() < first.getPriority() ? -1 : 0))
-                  .forEach(o -> o.attemptToFulfill(colony));
+                iter.remove();
             }
         }
     }
@@ -711,7 +711,9 @@ public abstract class AbstractBuilding
 
         buildingLevel = level;
         markDirty();
-        ColonyManager.markDirty();
+        getColony().getCitizenAllocator().markDirty();
+        getColony().getWorkManager().scheduleMatching();
+        ColonyManager.markDirty(getColony().getID());
     }
 
     /**
@@ -8,7 +8,6 @@ import com.minecolonies.coremod.entity.EntityCitizen;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.math.BlockPos;
-import net.minecraftforge.fml.common.gameevent.TickEvent;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -195,32 +194,6 @@ public abstract class AbstractBuildingWorker extends AbstractBuildingHut
         }
     }
 
-    /**
-     * @see AbstractBuilding#onUpgradeComplete(int)
-     */
-    @Override
-    public void onWorldTick(@NotNull final TickEvent.WorldTickEvent event)
-    {
-        super.onWorldTick(event);
-
-        if (event.phase != TickEvent.Phase.END)
-        {
-            return;
-        }
-
-        // If we have no active worker, grab one from the Colony
-        // TODO Maybe the Colony should assign jobs out, instead?
-        if (!hasWorker() && (getBuildingLevel() > 0 || this instanceof BuildingBuilder)
-              && !this.getColony().isManualHiring())
-        {
-            final CitizenData joblessCitizen = getColony().getJoblessCitizen();
-            if (joblessCitizen != null)
-            {
-                setWorker(joblessCitizen);
-            }
-        }
-    }
-
     @Override
     public void serializeToView(@NotNull final ByteBuf buf)
     {
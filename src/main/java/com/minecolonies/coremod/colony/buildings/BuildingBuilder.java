@@ -8,6 +8,7 @@ import com.minecolonies.coremod.colony.Colony;
 import com.minecolonies.coremod.colony.ColonyView;
 import com.minecolonies.coremod.colony.jobs.AbstractJob;
 import com.minecolonies.coremod.colony.jobs.JobBuilder;
+import com.minecolonies.coremod.entity.ai.util.MaterialCalculation;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
@@ -18,9 +19,11 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.common.util.Constants;
 import net.minecraftforge.fml.common.network.ByteBufUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * The builders building.
@@ -47,6 +50,12 @@ public class BuildingBuilder extends AbstractBuildingWorker
      */
     private HashMap<Block, Integer> neededResources = new HashMap<>();
 
+    /**
+     * The calculation of the needed resources of the current build, null if there is none.
+     */
+    @Nullable
+    private MaterialCalculation materialCalculation;
+
     /**
      * Public constructor of the building, creates an object of the building.
      *
@@ -171,6 +180,7 @@ public class BuildingBuilder extends AbstractBuildingWorker
             ByteBufUtils.writeUTF8String(buf, entry.getKey().getLocalizedName());
             buf.writeInt(entry.getValue());
         }
+        buf.writeInt(materialCalculation == null ? 0 : materialCalculation.getProgress());
     }
 
     /**
@@ -226,20 +236,74 @@ public class BuildingBuilder extends AbstractBuildingWorker
     }
 
     /**
-     * Resets the needed resources completely.
+     * Resets the needed resources completely, dropping their calculation.
      */
     public void resetNeededResources()
     {
         neededResources = new HashMap<>();
+        materialCalculation = null;
         this.markDirty();
     }
 
+    /**
+     * Get the calculation of the needed resources of the current build.
+     *
+     * @return the calculation or null if there is none.
+     */
+    @Nullable
+    public MaterialCalculation getMaterialCalculation()
+    {
+        return materialCalculation;
+    }
+
+    /**
+     * Start calculating the needed resources of a new build, replacing the current ones.
+     *
+     * @param calculation the calculation.
+     */
+    public void startMaterialCalculation(@NotNull final MaterialCalculation calculation)
+    {
+        resetNeededResources();
+        materialCalculation = calculation;
+    }
+
+    /**
+     * Continue the calculation of the needed resources.
+     * Once it is done, its result replaces the needed resources.
+     *
+     * @param budget the maximum number of blocks to check.
+     * @param isFree whether a block can be built without resources.
+     * @return true if there is no calculation running anymore.
+     */
+    public boolean continueMaterialCalculation(final int budget, @NotNull final Predicate<Block> isFree)
+    {
+        if (materialCalculation == null || materialCalculation.isDone())
+        {
+            return true;
+        }
+
+        final int progress = materialCalculation.getProgress();
+        if (materialCalculation.calculate(budget, isFree))
+        {
+            neededResources = new HashMap<>(materialCalculation.getMaterials());
+            this.markDirty();
+            return true;
+        }
+
+        if (materialCalculation.getProgress() != progress)
+        {
+            this.markDirty();
+        }
+        return false;
+    }
+
     /**
      * Provides a view of the builder building class.
      */
     public static class View extends AbstractBuildingWorker.View
     {
         private HashMap<String, Integer> neededResources;
+        private int                      calculationProgress;
 
         /**
          * Public constructor of the view, creates an instance of it.
@@ -278,6 +342,7 @@ public class BuildingBuilder extends AbstractBuildingWorker
                 final int amount = buf.readInt();
                 neededResources.put(block, amount);
             }
+            calculationProgress = buf.readInt();
         }
 
         /**
@@ -290,6 +355,16 @@ public class BuildingBuilder extends AbstractBuildingWorker
             return new HashMap<>(neededResources);
         }
 
+        /**
+         * Getter for the progress of the resource calculation.
+         *
+         * @return the checked part of the structure in percent, 0 if nothing is calculated.
+         */
+        public int getCalculationProgress()
+        {
+            return calculationProgress;
+        }
+
         @NotNull
         @Override
         public Skill getPrimarySkill()
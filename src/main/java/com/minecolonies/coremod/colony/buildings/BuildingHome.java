@@ -9,7 +9,6 @@ import com.minecolonies.coremod.colony.ColonyView;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.math.BlockPos;
-import net.minecraftforge.fml.common.gameevent.TickEvent;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
@@ -100,59 +99,19 @@ public class BuildingHome extends AbstractBuildingHut
         }
     }
 
-    @Override
-    public void onWorldTick(@NotNull final TickEvent.WorldTickEvent event)
-    {
-        if (event.phase != TickEvent.Phase.END)
-        {
-            return;
-        }
-
-        if (residents.size() < getMaxInhabitants())
-        {
-            // 'Capture' as many citizens into this house as possible
-            addHomelessCitizens();
-        }
-    }
-
     @Override
     public int getMaxInhabitants()
     {
         return getBuildingLevel();
     }
 
-    /**
-     * Looks for a homeless citizen to add to the current building Calls.
-     * {@link #addResident(CitizenData)}
-     */
-    private void addHomelessCitizens()
-    {
-        for (@NotNull final CitizenData citizen : getColony().getCitizens().values())
-        {
-            // Move the citizen to a better hut
-            if (citizen.getHomeBuilding() != null && citizen.getHomeBuilding().getBuildingLevel() < this.getBuildingLevel())
-            {
-                // The citizen can move to this hut to improve conditions
-                citizen.getHomeBuilding().removeCitizen(citizen);
-            }
-            if (citizen.getHomeBuilding() == null)
-            {
-                addResident(citizen);
-
-                if (residents.size() >= getMaxInhabitants())
-                {
-                    break;
-                }
-            }
-        }
-    }
-
     /**
      * Adds the citizen to the building.
+     * The {@link com.minecolonies.coremod.colony.CitizenAllocator} decides who lives where.
      *
      * @param citizen Citizen to add.
      */
-    private void addResident(@NotNull final CitizenData citizen)
+    public void addResident(@NotNull final CitizenData citizen)
     {
         residents.add(citizen);
         citizen.setHomeBuilding(this);
@@ -200,6 +159,17 @@ public class BuildingHome extends AbstractBuildingHut
         getColony().calculateMaxCitizens();
     }
 
+    /**
+     * Returns the citizens living here.
+     *
+     * @return an unmodifiable list of the residents.
+     */
+    @NotNull
+    public List<CitizenData> getResidents()
+    {
+        return Collections.unmodifiableList(residents);
+    }
+
     /**
      * Returns whether the citizen has this as home or not.
      *
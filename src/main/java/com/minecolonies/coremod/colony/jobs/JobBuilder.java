@@ -162,6 +162,7 @@ public class JobBuilder extends AbstractJobStructure
         {
             workOrderId = 0;
             resetNeededItems();
+            getColony().getWorkManager().scheduleMatching();
         }
         else
         {
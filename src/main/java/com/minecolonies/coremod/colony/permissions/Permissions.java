@@ -1,6 +1,7 @@
 package com.minecolonies.coremod.colony.permissions;
 
 import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.colony.ColonyManager;
 import com.minecolonies.coremod.network.PacketUtils;
 import com.minecolonies.coremod.util.AchievementUtils;
 import com.minecolonies.coremod.util.Utils;
@@ -508,6 +509,7 @@ public class Permissions implements IPermissions
         {
             player.rank = rank;
             markDirty();
+            ColonyManager.onPermissionsChanged(colony);
             AchievementUtils.syncAchievements(colony);
         }
         else
@@ -534,6 +536,7 @@ public class Permissions implements IPermissions
         players.put(p.id, p);
 
         markDirty();
+        ColonyManager.onPermissionsChanged(colony);
         AchievementUtils.syncAchievements(colony);
         return true;
     }
@@ -570,6 +573,7 @@ public class Permissions implements IPermissions
         if (player != null && player.getRank() != Rank.OWNER && players.remove(id) != null)
         {
             markDirty();
+            ColonyManager.onPermissionsChanged(colony);
             return true;
         }
 
@@ -141,7 +141,7 @@ public class WorkOrderBuild extends AbstractWorkOrder
      * Attempt to fulfill the Work Order.
      * Override this with an implementation for the Work Order to find a Citizen to perform the job
      * <p>
-     * finds the first suitable builder for this job.
+     * finds the free suitable builder whose hut is closest to the building.
      *
      * @param colony The colony that owns the Work Order.
      */
@@ -150,12 +150,14 @@ public class WorkOrderBuild extends AbstractWorkOrder
     {
         boolean sendMessage = true;
         boolean hasBuilder = false;
+        CitizenData nearest = null;
+        long nearestDistance = Long.MAX_VALUE;
 
-        for (@NotNull final CitizenData citizen : colony.getCitizens().values())
+        for (@NotNull final CitizenData citizen : colony.getWorkManager().getBuilders())
         {
             final JobBuilder job = citizen.getJob(JobBuilder.class);
 
-            if (job == null)
+            if (job == null || citizen.getWorkBuilding() == null)
             {
                 continue;
             }
@@ -181,12 +183,22 @@ public class WorkOrderBuild extends AbstractWorkOrder
             //  - OR the WorkOrder is for the TownHall
             if (canBuildHut(builderLevel, citizen, colony))
             {
-                job.setWorkOrder(this);
-                this.setClaimedBy(citizen);
-                return;
+                final long distance = BlockPosUtil.getDistanceSquared(citizen.getWorkBuilding().getLocation(), buildingLocation);
+                if (distance < nearestDistance)
+                {
+                    nearest = citizen;
+                    nearestDistance = distance;
+                }
             }
         }
 
+        if (nearest != null)
+        {
+            nearest.getJob(JobBuilder.class).setWorkOrder(this);
+            this.setClaimedBy(nearest);
+            return;
+        }
+
         sendBuilderMessage(colony, hasBuilder, sendMessage);
     }
 
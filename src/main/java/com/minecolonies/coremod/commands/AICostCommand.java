@@ -0,0 +1,121 @@
+package com.minecolonies.coremod.commands;
+
+import com.minecolonies.coremod.colony.CitizenData;
+import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.colony.ColonyManager;
+import com.minecolonies.coremod.entity.EntityCitizen;
+import com.minecolonies.coremod.entity.ai.basic.AbstractAISkeleton;
+import com.minecolonies.coremod.entity.ai.util.AIState;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Show the time the job ai of each citizen of a colony spent in its states, to find the ai which slow down the server.
+ */
+public class AICostCommand extends AbstractSingleCommand
+{
+
+    public static final  String DESC                    = "aicost";
+    private static final String CITIZEN_TEXT            = "§2ID: §f%d §2Name: §f%s §2State: §f%s §2Total: §f%.2fms";
+    private static final String STATE_TEXT              = "  §2%s: §f%.2fms §2in §f%d §2ticks, §f%.1fµs §2per tick";
+    private static final String NO_COLONY_FOUND_MESSAGE = "No colony found for id: %d.";
+    private static final String NO_AI_MESSAGE           = "No citizen of colony %d is running a job ai.";
+    private static final int    STATES_SHOWN            = 3;
+    private static final double NANOS_PER_MILLI         = 1_000_000D;
+    private static final double NANOS_PER_MICRO         = 1_000D;
+
+    /**
+     * Initialize this SubCommand with it's parents.
+     *
+     * @param parents an array of all the parents.
+     */
+    public AICostCommand(@NotNull final String... parents)
+    {
+        super(parents);
+    }
+
+    @NotNull
+    @Override
+    public String getCommandUsage(@NotNull final ICommandSender sender)
+    {
+        return super.getCommandUsage(sender) + "<ColonyId>";
+    }
+
+    @Override
+    public void execute(@NotNull final MinecraftServer server, @NotNull final ICommandSender sender, @NotNull final String... args) throws CommandException
+    {
+        final int colonyId = getIthArgument(args, 0, -1);
+        final Colony colony = ColonyManager.getColony(colonyId);
+        if (colony == null)
+        {
+            sender.addChatMessage(new TextComponentString(String.format(NO_COLONY_FOUND_MESSAGE, colonyId)));
+            return;
+        }
+
+        boolean found = false;
+        for (@NotNull final CitizenData citizen : colony.getCitizens().values())
+        {
+            final EntityCitizen entity = citizen.getCitizenEntity();
+            final AbstractAISkeleton<?> ai = entity == null ? null : entity.getJobAI();
+            if (ai == null)
+            {
+                continue;
+            }
+            found = true;
+
+            final List<AIState> states = new ArrayList<>();
+            long totalNanos = 0;
+            for (@NotNull final AIState state : AIState.values())
+            {
+                if (ai.getStateTicks(state) > 0)
+                {
+                    states.add(state);
+                    totalNanos += ai.getStateNanos(state);
+                }
+            }
+            states.sort(Comparator.comparingLong(ai::getStateNanos).reversed());
+
+            sender.addChatMessage(new TextComponentString(String.format(CITIZEN_TEXT,
+              citizen.getId(), citizen.getName(), ai.getState(), totalNanos / NANOS_PER_MILLI)));
+            for (@NotNull final AIState state : states.subList(0, Math.min(STATES_SHOWN, states.size())))
+            {
+                final long nanos = ai.getStateNanos(state);
+                final long ticks = ai.getStateTicks(state);
+                sender.addChatMessage(new TextComponentString(String.format(STATE_TEXT,
+                  state, nanos / NANOS_PER_MILLI, ticks, nanos / NANOS_PER_MICRO / ticks)));
+            }
+        }
+
+        if (!found)
+        {
+            sender.addChatMessage(new TextComponentString(String.format(NO_AI_MESSAGE, colonyId)));
+        }
+    }
+
+    @NotNull
+    @Override
+    public List<String> getTabCompletionOptions(
+                                                 @NotNull final MinecraftServer server,
+                                                 @NotNull final ICommandSender sender,
+                                                 @NotNull final String[] args,
+                                                 @Nullable final BlockPos pos)
+    {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isUsernameIndex(@NotNull final String[] args, final int index)
+    {
+        return false;
+    }
+}
@@ -19,6 +19,8 @@ public class MinecoloniesCommand extends AbstractSplitCommand
         .put(ColoniesCommand.DESC, new ColoniesCommand(DESC))
         .put(ColonyCommand.DESC, new ColonyCommand(DESC))
         .put(CitizensCommand.DESC, new CitizensCommand(DESC))
+        .put(PathfindingCommand.DESC, new PathfindingCommand(DESC, PathfindingCommand.DESC))
+        .put(AICostCommand.DESC, new AICostCommand(DESC, AICostCommand.DESC))
         .build();
 
     /**
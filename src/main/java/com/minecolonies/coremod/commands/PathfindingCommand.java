@@ -0,0 +1,77 @@
+package com.minecolonies.coremod.commands;
+
+import com.minecolonies.coremod.entity.pathfinding.Pathfinding;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Show the queue and latency metrics of the pathfinding workers.
+ */
+public class PathfindingCommand extends AbstractSingleCommand
+{
+
+    public static final  String DESC           = "pathfinding";
+    private static final String WORKERS_TEXT   = "§2Workers: §f%d §2Active: §f%d §2Queued: §f%d";
+    private static final String JOBS_TEXT      = "§2Submitted: §f%d §2Completed: §f%d §2Rejected: §f%d";
+    private static final String LATENCY_TEXT   = "§2Avg wait: §f%.2fms §2Max wait: §f%.2fms §2Avg run: §f%.2fms";
+    private static final String COLONY_TEXT    = "§2Queued for colony %d: §f%d";
+
+    /**
+     * Initialize this SubCommand with it's parents.
+     *
+     * @param parents an array of all the parents.
+     */
+    public PathfindingCommand(@NotNull final String... parents)
+    {
+        super(parents);
+    }
+
+    @NotNull
+    @Override
+    public String getCommandUsage(@NotNull final ICommandSender sender)
+    {
+        return super.getCommandUsage(sender) + "[ColonyId]";
+    }
+
+    @Override
+    public void execute(@NotNull final MinecraftServer server, @NotNull final ICommandSender sender, @NotNull final String... args) throws CommandException
+    {
+        sender.addChatMessage(new TextComponentString(String.format(WORKERS_TEXT,
+          Pathfinding.getWorkerCount(), Pathfinding.getActiveJobs(), Pathfinding.getQueueDepth())));
+        sender.addChatMessage(new TextComponentString(String.format(JOBS_TEXT,
+          Pathfinding.getSubmittedJobs(), Pathfinding.getCompletedJobs(), Pathfinding.getRejectedJobs())));
+        sender.addChatMessage(new TextComponentString(String.format(LATENCY_TEXT,
+          Pathfinding.getAverageWaitMillis(), Pathfinding.getMaxWaitMillis(), Pathfinding.getAverageRunMillis())));
+
+        final int colonyId = getIthArgument(args, 0, -1);
+        if (colonyId != -1)
+        {
+            sender.addChatMessage(new TextComponentString(String.format(COLONY_TEXT, colonyId, Pathfinding.getQueuedJobs(colonyId))));
+        }
+    }
+
+    @NotNull
+    @Override
+    public List<String> getTabCompletionOptions(
+                                                 @NotNull final MinecraftServer server,
+                                                 @NotNull final ICommandSender sender,
+                                                 @NotNull final String[] args,
+                                                 @Nullable final BlockPos pos)
+    {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isUsernameIndex(@NotNull final String[] args, final int index)
+    {
+        return false;
+    }
+}
@@ -55,7 +55,11 @@ public final class ConfigurationHandler
             alwaysRenderNameTag = config.get(CATEGORY_GAMEPLAY, "alwaysRenderNameTag", alwaysRenderNameTag, "Always render Citizen's name tag?").getBoolean();
             maxBlocksCheckedByBuilder =
               config.get(CATEGORY_GAMEPLAY, "maxBlocksCheckedByBuilder", maxBlocksCheckedByBuilder, "Limits the number of checked blocks per builder update").getInt();
+            builderMaterialChecksPerTick = config.get(CATEGORY_GAMEPLAY, "builderMaterialChecksPerTick", builderMaterialChecksPerTick,
+              "Number of blocks checked per tick when a builder calculates the resources of a build").getInt();
             chatFrequency = config.get(CATEGORY_GAMEPLAY, "chatFrequency", chatFrequency, "Chat Frequency (seconds)").getInt();
+            colonySaveInterval = config.get(CATEGORY_GAMEPLAY, "colonySaveInterval", colonySaveInterval,
+              "Minimum time between two saves of a changed colony, changes in between are written together (seconds)").getInt();
 
             enableInDevelopmentFeatures = config.get(CATEGORY_GAMEPLAY, "development", enableInDevelopmentFeatures,
               "Display in-development features which do not work and may break your game").getBoolean();
@@ -64,6 +68,8 @@ public final class ConfigurationHandler
             pathfindingDebugVerbosity = config.get(CATEGORY_PATHFINDING, "debugVerbosity", pathfindingDebugVerbosity,
               "Debug output verbosity of pathfinding (0=none, 1=results, 2=live work)").getInt();
             pathfindingMaxThreadCount = config.get(CATEGORY_PATHFINDING, "maxThreads", pathfindingMaxThreadCount, "Maximum number of threads to use for pathfinding.").getInt();
+            pathfindingMaxQueueSize = config.get(CATEGORY_PATHFINDING, "maxQueueSize", pathfindingMaxQueueSize,
+              "Maximum number of queued pathfinding jobs, urgent jobs (like guards chasing mobs) are always accepted.").getInt();
 
             maleFirstNames = config.get(CATEGORY_NAMES, "maleFirstNames", maleFirstNames, "Male First Names").getStringList();
             femaleFirstNames = config.get(CATEGORY_NAMES, "femaleFirstNames", femaleFirstNames, "Female First Names").getStringList();
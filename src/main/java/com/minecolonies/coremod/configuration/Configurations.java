@@ -23,13 +23,16 @@ public class Configurations
 
     //TODO change count to agreed upon value, possibly remove if we think this shouldn't be a problem
     public static int maxBlocksCheckedByBuilder = 1000;
+    public static int builderMaterialChecksPerTick = 500;
     public static int chatFrequency             = 30;
+    public static int colonySaveInterval        = 10;
 
     public static boolean enableInDevelopmentFeatures = false;
 
     public static boolean pathfindingDebugDraw      = false;
     public static int     pathfindingDebugVerbosity = 0;
     public static int     pathfindingMaxThreadCount = 2;
+    public static int     pathfindingMaxQueueSize   = 512;
 
     public static String[] maleFirstNames = new String[]
                                               {
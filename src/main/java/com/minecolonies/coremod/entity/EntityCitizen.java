@@ -9,6 +9,7 @@ import com.minecolonies.coremod.colony.buildings.BuildingHome;
 import com.minecolonies.coremod.colony.jobs.AbstractJob;
 import com.minecolonies.coremod.colony.jobs.JobGuard;
 import com.minecolonies.coremod.configuration.Configurations;
+import com.minecolonies.coremod.entity.ai.basic.AbstractAISkeleton;
 import com.minecolonies.coremod.entity.ai.basic.AbstractEntityAIInteract;
 import com.minecolonies.coremod.entity.ai.minimal.*;
 import com.minecolonies.coremod.entity.pathfinding.PathNavigate;
@@ -311,14 +312,7 @@ public class EntityCitizen extends EntityAgeable implements INpc
 
 
         //  AI Tasks
-        @NotNull final Object[] currentTasks = this.tasks.taskEntries.toArray();
-        for (@NotNull final Object task : currentTasks)
-        {
-            if (((EntityAITasks.EntityAITaskEntry) task).action instanceof AbstractEntityAIInteract)
-            {
-                this.tasks.removeTask(((EntityAITasks.EntityAITaskEntry) task).action);
-            }
-        }
+        removeJobTasks();
 
         if (job != null)
         {
@@ -586,6 +580,41 @@ public class EntityCitizen extends EntityAgeable implements INpc
         return result;
     }
 
+    /**
+     * Get the ai of the job of the citizen, to look at its state and costs.
+     *
+     * @return the ai or null if the citizen has no job with an ai.
+     */
+    @Nullable
+    public AbstractAISkeleton<?> getJobAI()
+    {
+        for (@NotNull final EntityAITasks.EntityAITaskEntry task : this.tasks.taskEntries)
+        {
+            if (task.action instanceof AbstractAISkeleton)
+            {
+                return (AbstractAISkeleton<?>) task.action;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes the ai tasks of the job and lets them release what they registered.
+     */
+    private void removeJobTasks()
+    {
+        @NotNull final Object[] currentTasks = this.tasks.taskEntries.toArray();
+        for (@NotNull final Object task : currentTasks)
+        {
+            final EntityAIBase action = ((EntityAITasks.EntityAITaskEntry) task).action;
+            if (action instanceof AbstractEntityAIInteract)
+            {
+                this.tasks.removeTask(action);
+                ((AbstractEntityAIInteract) action).onRemoved();
+            }
+        }
+    }
+
     /**
      * Called when the mob's health reaches 0.
      *
@@ -596,6 +625,7 @@ public class EntityCitizen extends EntityAgeable implements INpc
     {
         dropExperience();
         this.setDead();
+        removeJobTasks();
 
         if (colony != null)
         {
@@ -12,6 +12,9 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 import static com.minecolonies.coremod.entity.EntityCitizen.Status.IDLE;
 
@@ -28,19 +31,40 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
 
     private static final int MUTEX_MASK = 3;
     @NotNull
-    protected final J                   job;
+    protected final J                        job;
     @NotNull
-    protected final EntityCitizen       worker;
-    protected final World               world;
+    protected final EntityCitizen            worker;
+    protected final World                    world;
     @NotNull
-    protected final ChatSpamFilter      chatSpamFilter;
+    protected final ChatSpamFilter           chatSpamFilter;
     @NotNull
-    private final   ArrayList<AITarget> targetList;
+    private final   ArrayList<AITarget>      targetList;
+    /**
+     * The targets to check in each state, the global targets merged with the ones of the state in registration order.
+     * States without targets of their own only check the global targets.
+     * Built on the first tick after a registration.
+     */
+    @NotNull
+    private final   Map<AIState, AITarget[]> targetsByState = new EnumMap<>(AIState.class);
+    @NotNull
+    private         AITarget[]               globalTargets  = new AITarget[0];
+    private         boolean                  targetsChanged;
+    /**
+     * Ticks this ai ran, for the targets which are only checked every few ticks.
+     */
+    private         int                      tickCounter;
+    /**
+     * Nanoseconds spent and ticks run in each state, indexed by the ordinal of the state.
+     */
+    @NotNull
+    private final   long[]                   stateNanos     = new long[AIState.values().length];
+    @NotNull
+    private final   long[]                   stateTicks     = new long[AIState.values().length];
     /**
      * The current state the ai is in.
      * Used to compare to state matching targets.
      */
-    private         AIState             state;
+    private         AIState                  state;
 
     /**
      * Sets up some important skeleton stuff for every ai.
@@ -67,6 +91,7 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
     private void registerTarget(final AITarget target)
     {
         targetList.add(target);
+        targetsChanged = true;
     }
 
     /**
@@ -120,13 +145,67 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
         worker.setStatus(IDLE);
     }
 
+    /**
+     * Called when the ai is taken from its citizen, because the job changed or the citizen died.
+     * Release everything the ai registered outside of itself here.
+     */
+    public void onRemoved()
+    {
+        //  Nothing registered by default.
+    }
+
     /**
      * Updates the task.
      */
     @Override
     public final void updateTask()
     {
-        targetList.stream().anyMatch(this::checkOnTarget);
+        if (targetsChanged)
+        {
+            buildDispatchTable();
+        }
+
+        final AIState tickState = state;
+        final long start = System.nanoTime();
+        final AITarget[] targets = targetsByState.getOrDefault(tickState, globalTargets);
+        for (final AITarget target : targets)
+        {
+            if (tickCounter % target.getTickRate() == 0 && checkOnTarget(target))
+            {
+                break;
+            }
+        }
+        tickCounter++;
+
+        stateNanos[tickState.ordinal()] += System.nanoTime() - start;
+        stateTicks[tickState.ordinal()]++;
+    }
+
+    /**
+     * Sort the registered targets by the state they match on.
+     */
+    private void buildDispatchTable()
+    {
+        final List<AITarget> global = new ArrayList<>();
+        final Map<AIState, List<AITarget>> byState = new EnumMap<>(AIState.class);
+        for (final AITarget target : targetList)
+        {
+            if (target.getState() == null)
+            {
+                global.add(target);
+                byState.values().forEach(targets -> targets.add(target));
+            }
+            else
+            {
+                //A new state starts with the global targets registered before its first target.
+                byState.computeIfAbsent(target.getState(), key -> new ArrayList<>(global)).add(target);
+            }
+        }
+
+        globalTargets = global.toArray(new AITarget[global.size()]);
+        targetsByState.clear();
+        byState.forEach((key, targets) -> targetsByState.put(key, targets.toArray(new AITarget[targets.size()])));
+        targetsChanged = false;
     }
 
     /**
@@ -144,8 +223,8 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
 
     /**
      * Checks on one target to see if it has to be executed.
-     * It first checks for the state of the ai.
-     * If that matches it tests the predicate if the ai
+     * The dispatch table only hands in targets matching the state of the ai.
+     * It tests the predicate if the ai
      * wants to run the target.
      * And if that's a yes, runs the target.
      * Tester and target are both error-checked
@@ -156,10 +235,6 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
      */
     private boolean checkOnTarget(@NotNull final AITarget target)
     {
-        if (state != target.getState() && target.getState() != null)
-        {
-            return false;
-        }
         try
         {
             if (!target.test())
@@ -216,6 +291,28 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
         return false;
     }
 
+    /**
+     * Get the time this ai spent in a state, to find the ai which slow down the server.
+     *
+     * @param aiState the state.
+     * @return the total time in nanoseconds.
+     */
+    public final long getStateNanos(@NotNull final AIState aiState)
+    {
+        return stateNanos[aiState.ordinal()];
+    }
+
+    /**
+     * Get the number of ticks this ai ran in a state.
+     *
+     * @param aiState the state.
+     * @return the number of ticks.
+     */
+    public final long getStateTicks(@NotNull final AIState aiState)
+    {
+        return stateTicks[aiState.ordinal()];
+    }
+
     /**
      * Get the current state the ai is in.
      *
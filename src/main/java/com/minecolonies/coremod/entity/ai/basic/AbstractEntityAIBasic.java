@@ -7,8 +7,10 @@ import com.minecolonies.coremod.entity.ai.util.AIState;
 import com.minecolonies.coremod.entity.ai.util.AITarget;
 import com.minecolonies.coremod.entity.pathfinding.WalkToProxy;
 import com.minecolonies.coremod.inventory.InventoryCitizen;
+import com.minecolonies.coremod.inventory.InventoryIndex;
 import com.minecolonies.coremod.util.*;
 import net.minecraft.block.Block;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.math.BlockPos;
 import org.jetbrains.annotations.NotNull;
@@ -16,6 +18,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 import static com.minecolonies.coremod.entity.ai.util.AIState.*;
 
@@ -44,6 +47,10 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
      * Hit a block every x ticks when mining.
      */
     private static final int             HIT_EVERY_X_TICKS       = 5;
+    /**
+     * Check if the inventory has to be dumped every x ticks, the check walks the whole inventory.
+     */
+    private static final int             DUMP_CHECK_TICK_RATE    = 10;
     /**
      * The list of all items and their quantity that were requested by the worker.
      * Warning: This list does not change, if you need to see what is currently missing,
@@ -173,7 +180,7 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
                 /*
                  * Check if inventory has to be dumped.
                  */
-          new AITarget(this::inventoryNeedsDump, INVENTORY_FULL)
+          new AITarget(this::inventoryNeedsDump, INVENTORY_FULL, DUMP_CHECK_TICK_RATE)
         );
     }
 
@@ -377,7 +384,12 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
     {
         job.clearItemsNeeded();
         itemsNeeded.forEach(job::addItemNeeded);
-        InventoryUtils.getInventoryAsList(worker.getInventoryCitizen()).forEach(job::removeItemNeeded);
+
+        //Only the stacks of needed items can take something off the list.
+        final Set<Item> neededItems = new HashSet<>();
+        job.getItemsNeeded().forEach(stack -> neededItems.add(stack.getItem()));
+        final InventoryIndex index = worker.getInventoryCitizen().getItemIndex();
+        neededItems.forEach(item -> index.getStacks(item).forEach(job::removeItemNeeded));
         itemsCurrentlyNeeded = new ArrayList<>(job.getItemsNeeded());
     }
 
@@ -406,15 +418,30 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
      */
     public boolean isInHut(@Nullable final ItemStack is)
     {
-        @Nullable final AbstractBuildingWorker buildingMiner = getOwnBuilding();
-        return buildingMiner != null
-                 && is != null
-                 && InventoryFunctions
-                      .matchFirstInInventory(
-                        buildingMiner.getTileEntity(),
-                        stack -> stack != null && is.isItemEqual(stack),
-                        this::takeItemStackFromChest
-                      );
+        return is != null && takeFromHut(index -> index.findFirstSlot(is.getItem(), is::isItemEqual));
+    }
+
+    /**
+     * Takes the stack in the slot of the building chest which a lookup in the index of the chest found.
+     *
+     * @param lookup finds the slot in the index, -1 if there is none.
+     * @return true if a slot was found.
+     */
+    private boolean takeFromHut(@NotNull final ToIntFunction<InventoryIndex> lookup)
+    {
+        @Nullable final AbstractBuildingWorker ownBuilding = getOwnBuilding();
+        if (ownBuilding == null || ownBuilding.getTileEntity() == null)
+        {
+            return false;
+        }
+
+        final int slot = lookup.applyAsInt(ownBuilding.getTileEntity().getItemIndex());
+        if (slot < 0)
+        {
+            return false;
+        }
+        takeItemStackFromChest(slot);
+        return true;
     }
 
     /**
@@ -527,12 +554,7 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
      */
     private boolean checkForTool(@NotNull String tool)
     {
-        final boolean needsTool = !InventoryFunctions
-                                     .matchFirstInInventory(
-                                       worker.getInventoryCitizen(),
-                                       stack -> Utils.isTool(stack, tool),
-                                       InventoryFunctions::doNothing
-                                     );
+        final boolean needsTool = worker.getInventoryCitizen().getItemIndex().findFirstToolSlot(tool, stack -> Utils.isTool(stack, tool)) < 0;
 
         final int hutLevel = worker.getWorkBuilding().getBuildingLevel();
         final InventoryCitizen inventory = worker.getInventoryCitizen();
@@ -558,13 +580,7 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
 
     private boolean isToolInHut(final String tool)
     {
-        @Nullable final AbstractBuildingWorker buildingWorker = getOwnBuilding();
-        return buildingWorker != null
-                 && InventoryFunctions.matchFirstInInventory(
-          buildingWorker.getTileEntity(),
-          stack -> Utils.isTool(stack, tool),
-          this::takeItemStackFromChest
-        );
+        return takeFromHut(index -> index.findFirstToolSlot(tool, stack -> Utils.isTool(stack, tool)));
     }
 
     /**
@@ -649,13 +665,7 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
     private boolean checkForPickaxe(final int minlevel)
     {
         //Check for a pickaxe
-        needsPickaxe = !InventoryFunctions
-                          .matchFirstInInventory(
-                            worker.getInventoryCitizen(),
-                            stack -> Utils.checkIfPickaxeQualifies(
-                              minlevel, Utils.getMiningLevel(stack, Utils.PICKAXE)),
-                            InventoryFunctions::doNothing
-                          );
+        needsPickaxe = !Utils.checkIfPickaxeQualifies(minlevel, worker.getInventoryCitizen().getItemIndex().getBestToolLevel(Utils.PICKAXE));
 
         delay += DELAY_RECHECK;
 
@@ -695,16 +705,10 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
      */
     private boolean isPickaxeInHut(final int minlevel)
     {
-        @Nullable final AbstractBuildingWorker buildingWorker = getOwnBuilding();
-        return buildingWorker != null
-                 && InventoryFunctions.matchFirstInInventory(
-          buildingWorker.getTileEntity(),
-          stack -> Utils.checkIfPickaxeQualifies(
-            minlevel,
-            Utils.getMiningLevel(stack, Utils.PICKAXE)
-          ),
-          this::takeItemStackFromChest
-        );
+        return takeFromHut(index -> index.findFirstToolSlot(
+          Utils.PICKAXE,
+          stack -> Utils.checkIfPickaxeQualifies(minlevel, Utils.getMiningLevel(stack, Utils.PICKAXE))
+        ));
     }
 
     /**
@@ -732,12 +736,7 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
     public boolean checkForWeapon()
     {
         //Check for a pickaxe
-        needsWeapon = !InventoryFunctions
-                         .matchFirstInInventory(
-                           worker.getInventoryCitizen(),
-                           stack -> stack != null && Utils.doesItemServeAsWeapon(stack),
-                           InventoryFunctions::doNothing
-                         );
+        needsWeapon = worker.getInventoryCitizen().getItemIndex().findFirstWeaponSlot() < 0;
 
         delay += DELAY_RECHECK;
 
@@ -766,13 +765,7 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
      */
     private boolean isWeaponInHut()
     {
-        @Nullable final AbstractBuildingWorker buildingWorker = getOwnBuilding();
-        return buildingWorker != null
-                 && InventoryFunctions.matchFirstInInventory(
-          buildingWorker.getTileEntity(),
-          stack -> stack != null && (Utils.doesItemServeAsWeapon(stack)),
-          this::takeItemStackFromChest
-        );
+        return takeFromHut(InventoryIndex::findFirstWeaponSlot);
     }
 
     /**
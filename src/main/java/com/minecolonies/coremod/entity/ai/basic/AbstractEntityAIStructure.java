@@ -2,6 +2,8 @@ package com.minecolonies.coremod.entity.ai.basic;
 
 import com.minecolonies.coremod.blocks.AbstractBlockHut;
 import com.minecolonies.coremod.blocks.ModBlocks;
+import com.minecolonies.coremod.colony.BlockChangeJournal;
+import com.minecolonies.coremod.colony.Colony;
 import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
 import com.minecolonies.coremod.colony.buildings.BuildingBuilder;
 import com.minecolonies.coremod.colony.buildings.BuildingMiner;
@@ -15,6 +17,7 @@ import com.minecolonies.coremod.configuration.Configurations;
 import com.minecolonies.coremod.entity.ai.citizen.miner.Level;
 import com.minecolonies.coremod.entity.ai.util.AIState;
 import com.minecolonies.coremod.entity.ai.util.AITarget;
+import com.minecolonies.coremod.entity.ai.util.MaterialCalculation;
 import com.minecolonies.coremod.entity.ai.util.Structure;
 import com.minecolonies.coremod.util.*;
 import net.minecraft.block.*;
@@ -34,6 +37,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.awt.geom.Point2D;
+import java.util.Collection;
 import java.util.List;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -92,6 +96,11 @@ public abstract class AbstractEntityAIStructure<J extends AbstractJob> extends A
 
     private int rotation = 0;
 
+    /**
+     * Updates the plan of the current structure when blocks of the colony change.
+     */
+    private final BlockChangeJournal.Listener blockChangeListener = this::onBlocksChanged;
+
     /**
      * String which shows if something is a waypoint.
      */
@@ -108,6 +117,10 @@ public abstract class AbstractEntityAIStructure<J extends AbstractJob> extends A
     {
         super(job);
         this.registerTargets(
+          /**
+           * Continue calculating the needed materials, in any state.
+           */
+          new AITarget(this::isCalculatingMaterials, this::calculateMaterials),
           /**
           * Select the appropriate State to do next.
           */
@@ -225,10 +238,50 @@ public abstract class AbstractEntityAIStructure<J extends AbstractJob> extends A
 
         workFrom = null;
         currentStructure = null;
+        unsubscribeBlockChanges();
 
         return AIState.IDLE;
     }
 
+    @Override
+    public void onRemoved()
+    {
+        super.onRemoved();
+        unsubscribeBlockChanges();
+    }
+
+    /**
+     * Stop listening to the block changes of the colony.
+     */
+    private void unsubscribeBlockChanges()
+    {
+        final Colony colony = job.getColony();
+        if (colony != null)
+        {
+            colony.getBlockChangeJournal().unsubscribe(blockChangeListener);
+        }
+    }
+
+    /**
+     * Hand the block changes of the colony to the current structure.
+     *
+     * @param changes the changes of the last tick.
+     */
+    private void onBlocksChanged(@NotNull final Collection<BlockChangeJournal.BlockChange> changes)
+    {
+        //  Unloaded or replaced workers are never removed from their tasks, drop the listener on their next change.
+        if (worker.isDead || worker.getColony() == null || worker.getCitizenData() == null || worker.getCitizenData().getCitizenEntity() != worker)
+        {
+            unsubscribeBlockChanges();
+            return;
+        }
+
+        if (currentStructure != null)
+        {
+            changes.forEach(change -> currentStructure.onBlockChanged(change.getPos()));
+        }
+    }
+
     private Boolean decorationStep(final Structure.StructureBlock structureBlock)
     {
         if (!BlockUtils.shouldNeverBeMessedWith(structureBlock.worldBlock))
@@ -446,7 +499,6 @@ public abstract class AbstractEntityAIStructure<J extends AbstractJob> extends A
     {
         if (!Configurations.builderInfiniteResources && job instanceof JobBuilder && getOwnBuilding() instanceof BuildingBuilder)
         {
-            ((BuildingBuilder) getOwnBuilding()).resetNeededResources();
             requestMaterials();
         }
     }
@@ -474,6 +526,10 @@ public abstract class AbstractEntityAIStructure<J extends AbstractJob> extends A
                  final StructureWrapper wrapper = new StructureWrapper(world, name);
                 ((AbstractJobStructure) job).setStructure(wrapper);
                 currentStructure = new Structure(world, wrapper, Structure.Stage.CLEAR);
+                if (job.getColony() != null)
+                {
+                    job.getColony().getBlockChangeJournal().subscribe(blockChangeListener);
+                }
             }
             catch (final IllegalStateException e)
             {
@@ -487,42 +543,54 @@ public abstract class AbstractEntityAIStructure<J extends AbstractJob> extends A
     }
 
     /**
-     * Iterates through all the required resources and stores them in the building.
+     * Starts calculating the required resources, unless they are already calculated for this structure.
+     * The calculation continues over the next ticks, see {@link #calculateMaterials()}.
      */
     private void requestMaterials()
     {
         final JobBuilder builderJob = (JobBuilder) job;
-        while (builderJob.getStructure().findNextBlock())
+        final BuildingBuilder building = (BuildingBuilder) getOwnBuilding();
+        final StructureWrapper structure = builderJob.getStructure();
+        final MaterialCalculation calculation = building.getMaterialCalculation();
+
+        if (calculation != null && calculation.isFor(structure.getName(), rotation, structure.getPosition()))
         {
-            @Nullable final Block block = builderJob.getStructure().getBlock();
-            @NotNull final IBlockState blockState = builderJob.getStructure().getBlockState();
+            builderJob.getWorkOrder().setRequested(calculation.isDone());
+            return;
+        }
 
-            if (builderJob.getStructure().doesStructureBlockEqualWorldBlock()
-                    || (blockState instanceof BlockBed && blockState.getValue(BlockBed.PART).equals(BlockBed.EnumPartType.FOOT))
-                    || (blockState instanceof BlockDoor && blockState.getValue(BlockDoor.HALF).equals(BlockDoor.EnumDoorHalf.LOWER)))
-            {
-                continue;
-            }
+        building.startMaterialCalculation(new MaterialCalculation(world, structure.getName(), rotation, structure.getPosition()));
+    }
 
-            final Block worldBlock = BlockPosUtil.getBlock(world, builderJob.getStructure().getBlockPosition());
+    /**
+     * Checks if the required resources of the build are still calculated.
+     *
+     * @return true if so.
+     */
+    private boolean isCalculatingMaterials()
+    {
+        final AbstractBuilding building = getOwnBuilding();
+        return building instanceof BuildingBuilder
+                 && ((BuildingBuilder) building).getMaterialCalculation() != null
+                 && !((BuildingBuilder) building).getMaterialCalculation().isDone();
+    }
 
-            if (block != null
-                    && block != Blocks.AIR
-                    && worldBlock != Blocks.BEDROCK
-                    && !(worldBlock instanceof AbstractBlockHut)
-                    && !isBlockFree(block, 0))
-            {
-                final AbstractBuilding building = getOwnBuilding();
-                if (building instanceof BuildingBuilder)
-                {
-                    ((BuildingBuilder) building).addNeededResource(block, 1);
-                }
-            }
+    /**
+     * Checks the next blocks of the structure for required resources.
+     *
+     * @return null to continue with the current state.
+     */
+    private AIState calculateMaterials()
+    {
+        final BuildingBuilder building = (BuildingBuilder) getOwnBuilding();
+        if (building.continueMaterialCalculation(Configurations.builderMaterialChecksPerTick, block -> isBlockFree(block, 0))
+              && job instanceof JobBuilder && ((JobBuilder) job).hasWorkOrder())
+        {
+            ((JobBuilder) job).getWorkOrder().setRequested(true);
         }
-        builderJob.getWorkOrder().setRequested(true);
+        return null;
     }
 
-
     /**
      * Works on clearing the area of unneeded blocks.
      *
@@ -1,5 +1,6 @@
 package com.minecolonies.coremod.entity.ai.citizen.fisherman;
 
+import com.minecolonies.coremod.colony.FishingSpotRegistry;
 import com.minecolonies.coremod.colony.buildings.BuildingFisherman;
 import com.minecolonies.coremod.colony.jobs.JobFisherman;
 import com.minecolonies.coremod.entity.EntityCitizen;
@@ -8,7 +9,6 @@ import com.minecolonies.coremod.entity.ai.basic.AbstractEntityAISkill;
 import com.minecolonies.coremod.entity.ai.item.handling.ItemStorage;
 import com.minecolonies.coremod.entity.ai.util.AIState;
 import com.minecolonies.coremod.entity.ai.util.AITarget;
-import com.minecolonies.coremod.entity.pathfinding.PathJobFindWater;
 import com.minecolonies.coremod.sounds.FishermanSounds;
 import com.minecolonies.coremod.util.InventoryUtils;
 import com.minecolonies.coremod.util.SoundUtils;
@@ -21,6 +21,7 @@ import net.minecraft.item.ItemFishingRod;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.SoundCategory;
 import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.BlockPos;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -33,10 +34,10 @@ import static com.minecolonies.coremod.entity.ai.util.AIState.*;
 /**
  * Fisherman AI class.
  * <p>
- * A fisherman has some ponds where
- * he randomly selects one and fishes there.
+ * A fisherman takes the nearest free fishing spot
+ * around his hut and fishes there.
  * <p>
- * To keep it immersive he chooses his place at random around the pond.
+ * To keep it immersive he moves on to another spot now and then.
  */
 public class EntityAIWorkFisherman extends AbstractEntityAISkill<JobFisherman>
 {
@@ -56,11 +57,6 @@ public class EntityAIWorkFisherman extends AbstractEntityAISkill<JobFisherman>
      */
     private static final String RENDER_META_ROD = "Rod";
 
-    /**
-     * The maximum number of ponds to remember at one time.
-     */
-    private static final int MAX_PONDS = 20;
-
     /**
      * Variable to calculate the delay the fisherman needs to throw his rod.
      * The delay will be calculated randomly. The FISHING_DELAY defines the upper limit.
@@ -99,6 +95,16 @@ public class EntityAIWorkFisherman extends AbstractEntityAISkill<JobFisherman>
      */
     private static final int SEARCH_RANGE = 50;
 
+    /**
+     * The number of chunks scanned for fishing spots per tick.
+     */
+    private static final int CHUNKS_SCANNED_PER_TICK = 2;
+
+    /**
+     * Time in ticks to wait before searching again when there is no free fishing spot.
+     */
+    private static final int WAIT_BEFORE_SEARCH = 100;
+
     /**
      * The percentage of times where the fisherman will check out a new pond.
      */
@@ -125,21 +131,19 @@ public class EntityAIWorkFisherman extends AbstractEntityAISkill<JobFisherman>
     private static final int CHANCE_TO_PLAY_SOUND = 20;
 
     /**
-     * The number of executed adjusts of the fisherman's rotation.
+     * Number of ticks after which the fisherman gives up walking to a fishing spot.
      */
-    private int executedRotations = 0;
+    private static final long WATER_WALK_TIMEOUT = 1200L;
 
     /**
-     * The PathResult when the fisherman searches water.
+     * The number of executed adjusts of the fisherman's rotation.
      */
-    @Nullable
-    private PathJobFindWater.WaterPathResult pathResult;
+    private int executedRotations = 0;
 
     /**
-     * The Previous PathResult when the fisherman already found water.
+     * The world time the fisherman started walking to the water at, -1 if he isn't walking to it.
      */
-    @Nullable
-    private PathJobFindWater.WaterPathResult lastPathResult;
+    private long waterWalkStart = -1;
 
     /**
      * The fishingSkill which directly influences the fisherman's chance to throw his rod.
@@ -207,8 +211,10 @@ public class EntityAIWorkFisherman extends AbstractEntityAISkill<JobFisherman>
             playNeedRodSound();
             return getState();
         }
-        if (job.getWater() == null)
+        //The spot may come from before a restart, make sure nobody else took it meanwhile.
+        if (job.getWater() == null || !getFishingSpots().reserve(job.getWater(), worker.getCitizenData().getId()))
         {
+            job.setWater(null);
             return FISHERMAN_SEARCHING_WATER;
         }
         return FISHERMAN_WALKING_TO_WATER;
@@ -321,8 +327,20 @@ public class EntityAIWorkFisherman extends AbstractEntityAISkill<JobFisherman>
         }
         if (walkToWater())
         {
+            if (waterWalkStart < 0)
+            {
+                waterWalkStart = world.getTotalWorldTime();
+            }
+            else if (world.getTotalWorldTime() - waterWalkStart > WATER_WALK_TIMEOUT)
+            {
+                //There seems to be no way to the spot.
+                giveUpWater();
+                waterWalkStart = -1;
+                return FISHERMAN_SEARCHING_WATER;
+            }
             return getState();
         }
+        waterWalkStart = -1;
         return FISHERMAN_CHECK_WATER;
     }
 
@@ -350,8 +368,7 @@ public class EntityAIWorkFisherman extends AbstractEntityAISkill<JobFisherman>
         }
         if (executedRotations >= MAX_ROTATIONS)
         {
-            job.removeFromPonds(job.getWater());
-            job.setWater(null);
+            giveUpWater();
             executedRotations = 0;
             return FISHERMAN_SEARCHING_WATER;
         }
@@ -362,8 +379,8 @@ public class EntityAIWorkFisherman extends AbstractEntityAISkill<JobFisherman>
     }
 
     /**
-     * Checks if the fisherman already has found 20 pools, if yes search a water pool out of these 20, else
-     * search a new one.
+     * Takes the nearest free fishing spot around the hut from the fishing spot registry of the colony.
+     * The loaded chunks in range are scanned first, a few per tick.
      *
      * @return the next AIState the fisherman should switch to, after executing this method.
      */
@@ -371,71 +388,43 @@ public class EntityAIWorkFisherman extends AbstractEntityAISkill<JobFisherman>
     {
         //Reset executedRotations when fisherman searches a new Pond
         executedRotations = 0;
-        //If he can't find any pond, tell that to the player
-        //If 20 ponds are already stored, take a random stored location
-        if (job.getPonds().size() >= MAX_PONDS)
+        final BlockPos hut = getOwnBuilding().getLocation();
+        if (!getFishingSpots().scan(hut, SEARCH_RANGE, CHUNKS_SCANNED_PER_TICK))
         {
-            return setRandomWater();
+            return getState();
         }
-        return findNewWater();
-    }
 
-    /**
-     * If the fisherman can't find 20 ponds or already has found 20, the fisherman should randomly choose a fishing spot
-     * from the previously found ones.
-     *
-     * @return the next AIState.
-     */
-    private AIState setRandomWater()
-    {
-        if (job.getPonds().isEmpty())
+        final BlockPos spot = getFishingSpots().reserveNearestSpot(hut, SEARCH_RANGE, worker.getCitizenData().getId());
+        if (spot == null)
         {
-            if (lastPathResult != null && lastPathResult.isEmpty && !lastPathResult.isCancelled())
-            {
-                chatSpamFilter.talkWithoutSpam("entity.fisherman.messageWaterTooFar");
-            }
-            pathResult = worker.getNavigator().moveToWater(SEARCH_RANGE, 1.0D, job.getPonds());
+            //If he can't find any pond, tell that to the player
+            chatSpamFilter.talkWithoutSpam("entity.fisherman.messageWaterTooFar");
+            setDelay(WAIT_BEFORE_SEARCH);
             return getState();
         }
-        job.setWater(job.getPonds().get(random.nextInt(job.getPonds().size())));
-
+        job.setWater(spot);
         return FISHERMAN_CHECK_WATER;
     }
 
     /**
-     * Uses the pathFinding system to search close water spots which possibilitate fishing.
-     * Sets a number of possible water pools and sets the water pool the fisherman should fish now.
+     * Gives up the current fishing spot, the fisherman couldn't fish there.
+     * The registry leaves it out for a while instead of forgetting it, the way may be blocked only for now.
+     */
+    private void giveUpWater()
+    {
+        getFishingSpots().markUnreachable(job.getWater());
+        job.setWater(null);
+    }
+
+    /**
+     * Returns the fishing spot registry of the colony.
      *
-     * @return the next AIState the fisherman should switch to, after executing this method
+     * @return the registry.
      */
-    private AIState findNewWater()
+    @NotNull
+    private FishingSpotRegistry getFishingSpots()
     {
-        if (pathResult == null)
-        {
-            pathResult = worker.getNavigator().moveToWater(SEARCH_RANGE, 1.0D, job.getPonds());
-            return getState();
-        }
-        if (pathResult.failedToReachDestination())
-        {
-            return setRandomWater();
-        }
-        if (pathResult.getPathReachesDestination())
-        {
-            if (pathResult.pond != null)
-            {
-                job.setWater(pathResult.pond);
-                job.addToPonds(pathResult.pond);
-            }
-            lastPathResult = pathResult;
-            pathResult = null;
-            return FISHERMAN_CHECK_WATER;
-        }
-        if (pathResult.isCancelled())
-        {
-            pathResult = null;
-            return PREPARING;
-        }
-        return getState();
+        return worker.getColony().getFishingSpotRegistry();
     }
 
     /**
@@ -460,8 +449,13 @@ public class EntityAIWorkFisherman extends AbstractEntityAISkill<JobFisherman>
             playCaughtFishSound();
             if (random.nextDouble() < CHANCE_NEW_POND)
             {
-                job.setWater(null);
-                return FISHERMAN_SEARCHING_WATER;
+                //Keeps the current spot if there is no other free one.
+                final BlockPos spot = getFishingSpots().reserveNearestSpot(getOwnBuilding().getLocation(), SEARCH_RANGE, worker.getCitizenData().getId());
+                if (spot != null)
+                {
+                    job.setWater(spot);
+                    executedRotations = 0;
+                }
             }
             return FISHERMAN_WALKING_TO_WATER;
         }
@@ -573,8 +567,7 @@ public class EntityAIWorkFisherman extends AbstractEntityAISkill<JobFisherman>
 
         if (world.getBlockState(worker.getPosition()).getBlock() == Blocks.WATER)
         {
-            job.removeFromPonds(job.getWater());
-            job.setWater(null);
+            giveUpWater();
             return FISHERMAN_SEARCHING_WATER;
         }
         //If there is no close water, try to move closer
@@ -14,15 +14,11 @@ import com.minecolonies.coremod.tileentities.TileEntityColonyBuilding;
 import com.minecolonies.coremod.util.BlockPosUtil;
 import com.minecolonies.coremod.util.LanguageHandler;
 import com.minecolonies.coremod.util.Log;
-import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.item.EntityItem;
-import net.minecraft.entity.monster.EntityMob;
-import net.minecraft.entity.monster.EntitySlime;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.EntityEquipmentSlot;
 import net.minecraft.item.*;
-import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -47,10 +43,6 @@ public abstract class AbstractEntityAIGuard extends AbstractEntityAISkill<JobGua
      * Follow the player if farther than this.
      */
     public static final int FOLLOW_RANGE = 10;
-    /**
-     * Distance the guard starts searching.
-     */
-    protected static final int START_SEARCH_DISTANCE = 5;
     /**
      * The start search distance of the guard to track/attack entities may get more depending on the level.
      */
@@ -102,11 +94,7 @@ public abstract class AbstractEntityAIGuard extends AbstractEntityAISkill<JobGua
     /**
      * Amount of arrows already shot or sword hits dealt.
      */
-    protected int attacksExecuted       = 0;
-    /**
-     * The distance the guard is searching entities in currently.
-     */
-    protected int currentSearchDistance = START_SEARCH_DISTANCE;
+    protected int attacksExecuted = 0;
     /**
      * Checks if the guard should dump its inventory.
      */
@@ -114,11 +102,7 @@ public abstract class AbstractEntityAIGuard extends AbstractEntityAISkill<JobGua
     /**
      * Current goTo task.
      */
-    private BlockPos     currentPathTarget;
-    /**
-     * Containing all close entities.
-     */
-    private List<Entity> entityList;
+    private BlockPos currentPathTarget;
 
     /**
      * Positions of all items that have to be collected.
@@ -278,47 +262,59 @@ public abstract class AbstractEntityAIGuard extends AbstractEntityAISkill<JobGua
     }
 
     /**
-     * Chooses a target from the list.
+     * Claims the nearest target in vision from the hostile tracker of the colony.
      *
      * @return the next state.
      */
     protected AIState getTarget()
     {
-        if (entityList.isEmpty())
+        final Colony colony = worker.getColony();
+        if (colony == null)
         {
             return AIState.GUARD_PATROL;
         }
 
-        final Entity entity = entityList.get(0);
+        final EntityLivingBase entity = colony.getHostileTracker().claimNearestTarget(worker, getMaxVision(), HEIGHT_DETECTION_RANGE, this::isAttackable);
+        if (entity == null)
+        {
+            return AIState.GUARD_PATROL;
+        }
 
-        final BlockPos buildingLocation = getOwnBuilding().getLocation();
+        targetEntity = entity;
+        worker.getNavigator().clearPathEntity();
+        return AIState.GUARD_HUNT_DOWN_TARGET;
+    }
 
-        //Only attack entities in max patrol distance.
-        if (BlockPosUtil.getDistance2D(entity.getPosition(), buildingLocation) < getPatrolDistance())
+    /**
+     * Checks if the guard may attack an entity.
+     * Only entities in max patrol distance, hostile players and visible mobs are attacked.
+     *
+     * @param entity the entity.
+     * @return true if so.
+     */
+    private boolean isAttackable(@NotNull final EntityLivingBase entity)
+    {
+        if (BlockPosUtil.getDistance2D(entity.getPosition(), getOwnBuilding().getLocation()) >= getPatrolDistance())
         {
-            if (entity instanceof EntityPlayer)
-            {
-                if (worker.getColony() != null && worker.getColony().getPermissions().hasPermission((EntityPlayer) entity, Permissions.Action.GUARDS_ATTACK))
-                {
-                    targetEntity = (EntityLivingBase) entity;
-                    worker.getNavigator().clearPathEntity();
-                    return AIState.GUARD_HUNT_DOWN_TARGET;
-                }
-                entityList.remove(0);
-                setDelay(BASE_DELAY);
-                return AIState.GUARD_GET_TARGET;
-            }
-            else if (worker.getEntitySenses().canSee(entity) && (entityList.get(0)).isEntityAlive())
-            {
-                worker.getNavigator().clearPathEntity();
-                targetEntity = (EntityLivingBase) entity;
-                return AIState.GUARD_HUNT_DOWN_TARGET;
-            }
+            return false;
         }
+        if (entity instanceof EntityPlayer)
+        {
+            return worker.getColony() != null && worker.getColony().getPermissions().hasPermission((EntityPlayer) entity, Permissions.Action.GUARDS_ATTACK);
+        }
+        return worker.getEntitySenses().canSee(entity);
+    }
 
-        entityList.remove(0);
-        setDelay(BASE_DELAY);
-        return AIState.GUARD_GET_TARGET;
+    /**
+     * Forgets the current target and releases the claim on it.
+     */
+    protected void clearTarget()
+    {
+        targetEntity = null;
+        if (worker.getColony() != null)
+        {
+            worker.getColony().getHostileTracker().release(worker.getCitizenData().getId());
+        }
     }
 
     /**
@@ -332,44 +328,21 @@ public abstract class AbstractEntityAIGuard extends AbstractEntityAISkill<JobGua
     }
 
     /**
-     * Searches for the next target.
+     * Keeps hunting the current target while it is visible, else looks for the next one.
      *
      * @return the next AIState.
      */
     protected AIState searchTarget()
     {
-        entityList = this.worker.worldObj.getEntitiesWithinAABB(EntityMob.class, this.getTargetableArea(currentSearchDistance));
-        entityList.addAll(this.worker.worldObj.getEntitiesWithinAABB(EntitySlime.class, this.getTargetableArea(currentSearchDistance)));
-        entityList.addAll(this.worker.worldObj.getEntitiesWithinAABB(EntityPlayer.class, this.getTargetableArea(currentSearchDistance)));
-
         if (targetEntity != null && targetEntity.isEntityAlive() && worker.getEntitySenses().canSee(targetEntity))
         {
             return AIState.GUARD_HUNT_DOWN_TARGET;
         }
 
         setDelay(BASE_DELAY);
-        if (entityList.isEmpty())
-        {
-            if (currentSearchDistance < getMaxVision())
-            {
-                currentSearchDistance += START_SEARCH_DISTANCE;
-            }
-            else
-            {
-                currentSearchDistance = START_SEARCH_DISTANCE;
-                return AIState.GUARD_PATROL;
-            }
-
-            return AIState.GUARD_SEARCH_TARGET;
-        }
         return AIState.GUARD_GET_TARGET;
     }
 
-    private AxisAlignedBB getTargetableArea(final double range)
-    {
-        return this.worker.getEntityBoundingBox().expand(range, HEIGHT_DETECTION_RANGE, range);
-    }
-
     /**
      * Getter for the vision or attack distance.
      *
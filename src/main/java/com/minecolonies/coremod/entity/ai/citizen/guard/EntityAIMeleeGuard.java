@@ -129,7 +129,7 @@ public class EntityAIMeleeGuard extends AbstractEntityAIGuard
     {
         if (!targetEntity.isEntityAlive() || checkForWeapon())
         {
-            targetEntity = null;
+            clearTarget();
             worker.setAIMoveSpeed((float) 1.0D);
             return AIState.GUARD_GATHERING;
         }
@@ -140,7 +140,6 @@ public class EntityAIMeleeGuard extends AbstractEntityAIGuard
             attackEntity(targetEntity, (float) DAMAGE_PER_ATTACK);
             setDelay(getReloadTime());
             attacksExecuted += 1;
-            currentSearchDistance = START_SEARCH_DISTANCE;
 
             if (attacksExecuted >= getMaxAttacksUntilRestock())
             {
@@ -183,7 +183,7 @@ public class EntityAIRangeGuard extends AbstractEntityAIGuard implements IRanged
     {
         if (!targetEntity.isEntityAlive() || checkOrRequestItems(new ItemStack(Items.BOW)))
         {
-            targetEntity = null;
+            clearTarget();
             worker.setAIMoveSpeed((float) 1.0D);
             return AIState.GUARD_GATHERING;
         }
@@ -1,11 +1,11 @@
 package com.minecolonies.coremod.entity.ai.citizen.lumberjack;
 
+import com.minecolonies.coremod.colony.TreeRegistry;
 import com.minecolonies.coremod.colony.jobs.JobLumberjack;
 import com.minecolonies.coremod.entity.ai.basic.AbstractEntityAIInteract;
 import com.minecolonies.coremod.entity.ai.item.handling.ItemStorage;
 import com.minecolonies.coremod.entity.ai.util.AIState;
 import com.minecolonies.coremod.entity.ai.util.AITarget;
-import com.minecolonies.coremod.entity.pathfinding.PathJobFindTree;
 import com.minecolonies.coremod.util.BlockPosUtil;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockSapling;
@@ -51,11 +51,21 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
      */
     private static final int SEARCH_LIMIT = 150;
 
+    /**
+     * The number of chunks scanned for trees per tick.
+     */
+    private static final int CHUNKS_SCANNED_PER_TICK = 2;
+
     /**
      * Number of ticks to wait before coming to the conclusion of being stuck.
      */
     private static final int STUCK_WAIT_TIME = 10;
 
+    /**
+     * Number of ticks after which the lumberjack gives up walking to a tree.
+     */
+    private static final long TREE_WALK_TIMEOUT = 1800L;
+
     /**
      * Number of ticks until he gives up destroying leaves
      * and walks a bit back to try a new path.
@@ -149,6 +159,10 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
      * to check if the lumberjack is still walking.
      */
     private              int   previousIndex           = 0;
+    /**
+     * The world time the lumberjack started walking to the tree at, -1 if it isn't walking to it.
+     */
+    private              long  treeWalkStart           = -1;
 
     /**
      * Positions of all items that have to be collected.
@@ -156,11 +170,6 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
     @Nullable
     private List<BlockPos> items;
 
-    /**
-     * The active pathfinding job used to walk to trees.
-     */
-    @Nullable
-    private PathJobFindTree.TreePathResult pathResult;
     /**
      * A counter by how much the tree search radius
      * has been increased by now.
@@ -244,36 +253,33 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
         {
             return findTree();
         }
+        //The tree may come from before a restart, make sure nobody else took it meanwhile.
+        if (!worker.getColony().getTreeRegistry().reserve(job.tree.getLocation(), worker.getCitizenData().getId()))
+        {
+            job.tree = null;
+            return getState();
+        }
         return LUMBERJACK_CHOP_TREE;
     }
 
     /**
-     * Search for a tree.
+     * Search for a tree in the tree registry of the colony.
+     * The loaded chunks in range are scanned first, a few per tick.
      *
-     * @return LUMBERJACK_GATHERING if job was canceled.
+     * @return LUMBERJACK_NO_TREES_FOUND if the search limit was reached.
      */
     private AIState findTree()
     {
-        if (pathResult == null || pathResult.treeLocation == null)
+        final TreeRegistry trees = worker.getColony().getTreeRegistry();
+        final BlockPos hut = getOwnBuilding().getLocation();
+        final int range = SEARCH_RANGE + searchIncrement;
+        if (!trees.scan(hut, range, CHUNKS_SCANNED_PER_TICK))
         {
-            pathResult = worker.getNavigator().moveToTree(SEARCH_RANGE + searchIncrement, 1.0D);
             return getState();
         }
-        if (pathResult.getPathReachesDestination())
-        {
-            return setNewTree();
-        }
-        if (pathResult.isCancelled())
-        {
-            pathResult = null;
-            return LUMBERJACK_GATHERING;
-        }
-        return getState();
-    }
 
-    private AIState setNewTree()
-    {
-        if (pathResult.treeLocation == null)
+        final BlockPos tree = trees.reserveNearestTree(hut, range, worker.getCitizenData().getId());
+        if (tree == null)
         {
             setDelay(WAIT_BEFORE_INCREMENT);
             if (searchIncrement + SEARCH_RANGE > SEARCH_LIMIT)
@@ -281,15 +287,12 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
                 return LUMBERJACK_NO_TREES_FOUND;
             }
             searchIncrement += SEARCH_INCREMENT;
+            return getState();
         }
-        else
-        {
-            job.tree = new Tree(world, pathResult.treeLocation);
-            job.tree.findLogs(world);
-        }
-        pathResult = null;
 
-        return getState();
+        job.tree = new Tree(world, tree);
+        job.tree.findLogs(world);
+        return LUMBERJACK_CHOP_TREE;
     }
 
     /**
@@ -326,9 +329,22 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
         final BlockPos location = job.tree.getLocation();
         if (walkToBlock(location))
         {
+            if (treeWalkStart < 0)
+            {
+                treeWalkStart = world.getTotalWorldTime();
+            }
+            else if (world.getTotalWorldTime() - treeWalkStart > TREE_WALK_TIMEOUT)
+            {
+                //There seems to be no way to the tree, leave it out for a while.
+                worker.getColony().getTreeRegistry().markUnreachable(location);
+                job.tree = null;
+                treeWalkStart = -1;
+                return LUMBERJACK_SEARCHING_TREE;
+            }
             checkIfStuckOnLeaves(location);
             return getState();
         }
+        treeWalkStart = -1;
 
         if (!job.tree.hasLogs())
         {
@@ -385,6 +401,7 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
         if (plantSapling(job.tree.getLocation()))
         {
             job.tree = null;
+            worker.getColony().getTreeRegistry().release(worker.getCitizenData().getId());
         }
     }
 
@@ -13,6 +13,7 @@ import java.util.function.Supplier;
  * It has a tester function to make more checks
  * to tell if execution is wanted.
  * And it can change state.
+ * Expensive checks can be sampled only every few ticks.
  */
 public class AITarget
 {
@@ -23,6 +24,7 @@ public class AITarget
     private final BooleanSupplier   predicate;
     @NotNull
     private final Supplier<AIState> action;
+    private final int               tickRate;
 
     /**
      * Construct a target.
@@ -53,10 +55,28 @@ public class AITarget
      * @param action    the action to apply
      */
     public AITarget(@Nullable final AIState state, @NotNull final BooleanSupplier predicate, @NotNull final Supplier<AIState> action)
+    {
+        this(state, predicate, action, 1);
+    }
+
+    /**
+     * Construct a target which is only checked every few ticks.
+     *
+     * @param state     the state it needs to be | null
+     * @param predicate the predicate for execution
+     * @param action    the action to apply
+     * @param tickRate  the number of ticks between two checks
+     */
+    public AITarget(
+                     @Nullable final AIState state,
+                     @NotNull final BooleanSupplier predicate,
+                     @NotNull final Supplier<AIState> action,
+                     final int tickRate)
     {
         this.state = state;
         this.predicate = predicate;
         this.action = action;
+        this.tickRate = Math.max(1, tickRate);
     }
 
     /**
@@ -70,6 +90,18 @@ public class AITarget
         this(null, predicate, () -> state);
     }
 
+    /**
+     * Construct a target which is only checked every few ticks.
+     *
+     * @param predicate the predicate for execution
+     * @param state     the state to switch to
+     * @param tickRate  the number of ticks between two checks
+     */
+    public AITarget(@NotNull final BooleanSupplier predicate, @Nullable final AIState state, final int tickRate)
+    {
+        this(null, predicate, () -> state, tickRate);
+    }
+
     /**
      * Construct a target.
      *
@@ -104,6 +136,16 @@ public class AITarget
         return state;
     }
 
+    /**
+     * The number of ticks between two checks of this target.
+     *
+     * @return the tick rate, 1 to check every tick.
+     */
+    public int getTickRate()
+    {
+        return tickRate;
+    }
+
     /**
      * Return whether the ai wants this target to be executed.
      *
@@ -0,0 +1,146 @@
+package com.minecolonies.coremod.entity.ai.util;
+
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * The local positions of a structure one stage still has to work on, in the order to work on them.
+ * <p>
+ * The plan is filled by scanning the structure once, a limited number of positions at a time, and only keeps the
+ * positions which differ from the world. Stages working top down visit the layers from the top, the others from the
+ * bottom, each layer is walked row by row in alternating directions so consecutive positions are next to each other.
+ * Positions changed in the world afterwards are added again through {@link #add(BlockPos)}.
+ */
+final class BuildPlan
+{
+    @NotNull
+    private final Structure.Stage stage;
+    private final boolean         topDown;
+    private final int             width;
+    private final int             height;
+    private final int             length;
+
+    @NotNull
+    private final Deque<BlockPos> queue  = new ArrayDeque<>();
+    @NotNull
+    private final Set<BlockPos>   queued = new HashSet<>();
+    private       int             scanned;
+
+    /**
+     * Create an empty plan for a stage.
+     *
+     * @param stage   the stage.
+     * @param topDown whether the stage works from the top layer down.
+     * @param width   the width of the structure.
+     * @param height  the height of the structure.
+     * @param length  the length of the structure.
+     */
+    BuildPlan(@NotNull final Structure.Stage stage, final boolean topDown, final int width, final int height, final int length)
+    {
+        this.stage = stage;
+        this.topDown = topDown;
+        this.width = width;
+        this.height = height;
+        this.length = length;
+    }
+
+    /**
+     * @return the stage of the plan.
+     */
+    @NotNull
+    Structure.Stage getStage()
+    {
+        return stage;
+    }
+
+    /**
+     * @return true if the whole structure was scanned.
+     */
+    boolean isScanned()
+    {
+        return scanned >= width * height * length;
+    }
+
+    /**
+     * Scan the next positions of the structure.
+     *
+     * @param budget   the maximum number of positions to scan.
+     * @param required whether a local position has to be worked on.
+     */
+    void scan(final int budget, @NotNull final Predicate<BlockPos> required)
+    {
+        for (int i = 0; i < budget && !isScanned(); i++)
+        {
+            final BlockPos pos = positionAt(scanned++);
+            if (required.test(pos))
+            {
+                add(pos);
+            }
+        }
+    }
+
+    /**
+     * Add a position to work on, if it isn't planned yet.
+     *
+     * @param pos the local position.
+     */
+    void add(@NotNull final BlockPos pos)
+    {
+        if (queued.add(pos))
+        {
+            queue.add(pos);
+        }
+    }
+
+    /**
+     * Take the next position to work on.
+     *
+     * @return the local position or null if the plan is done.
+     */
+    @Nullable
+    BlockPos poll()
+    {
+        final BlockPos pos = queue.poll();
+        if (pos != null)
+        {
+            queued.remove(pos);
+        }
+        return pos;
+    }
+
+    /**
+     * Check if a position is inside of the structure.
+     *
+     * @param pos the local position.
+     * @return true if so.
+     */
+    boolean contains(@NotNull final BlockPos pos)
+    {
+        return pos.getX() >= 0 && pos.getY() >= 0 && pos.getZ() >= 0 && pos.getX() < width && pos.getY() < height && pos.getZ() < length;
+    }
+
+    /**
+     * Calculates the local position with a certain index in the working order.
+     */
+    @NotNull
+    private BlockPos positionAt(final int index)
+    {
+        final int layerSize = width * length;
+        final int layer = index / layerSize;
+        final int row = (index % layerSize) / width;
+        final int column = index % width;
+
+        final int y = topDown ? height - 1 - layer : layer;
+        //Alternate the direction of the rows, continuing the layer where the last one ended.
+        final int z = layer % 2 == 0 ? row : length - 1 - row;
+        final int x = (layer * length + row) % 2 == 0 ? column : width - 1 - column;
+        return new BlockPos(x, y, z);
+    }
+}
@@ -0,0 +1,161 @@
+package com.minecolonies.coremod.entity.ai.util;
+
+import com.minecolonies.coremod.blocks.AbstractBlockHut;
+import com.minecolonies.coremod.util.BlockPosUtil;
+import com.minecolonies.coremod.util.StructureWrapper;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockBed;
+import net.minecraft.block.BlockDoor;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Calculates the materials a builder still needs for a structure, a limited number of blocks per tick.
+ * <p>
+ * Every block of the structure is compared with the world once and the missing blocks are counted together,
+ * so the whole bill is handed to the building at the end instead of block by block.
+ * A calculation belongs to one structure, rotation and position and can be resumed or reused for the same
+ * work order.
+ */
+public class MaterialCalculation
+{
+    /**
+     * Percentage of a finished calculation.
+     */
+    private static final int DONE_PERCENT = 100;
+
+    @NotNull
+    private final String              name;
+    private final int                 rotation;
+    @NotNull
+    private final BlockPos            position;
+    @NotNull
+    private final StructureWrapper    wrapper;
+    @NotNull
+    private final World               world;
+    @NotNull
+    private final Map<Block, Integer> materials = new HashMap<>();
+    private final int                 totalBlocks;
+    private       int                 checkedBlocks;
+    private       boolean             done;
+
+    /**
+     * Start a calculation, it doesn't check any block before the first {@link #calculate}.
+     *
+     * @param world    the world.
+     * @param name     the name of the structure.
+     * @param rotation the times it is rotated.
+     * @param position the position it is built at.
+     */
+    public MaterialCalculation(@NotNull final World world, @NotNull final String name, final int rotation, @NotNull final BlockPos position)
+    {
+        this.world = world;
+        this.name = name;
+        this.rotation = rotation;
+        this.position = position;
+
+        this.wrapper = new StructureWrapper(world, name);
+        wrapper.rotate(rotation);
+        wrapper.setPosition(position);
+        this.totalBlocks = wrapper.getWidth() * wrapper.getHeight() * wrapper.getLength();
+    }
+
+    /**
+     * Check whether this calculation is for a certain structure.
+     *
+     * @param name     the name of the structure.
+     * @param rotation the times it is rotated.
+     * @param position the position it is built at.
+     * @return true if it is.
+     */
+    public boolean isFor(@NotNull final String name, final int rotation, @NotNull final BlockPos position)
+    {
+        return this.name.equals(name) && this.rotation == rotation && this.position.equals(position);
+    }
+
+    /**
+     * Check the next blocks of the structure.
+     *
+     * @param budget the maximum number of blocks to check.
+     * @param isFree whether a block can be built without materials.
+     * @return true if the calculation is done.
+     */
+    public boolean calculate(final int budget, @NotNull final Predicate<Block> isFree)
+    {
+        for (int i = 0; i < budget && !done; i++)
+        {
+            if (wrapper.incrementBlock())
+            {
+                checkedBlocks++;
+                checkBlock(isFree);
+            }
+            else
+            {
+                done = true;
+            }
+        }
+        return done;
+    }
+
+    /**
+     * Count the block at the current position if it still has to be built.
+     */
+    private void checkBlock(@NotNull final Predicate<Block> isFree)
+    {
+        final Block block = wrapper.getBlock();
+        final IBlockState blockState = wrapper.getBlockState();
+        if (block == null
+              || wrapper.doesStructureBlockEqualWorldBlock()
+              || (block instanceof BlockBed && blockState.getValue(BlockBed.PART).equals(BlockBed.EnumPartType.FOOT))
+              || (block instanceof BlockDoor && blockState.getValue(BlockDoor.HALF).equals(BlockDoor.EnumDoorHalf.LOWER)))
+        {
+            return;
+        }
+
+        final Block worldBlock = BlockPosUtil.getBlock(world, wrapper.getBlockPosition());
+        if (block != Blocks.AIR
+              && worldBlock != Blocks.BEDROCK
+              && !(worldBlock instanceof AbstractBlockHut)
+              && !isFree.test(block))
+        {
+            materials.merge(block, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * @return true if every block was checked.
+     */
+    public boolean isDone()
+    {
+        return done;
+    }
+
+    /**
+     * @return the checked part of the structure, in percent.
+     */
+    public int getProgress()
+    {
+        if (done || totalBlocks == 0)
+        {
+            return DONE_PERCENT;
+        }
+        return checkedBlocks * DONE_PERCENT / totalBlocks;
+    }
+
+    /**
+     * @return the missing blocks found so far and their amount.
+     */
+    @NotNull
+    public Map<Block, Integer> getMaterials()
+    {
+        return Collections.unmodifiableMap(materials);
+    }
+}
@@ -18,7 +18,6 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
 import java.util.function.Function;
-import java.util.function.Supplier;
 
 /**
  * Represents a build task for the Structure AI.
@@ -146,6 +145,11 @@ public class Structure
     }
 
     private Stage                  stage;
+    /**
+     * The plan of the current stage, null until the stage started advancing.
+     */
+    @Nullable
+    private BuildPlan              plan;
     /**
      * The internal structure loaded.
      */
@@ -295,53 +299,131 @@ public class Structure
      * Advance one block in the StructureProxy.
      * <p>
      * Will skip blocks not relevant.
+     * The relevant blocks of a stage are planned once when it starts, see {@link BuildPlan}.
      *
      * @return a Result enum specifying the result
      */
     @NotNull
     public Result advanceBlock()
+    {
+        final Function<StructureBlock, Boolean> skip = getSkipFunction();
+        if (skip == null)
+        {
+            return Result.NEW_BLOCK;
+        }
+
+        if (plan == null || plan.getStage() != this.stage)
+        {
+            plan = new BuildPlan(this.stage, this.stage != Stage.BUILD, structure.getWidth(), structure.getHeight(), structure.getLength());
+        }
+
+        if (!plan.isScanned())
+        {
+            plan.scan(Configurations.maxBlocksCheckedByBuilder, pos -> isRequired(pos, skip));
+            //Don't leave the builder at a scanned block, it would work on it.
+            this.structure.reset();
+            if (!plan.isScanned())
+            {
+                return Result.CONFIG_LIMIT;
+            }
+        }
+
+        return advanceBlocks(skip);
+    }
+
+    /**
+     * Update the plan of the current stage after a block of the world changed.
+     * The block is planned again if the stage has to work on it now.
+     *
+     * @param worldPos the position in the world.
+     */
+    public void onBlockChanged(@NotNull final BlockPos worldPos)
+    {
+        final Function<StructureBlock, Boolean> skip = getSkipFunction();
+        if (plan == null || skip == null || plan.getStage() != this.stage)
+        {
+            return;
+        }
+
+        final BlockPos local = worldPos.subtract(this.structure.getOffsetPosition());
+        if (!plan.contains(local))
+        {
+            return;
+        }
+
+        final BlockPos progress = this.structure.getLocalPosition();
+        if (!local.equals(progress) && isRequired(local, skip))
+        {
+            plan.add(local);
+        }
+        this.structure.setLocalPosition(progress);
+    }
+
+    /**
+     * Get the function deciding which blocks the current stage doesn't have to work on.
+     *
+     * @return the function or null if the stage doesn't work on blocks.
+     */
+    @Nullable
+    private Function<StructureBlock, Boolean> getSkipFunction()
     {
         switch (this.stage)
         {
             case CLEAR:
-                return advanceBlocks(this.structure::decrementBlock,
-                  structureBlock -> structureBlock.doesStructureBlockEqualWorldBlock()
-                          || structureBlock.worldBlock == Blocks.AIR);
+                return structureBlock -> structureBlock.doesStructureBlockEqualWorldBlock()
+                        || structureBlock.worldBlock == Blocks.AIR;
             case BUILD:
-                return advanceBlocks(this.structure::incrementBlock, structureBlock -> structureBlock.doesStructureBlockEqualWorldBlock()
-                        && structureBlock.block == Blocks.AIR
-                        && !structureBlock.metadata.getMaterial().isSolid());
+                return structureBlock -> structureBlock.doesStructureBlockEqualWorldBlock()
+                        || (structureBlock.block != Blocks.AIR && !structureBlock.metadata.getMaterial().isSolid());
             case DECORATE:
-                return advanceBlocks(this.structure::decrementBlock, structureBlock ->
-                        structureBlock.doesStructureBlockEqualWorldBlock()
-                        || structureBlock.metadata.getMaterial().isSolid());
+                return structureBlock -> structureBlock.doesStructureBlockEqualWorldBlock()
+                        || structureBlock.metadata.getMaterial().isSolid();
             default:
-                return Result.NEW_BLOCK;
+                return null;
         }
     }
 
     /**
-     * Advance many blocks until either moveOneBlock or checkIfApplies return false
-     * or if we reached the maximum of iterations in maxBlocksCheckedByBuilder.
+     * Check whether the current stage has to work on a local position, moving the structure there.
+     */
+    private boolean isRequired(@NotNull final BlockPos local, @NotNull final Function<StructureBlock, Boolean> skip)
+    {
+        if (this.structure.structure().isSkipped(local))
+        {
+            return false;
+        }
+        this.structure.setLocalPosition(local);
+        final StructureBlock structureBlock = getCurrentBlock();
+        return structureBlock.block != null && !skip.apply(structureBlock);
+    }
+
+    /**
+     * Advance to the next planned block which still has to be worked on,
+     * checking at most maxBlocksCheckedByBuilder blocks.
      *
-     * @param moveOneBlock   this will be called to advance the structure one block.
-     * @param checkIfApplies this will be evaluated to check if we should skip a block.
+     * @param skip this will be evaluated to check if we should skip a block.
      * @return a Result enum specifying the result
      */
     @NotNull
-    private Result advanceBlocks(@NotNull final Supplier<Boolean> moveOneBlock, @NotNull final Function<StructureBlock, Boolean> checkIfApplies)
+    private Result advanceBlocks(@NotNull final Function<StructureBlock, Boolean> skip)
     {
         for (int i = 0; i < Configurations.maxBlocksCheckedByBuilder; i++)
         {
-            if (!moveOneBlock.get())
+            final BlockPos next = plan.poll();
+            if (next == null)
             {
+                this.structure.reset();
                 return Result.AT_END;
             }
-            if (!checkIfApplies.apply(getCurrentBlock()))
+
+            //The world might have changed since the block was planned.
+            this.structure.setLocalPosition(next);
+            if (!skip.apply(getCurrentBlock()))
             {
                 return Result.NEW_BLOCK;
             }
         }
+        this.structure.reset();
         return Result.CONFIG_LIMIT;
     }
 
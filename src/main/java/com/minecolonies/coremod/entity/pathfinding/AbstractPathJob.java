@@ -2,10 +2,8 @@ package com.minecolonies.coremod.entity.pathfinding;
 
 import com.minecolonies.coremod.blocks.BlockHutField;
 import com.minecolonies.coremod.configuration.Configurations;
-import com.minecolonies.coremod.util.BlockUtils;
 import com.minecolonies.coremod.util.Log;
 import net.minecraft.block.*;
-import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.pathfinding.Path;
@@ -13,8 +11,6 @@ import net.minecraft.pathfinding.PathPoint;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
-import net.minecraft.world.ChunkCache;
-import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -43,8 +39,6 @@ public abstract class AbstractPathJob implements Callable<Path>
     private static final   BlockPos BLOCKPOS_SOUTH = new BlockPos(0, 0, 1);
     private static final   BlockPos BLOCKPOS_EAST  = new BlockPos(1, 0, 0);
     private static final   BlockPos BLOCKPOS_WEST  = new BlockPos(-1, 0, 0);
-    private static final   int      MAX_Y          = 256;
-    private static final   int      MIN_Y          = 0;
 
     /**
      * Additional cost of jumping and dropping - base 1.
@@ -81,6 +75,22 @@ public abstract class AbstractPathJob implements Callable<Path>
      */
     private static final int SHIFT_Y_BY = 12;
 
+    /**
+     * Jobs whose start and end are within this manhattan distance are queued as {@link PathPriority#SHORT}.
+     */
+    private static final int SHORT_PATH_LENGTH = 16;
+
+    /**
+     * Height of the box a job may walk through, the whole world like the chunk cache the jobs used to read.
+     */
+    private static final int MAX_Y = 256;
+    private static final int MIN_Y = 0;
+
+    /**
+     * Colony id used for jobs which do not belong to a colony.
+     */
+    public static final int NO_COLONY = -1;
+
     @Nullable
     protected static Set<Node>    lastDebugNodesVisited;
     @Nullable
@@ -90,11 +100,11 @@ public abstract class AbstractPathJob implements Callable<Path>
     @NotNull
     protected final  BlockPos     start;
     @NotNull
-    protected final  IBlockAccess world;
+    protected final  PathingSnapshot.Reader snapshot;
     protected final  PathResult   result;
     private final    int          maxRange;
-    private final Queue<Node>        nodesOpen                    = new PriorityQueue<>(500);
-    private final Map<Integer, Node> nodesVisited                 = new HashMap<>();
+    //  Open and visited nodes, taken from the worker thread when the search starts
+    private       NodeStore          nodes;
     //  Debug Rendering
     protected     boolean            debugDrawEnabled             = false;
     protected     int                debugSleepMs                 = 0;
@@ -110,6 +120,9 @@ public abstract class AbstractPathJob implements Callable<Path>
     private       boolean            allowJumpPointSearchTypeWalk = false;
     private       int                totalNodesAdded              = 0;
     private       int                totalNodesVisited            = 0;
+    //  Scheduling
+    private       PathPriority       priority;
+    private       int                colonyId                     = NO_COLONY;
 
     /**
      * AbstractPathJob constructor.
@@ -135,13 +148,31 @@ public abstract class AbstractPathJob implements Callable<Path>
      * @see AbstractPathJob#AbstractPathJob(World, BlockPos, BlockPos, int)
      */
     public AbstractPathJob(final World world, @NotNull final BlockPos start, @NotNull final BlockPos end, final int range, final PathResult result)
+    {
+        this(PathingSnapshot.forWorld(world), start, end, range, result);
+    }
+
+    /**
+     * AbstractPathJob constructor reading from a given snapshot, used by the benchmarks on recorded terrain.
+     * Nothing is read here, the job reads the blocks when it runs.
+     *
+     * @param snapshot the snapshot of the blocks within which to path.
+     * @param start    the start position from which to path from.
+     * @param end      the end position to path to
+     * @param range    maximum path range.
+     * @param result   path result.
+     */
+    protected AbstractPathJob(
+                               @NotNull final PathingSnapshot snapshot,
+                               @NotNull final BlockPos start, @NotNull final BlockPos end, final int range,
+                               final PathResult result)
     {
         final int minX = Math.min(start.getX(), end.getX()) - (range / 2);
         final int minZ = Math.min(start.getZ(), end.getZ()) - (range / 2);
         final int maxX = Math.max(start.getX(), end.getX()) + (range / 2);
         final int maxZ = Math.max(start.getZ(), end.getZ()) + (range / 2);
 
-        this.world = new ChunkCache(world, new BlockPos(minX, MIN_Y, minZ), new BlockPos(maxX, MAX_Y, maxZ), range);
+        this.snapshot = snapshot.newReader(new BlockPos(minX, MIN_Y, minZ), new BlockPos(maxX, MAX_Y, maxZ));
 
         this.start = new BlockPos(start);
         this.maxRange = range;
@@ -150,6 +181,9 @@ public abstract class AbstractPathJob implements Callable<Path>
 
         allowJumpPointSearchTypeWalk = false;
 
+        final int distance = Math.abs(start.getX() - end.getX()) + Math.abs(start.getY() - end.getY()) + Math.abs(start.getZ() - end.getZ());
+        this.priority = distance <= SHORT_PATH_LENGTH ? PathPriority.SHORT : PathPriority.NORMAL;
+
         if (Configurations.pathfindingDebugDraw)
         {
             debugDrawEnabled = true;
@@ -221,15 +255,16 @@ public abstract class AbstractPathJob implements Callable<Path>
     /**
      * Sets the direction where the ladder is facing.
      *
-     * @param world the world in.
-     * @param pos   the position.
-     * @param p     the path.
+     * @param snapshot the snapshot of the world.
+     * @param pos      the position.
+     * @param p        the path.
      */
-    private static void setLadderFacing(@NotNull final IBlockAccess world, final BlockPos pos, @NotNull final PathPointExtended p)
+    private static void setLadderFacing(@NotNull final PathingSnapshot.Reader snapshot, final BlockPos pos, @NotNull final PathPointExtended p)
     {
-        if (world.getBlockState(pos).getBlock() instanceof BlockVine)
+        final IBlockState state = snapshot.getBlockState(pos);
+        if (state.getBlock() instanceof BlockVine)
         {
-            final int meta = world.getBlockState(pos).getBlock().getMetaFromState(world.getBlockState(pos));
+            final int meta = state.getBlock().getMetaFromState(state);
 
             if (((meta >>> SHIFT_SOUTH) & 1) != 0)
             {
@@ -250,7 +285,7 @@ public abstract class AbstractPathJob implements Callable<Path>
         }
         else
         {
-            p.setLadderFacing(world.getBlockState(pos).getValue(BlockLadder.FACING));
+            p.setLadderFacing(state.getValue(BlockLadder.FACING));
         }
     }
 
@@ -332,9 +367,14 @@ public abstract class AbstractPathJob implements Callable<Path>
         return node != null && node.isClosed();
     }
 
-    private static boolean calculateSwimming(@NotNull final IBlockAccess world, @NotNull final BlockPos pos, @Nullable final Node node)
+    private static boolean calculateSwimming(@NotNull final PathingSnapshot.Reader snapshot, @NotNull final BlockPos pos, @Nullable final Node node)
     {
-        return (node == null) ? world.getBlockState(pos.down()).getMaterial().isLiquid() : node.isSwimming();
+        return (node == null) ? hasFlag(snapshot.getFlags(pos.down()), PathingSnapshot.LIQUID) : node.isSwimming();
+    }
+
+    private static boolean hasFlag(final int flags, final int flag)
+    {
+        return (flags & flag) != 0;
     }
 
     public PathResult getResult()
@@ -342,6 +382,63 @@ public abstract class AbstractPathJob implements Callable<Path>
         return result;
     }
 
+    /**
+     * @return the number of nodes added to the open set by the last search.
+     */
+    public int getTotalNodesAdded()
+    {
+        return totalNodesAdded;
+    }
+
+    /**
+     * @return the number of nodes visited by the last search.
+     */
+    public int getTotalNodesVisited()
+    {
+        return totalNodesVisited;
+    }
+
+    /**
+     * Get the priority of this job in the pathfinding queue.
+     *
+     * @return the priority.
+     */
+    @NotNull
+    public PathPriority getPriority()
+    {
+        return priority;
+    }
+
+    /**
+     * Set the priority of this job in the pathfinding queue.
+     *
+     * @param priority the priority.
+     */
+    public void setPriority(@NotNull final PathPriority priority)
+    {
+        this.priority = priority;
+    }
+
+    /**
+     * Get the id of the colony this job is computed for.
+     *
+     * @return the colony id or {@link #NO_COLONY}.
+     */
+    public int getColonyId()
+    {
+        return colonyId;
+    }
+
+    /**
+     * Set the id of the colony this job is computed for, used to share the workers fairly between colonies.
+     *
+     * @param colonyId the colony id.
+     */
+    public void setColonyId(final int colonyId)
+    {
+        this.colonyId = colonyId;
+    }
+
     /**
      * Callable method for initiating asynchronous task.
      *
@@ -370,18 +467,20 @@ public abstract class AbstractPathJob implements Callable<Path>
     @Nullable
     protected Path search()
     {
+        nodes = NodeStore.forCurrentThread();
+
         Node bestNode = getAndSetupStartNode();
 
         double bestNodeResultScore = getNodeResultScore(bestNode);
 
-        while (!nodesOpen.isEmpty())
+        while (nodes.hasOpen())
         {
             if (Thread.currentThread().isInterrupted())
             {
                 return null;
             }
 
-            final Node currentNode = nodesOpen.poll();
+            final Node currentNode = nodes.poll();
 
             totalNodesVisited++;
             currentNode.setCounterVisited(totalNodesVisited);
@@ -543,13 +642,13 @@ public abstract class AbstractPathJob implements Callable<Path>
         {
             startNode.setLadder();
         }
-        else if (world.getBlockState(start).getMaterial().isLiquid())
+        else if (hasFlag(snapshot.getFlags(start), PathingSnapshot.LIQUID))
         {
             startNode.setSwimming();
         }
 
-        nodesOpen.offer(startNode);
-        nodesVisited.put(computeNodeKey(start), startNode);
+        nodes.offer(startNode);
+        nodes.putVisited(computeNodeKey(start), startNode);
 
         ++totalNodesAdded;
 
@@ -607,7 +706,7 @@ public abstract class AbstractPathJob implements Callable<Path>
                 {
                     //  We only care about facing if going up
                     //In the case of BlockVines (Which does not have EnumFacing) we have to check the metadata of the vines... bitwise...
-                    setLadderFacing(world, pos, p);
+                    setLadderFacing(snapshot, pos, p);
                 }
             }
             else if (onALadder(node.parent, node.parent, pos))
@@ -694,7 +793,7 @@ public abstract class AbstractPathJob implements Callable<Path>
         //  Cheap test to perform before doing a 'y' test
         //  Has this node been visited?
         int nodeKey = computeNodeKey(pos);
-        Node node = nodesVisited.get(nodeKey);
+        Node node = nodes.getVisited(nodeKey);
 
         //  Can we traverse into this node?  Fix the y up
         final int newY = getGroundHeight(parent, pos);
@@ -709,7 +808,7 @@ public abstract class AbstractPathJob implements Callable<Path>
             //  Has this node been visited?
             pos = new BlockPos(pos.getX(), newY, pos.getZ());
             nodeKey = computeNodeKey(pos);
-            node = nodesVisited.get(nodeKey);
+            node = nodes.getVisited(nodeKey);
             if (nodeClosed(node))
             {
                 //  Early out on previously visited and closed nodes
@@ -718,8 +817,8 @@ public abstract class AbstractPathJob implements Callable<Path>
         }
 
 
-        final boolean isSwimming = calculateSwimming(world, pos, node);
-        final boolean onRoad = BlockUtils.isPathBlock(world.getBlockState(pos).getBlock());
+        final boolean isSwimming = calculateSwimming(snapshot, pos, node);
+        final boolean onRoad = hasFlag(snapshot.getFlags(pos), PathingSnapshot.PATH);
         //  Cost may have changed due to a jump up or drop
         final double stepCost = computeCost(dPos, isSwimming, onRoad);
         final double heuristic = computeHeuristic(pos);
@@ -729,14 +828,16 @@ public abstract class AbstractPathJob implements Callable<Path>
         if (node == null)
         {
             node = createNode(parent, pos, nodeKey, isSwimming, heuristic, cost, score);
+            nodes.offer(node);
         }
         else if (updateCurrentNode(parent, node, heuristic, cost, score))
         {
-
             return false;
         }
-
-        nodesOpen.offer(node);
+        else
+        {
+            nodes.decreaseKey(node);
+        }
 
         //  Jump Point Search-ish optimization:
         // If this node was a (heuristic-based) improvement on our parent,
@@ -761,7 +862,7 @@ public abstract class AbstractPathJob implements Callable<Path>
     {
         final Node node;
         node = new Node(parent, pos, cost, heuristic, score);
-        nodesVisited.put(nodeKey, node);
+        nodes.putVisited(nodeKey, node);
         if (debugDrawEnabled)
         {
             debugNodesNotVisited.add(node);
@@ -789,7 +890,7 @@ public abstract class AbstractPathJob implements Callable<Path>
             return true;
         }
 
-        if (!nodesOpen.remove(node))
+        if (!nodes.isOpen(node))
         {
             return true;
         }
@@ -819,14 +920,14 @@ public abstract class AbstractPathJob implements Callable<Path>
         }
 
         //  Now check the block we want to move to
-        final IBlockState target = world.getBlockState(pos);
+        final int target = snapshot.getFlags(pos);
         if (!isPassable(target))
         {
             return handleTargeNotPassable(parent, pos, target);
         }
 
         //  Do we have something to stand on in the target space?
-        final IBlockState below = world.getBlockState(pos.down());
+        final int below = snapshot.getFlags(pos.down());
         final SurfaceType walkability = isWalkableSurface(below);
         if (walkability == SurfaceType.WALKABLE)
         {
@@ -841,16 +942,16 @@ public abstract class AbstractPathJob implements Callable<Path>
         return handleNotStanding(parent, pos, below);
     }
 
-    private int handleNotStanding(@Nullable final Node parent, @NotNull final BlockPos pos, @NotNull final IBlockState below)
+    private int handleNotStanding(@Nullable final Node parent, @NotNull final BlockPos pos, final int below)
     {
         final boolean isSwimming = parent != null && parent.isSwimming();
 
-        if (below.getMaterial().isLiquid())
+        if (hasFlag(below, PathingSnapshot.LIQUID))
         {
             return handleInLiquid(pos, below, isSwimming);
         }
 
-        if (isLadder(below.getBlock(), pos.down()))
+        if (hasFlag(below, PathingSnapshot.LADDER))
         {
             return pos.getY();
         }
@@ -868,8 +969,7 @@ public abstract class AbstractPathJob implements Callable<Path>
         }
 
         final BlockPos down = pos.down(2);
-        final IBlockState below = world.getBlockState(down);
-        if (isWalkableSurface(below) == SurfaceType.WALKABLE)
+        if (isWalkableSurface(snapshot.getFlags(down)) == SurfaceType.WALKABLE)
         {
             //  Level path
             return pos.getY() - 1;
@@ -878,7 +978,7 @@ public abstract class AbstractPathJob implements Callable<Path>
         return -1;
     }
 
-    private int handleInLiquid(@NotNull final BlockPos pos, @NotNull final IBlockState below, final boolean isSwimming)
+    private int handleInLiquid(@NotNull final BlockPos pos, final int below, final boolean isSwimming)
     {
         if (isSwimming)
         {
@@ -886,7 +986,7 @@ public abstract class AbstractPathJob implements Callable<Path>
             return pos.getY();
         }
 
-        if (allowSwimming && below.getMaterial() == Material.WATER)
+        if (allowSwimming && hasFlag(below, PathingSnapshot.WATER))
         {
             //  This is water, and we are allowed to swim
             return pos.getY();
@@ -896,7 +996,7 @@ public abstract class AbstractPathJob implements Callable<Path>
         return -1;
     }
 
-    private int handleTargeNotPassable(@Nullable final Node parent, @NotNull final BlockPos pos, @NotNull final IBlockState target)
+    private int handleTargeNotPassable(@Nullable final Node parent, @NotNull final BlockPos pos, final int target)
     {
         final boolean canJump = parent != null && !parent.isLadder() && !parent.isSwimming();
         //  Need to try jumping up one, if we can
@@ -930,8 +1030,7 @@ public abstract class AbstractPathJob implements Callable<Path>
 
         if (parent != null)
         {
-            final IBlockState hereState = world.getBlockState(parent.pos.down());
-            if (hereState.getMaterial().isLiquid() && !isPassable(pos))
+            if (hasFlag(snapshot.getFlags(parent.pos.down()), PathingSnapshot.LIQUID) && !isPassable(pos))
             {
                 return true;
             }
@@ -942,18 +1041,18 @@ public abstract class AbstractPathJob implements Callable<Path>
     /**
      * Is the space passable.
      *
-     * @param block the block we are checking.
+     * @param flags the {@link PathingSnapshot} flags of the block we are checking.
      * @return true if the block does not block movement.
      */
-    protected boolean isPassable(@NotNull final IBlockState block)
+    protected boolean isPassable(final int flags)
     {
-        if (block.getMaterial() != Material.AIR)
+        if (!hasFlag(flags, PathingSnapshot.AIR))
         {
-            if (block.getMaterial().blocksMovement())
+            if (hasFlag(flags, PathingSnapshot.BLOCKS_MOVEMENT))
             {
-                return block.getBlock() instanceof BlockDoor || block.getBlock() instanceof BlockFenceGate;
+                return hasFlag(flags, PathingSnapshot.DOOR);
             }
-            else if (block.getMaterial().isLiquid())
+            else if (hasFlag(flags, PathingSnapshot.LIQUID))
             {
                 return false;
             }
@@ -964,28 +1063,24 @@ public abstract class AbstractPathJob implements Callable<Path>
 
     protected boolean isPassable(final BlockPos pos)
     {
-        return isPassable(world.getBlockState(pos));
+        return isPassable(snapshot.getFlags(pos));
     }
 
     /**
      * Is the block solid and can be stood upon.
      *
-     * @param blockState Block to check.
+     * @param flags the {@link PathingSnapshot} flags of the block to check.
      * @return true if the block at that location can be walked on.
      */
     @NotNull
-    protected SurfaceType isWalkableSurface(@NotNull final IBlockState blockState)
+    protected SurfaceType isWalkableSurface(final int flags)
     {
-        final Block block = blockState.getBlock();
-        if (block instanceof BlockFence
-              || block instanceof BlockFenceGate
-              || block instanceof BlockWall
-              || block instanceof BlockHutField)
+        if (hasFlag(flags, PathingSnapshot.FENCE))
         {
             return SurfaceType.NOT_PASSABLE;
         }
 
-        if (blockState.getMaterial().isSolid())
+        if (hasFlag(flags, PathingSnapshot.SOLID))
         {
             return SurfaceType.WALKABLE;
         }
@@ -996,18 +1091,12 @@ public abstract class AbstractPathJob implements Callable<Path>
     /**
      * Is the block a ladder.
      *
-     * @param block block to check.
-     * @param pos   location of the block.
+     * @param pos location of the block.
      * @return true if the block is a ladder.
      */
-    protected boolean isLadder(@NotNull final Block block, final BlockPos pos)
-    {
-        return block.isLadder(this.world.getBlockState(pos), world, pos, null);
-    }
-
     protected boolean isLadder(final BlockPos pos)
     {
-        return isLadder(world.getBlockState(pos).getBlock(), pos);
+        return hasFlag(snapshot.getFlags(pos), PathingSnapshot.LADDER);
     }
 
     /**
@@ -81,6 +81,11 @@ public class Node implements Comparable<Node>
      */
     private boolean swimming = false;
 
+    /**
+     * Index of the node in the open heap, -1 if not in it.
+     */
+    private int heapIndex = -1;
+
     /**
      * Create initial Node.
      *
@@ -318,4 +323,22 @@ public class Node implements Comparable<Node>
     {
         return counterAdded;
     }
+
+    /**
+     * Getter of the index in the open heap.
+     * @return the index or -1 if the node isn't open.
+     */
+    int getHeapIndex()
+    {
+        return heapIndex;
+    }
+
+    /**
+     * Sets the index in the open heap.
+     * @param heapIndex the index.
+     */
+    void setHeapIndex(final int heapIndex)
+    {
+        this.heapIndex = heapIndex;
+    }
 }
@@ -0,0 +1,296 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Open and closed sets of a path job.
+ * <p>
+ * The visited nodes are kept in an open-addressed table keyed by the primitive node key, the open nodes in an
+ * indexed binary heap which supports decrease-key. One store is kept per worker thread and cleared between jobs,
+ * so the arrays are only allocated once per thread instead of once per search.
+ */
+final class NodeStore
+{
+    /**
+     * Initial capacity of the visited table, must be a power of two.
+     */
+    static final int INITIAL_TABLE_CAPACITY = 4096;
+
+    /**
+     * Initial capacity of the open heap.
+     */
+    private static final int INITIAL_HEAP_CAPACITY = 512;
+
+    /**
+     * Tables grown beyond this capacity are dropped on clear instead of being kept for the next job.
+     */
+    private static final int MAX_RETAINED_CAPACITY = 1 << 18;
+
+    /**
+     * Multiplier used to spread the node keys over the table.
+     */
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    private static final ThreadLocal<NodeStore> STORES = ThreadLocal.withInitial(NodeStore::new);
+
+    private int[]  keys;
+    private Node[] values;
+    private int    size;
+
+    private Node[] heap;
+    private int    heapSize;
+
+    private NodeStore()
+    {
+        allocateTable(INITIAL_TABLE_CAPACITY);
+        heap = new Node[INITIAL_HEAP_CAPACITY];
+    }
+
+    /**
+     * Get the store of the calling thread, emptied for a new search.
+     *
+     * @return the store.
+     */
+    @NotNull
+    static NodeStore forCurrentThread()
+    {
+        final NodeStore store = STORES.get();
+        store.clear();
+        return store;
+    }
+
+    /**
+     * Get the visited node with the given key.
+     *
+     * @param key the node key.
+     * @return the node or null if it hasn't been visited.
+     */
+    @Nullable
+    Node getVisited(final int key)
+    {
+        final int mask = keys.length - 1;
+        int slot = slotFor(key, mask);
+        while (values[slot] != null)
+        {
+            if (keys[slot] == key)
+            {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Add a node to the visited table.
+     *
+     * @param key  the node key.
+     * @param node the node.
+     */
+    void putVisited(final int key, @NotNull final Node node)
+    {
+        if ((size + 1) * 2 > keys.length)
+        {
+            rehash();
+        }
+
+        final int mask = keys.length - 1;
+        int slot = slotFor(key, mask);
+        while (values[slot] != null)
+        {
+            if (keys[slot] == key)
+            {
+                values[slot] = node;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = node;
+        size++;
+    }
+
+    /**
+     * @return true if there are open nodes left.
+     */
+    boolean hasOpen()
+    {
+        return heapSize > 0;
+    }
+
+    /**
+     * Check if a node is in the open heap.
+     *
+     * @param node the node.
+     * @return true if so.
+     */
+    boolean isOpen(@NotNull final Node node)
+    {
+        return node.getHeapIndex() >= 0;
+    }
+
+    /**
+     * Add a node to the open heap.
+     *
+     * @param node the node.
+     */
+    void offer(@NotNull final Node node)
+    {
+        if (heapSize == heap.length)
+        {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+        }
+
+        heap[heapSize] = node;
+        node.setHeapIndex(heapSize);
+        siftUp(heapSize++);
+    }
+
+    /**
+     * Remove and return the best open node.
+     *
+     * @return the node with the lowest score.
+     */
+    @NotNull
+    Node poll()
+    {
+        final Node best = heap[0];
+        best.setHeapIndex(-1);
+
+        heapSize--;
+        if (heapSize > 0)
+        {
+            heap[0] = heap[heapSize];
+            heap[0].setHeapIndex(0);
+            heap[heapSize] = null;
+            siftDown(0);
+        }
+        else
+        {
+            heap[0] = null;
+        }
+        return best;
+    }
+
+    /**
+     * Restore the heap order after the score of an open node has been lowered.
+     *
+     * @param node the node whose score decreased.
+     */
+    void decreaseKey(@NotNull final Node node)
+    {
+        siftUp(node.getHeapIndex());
+    }
+
+    private void siftUp(final int index)
+    {
+        final Node node = heap[index];
+        int current = index;
+        while (current > 0)
+        {
+            final int parentIndex = (current - 1) >>> 1;
+            final Node parentNode = heap[parentIndex];
+            if (node.compareTo(parentNode) >= 0)
+            {
+                break;
+            }
+
+            heap[current] = parentNode;
+            parentNode.setHeapIndex(current);
+            current = parentIndex;
+        }
+
+        heap[current] = node;
+        node.setHeapIndex(current);
+    }
+
+    private void siftDown(final int index)
+    {
+        final Node node = heap[index];
+        int current = index;
+        final int half = heapSize >>> 1;
+        while (current < half)
+        {
+            int child = (current << 1) + 1;
+            final int right = child + 1;
+            if (right < heapSize && heap[right].compareTo(heap[child]) < 0)
+            {
+                child = right;
+            }
+
+            if (node.compareTo(heap[child]) <= 0)
+            {
+                break;
+            }
+
+            heap[current] = heap[child];
+            heap[current].setHeapIndex(current);
+            current = child;
+        }
+
+        heap[current] = node;
+        node.setHeapIndex(current);
+    }
+
+    private void clear()
+    {
+        if (keys.length > MAX_RETAINED_CAPACITY)
+        {
+            allocateTable(INITIAL_TABLE_CAPACITY);
+        }
+        else if (size > 0)
+        {
+            Arrays.fill(values, null);
+        }
+        size = 0;
+
+        if (heap.length > MAX_RETAINED_CAPACITY)
+        {
+            heap = new Node[INITIAL_HEAP_CAPACITY];
+        }
+        else
+        {
+            Arrays.fill(heap, 0, heapSize, null);
+        }
+        heapSize = 0;
+    }
+
+    private void rehash()
+    {
+        final int[] oldKeys = keys;
+        final Node[] oldValues = values;
+        allocateTable(oldKeys.length * 2);
+        size = 0;
+
+        for (int i = 0; i < oldKeys.length; i++)
+        {
+            if (oldValues[i] != null)
+            {
+                putVisited(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocateTable(final int capacity)
+    {
+        keys = new int[capacity];
+        values = new Node[capacity];
+    }
+
+    /**
+     * Get the first slot to probe for a key, package-private for the tests.
+     *
+     * @param key  the node key.
+     * @param mask the capacity of the table minus one.
+     * @return the slot.
+     */
+    static int slotFor(final int key, final int mask)
+    {
+        final int hash = key * HASH_MULTIPLIER;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
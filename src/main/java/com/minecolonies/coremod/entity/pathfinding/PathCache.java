@@ -0,0 +1,219 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import net.minecraft.pathfinding.Path;
+import net.minecraft.pathfinding.PathPoint;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Colony scoped cache of recently computed paths, keyed by their start and destination cell.
+ * <p>
+ * An entry is dropped when a block inside its corridor (the bounding box of its points, padded by one block and
+ * the height of a citizen) changes, when it gets too old or when the cache is full.
+ * Only accessed from the server thread.
+ */
+public class PathCache
+{
+    /**
+     * Maximum number of cached paths per colony.
+     */
+    private static final int MAX_ENTRIES = 256;
+
+    /**
+     * Time a path stays valid without block changes, in milliseconds.
+     */
+    private static final long MAX_AGE = 60_000L;
+
+    /**
+     * Padding around the path points which is considered part of the corridor.
+     */
+    private static final int CORRIDOR_PADDING = 1;
+
+    /**
+     * Height above the path points which is considered part of the corridor.
+     */
+    private static final int CORRIDOR_HEIGHT = 2;
+
+    private final Map<Key, Entry> entries = new LinkedHashMap<Key, Entry>(MAX_ENTRIES, 0.75F, true)
+    {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, Entry> eldest)
+        {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Get a copy of a cached path.
+     *
+     * @param start       the start cell.
+     * @param destination the destination cell.
+     * @return a new path to follow, or null if none is cached.
+     */
+    @Nullable
+    public Path get(@NotNull final BlockPos start, @NotNull final BlockPos destination)
+    {
+        final Key key = new Key(start, destination);
+        final Entry entry = entries.get(key);
+        if (entry == null)
+        {
+            return null;
+        }
+
+        if (System.currentTimeMillis() - entry.createdAt > MAX_AGE)
+        {
+            entries.remove(key);
+            return null;
+        }
+
+        return new Path(entry.points.clone());
+    }
+
+    /**
+     * Cache a path which reaches its destination.
+     *
+     * @param start       the start cell.
+     * @param destination the destination cell.
+     * @param path        the computed path.
+     */
+    public void put(@NotNull final BlockPos start, @NotNull final BlockPos destination, @NotNull final Path path)
+    {
+        final int length = path.getCurrentPathLength();
+        if (length == 0)
+        {
+            return;
+        }
+
+        final PathPoint[] points = new PathPoint[length];
+        for (int i = 0; i < length; i++)
+        {
+            points[i] = path.getPathPointFromIndex(i);
+        }
+        entries.put(new Key(start, destination), new Entry(points));
+    }
+
+    /**
+     * Drop all paths whose corridor contains a changed block.
+     *
+     * @param pos the position of the changed block.
+     */
+    public void invalidate(@NotNull final BlockPos pos)
+    {
+        final Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext())
+        {
+            if (iterator.next().isInCorridor(pos))
+            {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Drop every cached path.
+     */
+    public void clear()
+    {
+        entries.clear();
+    }
+
+    /**
+     * @return the number of cached paths.
+     */
+    public int size()
+    {
+        return entries.size();
+    }
+
+    /**
+     * Start and destination of a path.
+     */
+    private static final class Key
+    {
+        private final long start;
+        private final long destination;
+
+        private Key(@NotNull final BlockPos start, @NotNull final BlockPos destination)
+        {
+            this.start = start.toLong();
+            this.destination = destination.toLong();
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass())
+            {
+                return false;
+            }
+
+            final Key key = (Key) o;
+            return start == key.start && destination == key.destination;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * Long.hashCode(start) + Long.hashCode(destination);
+        }
+    }
+
+    /**
+     * A cached path and its corridor.
+     */
+    private static final class Entry
+    {
+        private final PathPoint[] points;
+        private final long        createdAt = System.currentTimeMillis();
+        private final int         minX;
+        private final int         minY;
+        private final int         minZ;
+        private final int         maxX;
+        private final int         maxY;
+        private final int         maxZ;
+
+        private Entry(@NotNull final PathPoint[] points)
+        {
+            this.points = points;
+
+            int lowX = Integer.MAX_VALUE;
+            int lowY = Integer.MAX_VALUE;
+            int lowZ = Integer.MAX_VALUE;
+            int highX = Integer.MIN_VALUE;
+            int highY = Integer.MIN_VALUE;
+            int highZ = Integer.MIN_VALUE;
+            for (final PathPoint point : points)
+            {
+                lowX = Math.min(lowX, point.xCoord);
+                lowY = Math.min(lowY, point.yCoord);
+                lowZ = Math.min(lowZ, point.zCoord);
+                highX = Math.max(highX, point.xCoord);
+                highY = Math.max(highY, point.yCoord);
+                highZ = Math.max(highZ, point.zCoord);
+            }
+
+            minX = lowX - CORRIDOR_PADDING;
+            minY = lowY - CORRIDOR_PADDING;
+            minZ = lowZ - CORRIDOR_PADDING;
+            maxX = highX + CORRIDOR_PADDING;
+            maxY = highY + CORRIDOR_HEIGHT;
+            maxZ = highZ + CORRIDOR_PADDING;
+        }
+
+        private boolean isInCorridor(@NotNull final BlockPos pos)
+        {
+            return pos.getX() >= minX && pos.getX() <= maxX
+                     && pos.getY() >= minY && pos.getY() <= maxY
+                     && pos.getZ() >= minZ && pos.getZ() <= maxZ;
+        }
+    }
+}
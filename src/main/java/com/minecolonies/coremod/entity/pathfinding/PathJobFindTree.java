@@ -1,8 +1,6 @@
 package com.minecolonies.coremod.entity.pathfinding;
 
 import com.minecolonies.coremod.entity.ai.citizen.lumberjack.Tree;
-import net.minecraft.block.material.Material;
-import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import org.jetbrains.annotations.NotNull;
@@ -30,6 +28,23 @@ public class PathJobFindTree extends AbstractPathJob
         hutLocation = home;
     }
 
+    /**
+     * AbstractPathJob constructor on a given snapshot, used by the benchmarks.
+     *
+     * @param snapshot the snapshot of the blocks within which to path.
+     * @param start    the start position from which to path from.
+     * @param home     the position of the workers hut.
+     * @param range    maximum path range.
+     */
+    public PathJobFindTree(
+                            @NotNull final PathingSnapshot snapshot,
+                            @NotNull final BlockPos start, final BlockPos home, final int range)
+    {
+        super(snapshot, start, start, range, new TreePathResult());
+
+        hutLocation = home;
+    }
+
     /**
      * Custom result of the class which contains the position of the tree.
      */
@@ -81,7 +96,7 @@ public class PathJobFindTree extends AbstractPathJob
 
     private boolean isTree(final BlockPos pos)
     {
-        if (Tree.checkTree(world, pos))
+        if (Tree.checkTree(snapshot, pos))
         {
             getResult().treeLocation = pos;
             return true;
@@ -97,8 +112,8 @@ public class PathJobFindTree extends AbstractPathJob
     }
 
     @Override
-    protected boolean isPassable(@NotNull final IBlockState block)
+    protected boolean isPassable(final int flags)
     {
-        return super.isPassable(block) || block.getMaterial() == Material.LEAVES;
+        return super.isPassable(flags) || (flags & PathingSnapshot.LEAVES) != 0;
     }
 }
@@ -38,6 +38,24 @@ public class PathJobFindWater extends AbstractPathJob
         hutLocation = home;
     }
 
+    /**
+     * AbstractPathJob constructor on a given snapshot, used by the benchmarks.
+     *
+     * @param snapshot the snapshot of the blocks within which to path.
+     * @param start    the start position from which to path from.
+     * @param home     the position of the workers hut.
+     * @param range    maximum path range.
+     * @param ponds    already visited fishing places.
+     */
+    public PathJobFindWater(
+                             @NotNull final PathingSnapshot snapshot,
+                             @NotNull final BlockPos start, final BlockPos home, final int range, @NotNull final List<BlockPos> ponds)
+    {
+        super(snapshot, start, start, range, new WaterPathResult());
+        this.ponds = new ArrayList<>(ponds);
+        hutLocation = home;
+    }
+
     /**
      * Contains the result of the path job to find water.
      */
@@ -116,7 +134,7 @@ public class PathJobFindWater extends AbstractPathJob
             return false;
         }
 
-        @Nullable final Pond pond = Pond.createWater(world, newPond);
+        @Nullable final Pond pond = Pond.createWater(snapshot, newPond);
 
         if (pond != null)
         {
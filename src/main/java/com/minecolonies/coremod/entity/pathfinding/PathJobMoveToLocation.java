@@ -37,6 +37,23 @@ public class PathJobMoveToLocation extends AbstractPathJob
         this.destination = new BlockPos(end);
     }
 
+    /**
+     * Prepares the PathJob on a given snapshot, used by the benchmarks.
+     *
+     * @param snapshot snapshot of the blocks the entity is in.
+     * @param start    starting location.
+     * @param end      target location.
+     * @param range    max search range.
+     */
+    public PathJobMoveToLocation(
+                                  @NotNull final PathingSnapshot snapshot,
+                                  @NotNull final BlockPos start, @NotNull final BlockPos end, final int range)
+    {
+        super(snapshot, start, end, range, new PathResult());
+
+        this.destination = new BlockPos(end);
+    }
+
     /**
      * Perform the search.
      *
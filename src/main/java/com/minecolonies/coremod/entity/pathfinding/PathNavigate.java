@@ -1,5 +1,6 @@
 package com.minecolonies.coremod.entity.pathfinding;
 
+import com.minecolonies.coremod.colony.jobs.JobGuard;
 import com.minecolonies.coremod.entity.EntityCitizen;
 import com.minecolonies.coremod.util.BlockPosUtil;
 import com.minecolonies.coremod.util.BlockUtils;
@@ -15,7 +16,6 @@ import net.minecraft.world.World;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
@@ -37,6 +37,11 @@ public class PathNavigate extends PathNavigateGround
     private       Future<Path> future;
     @Nullable
     private       PathResult   pathResult;
+    //  Start and destination of the queued job, to put its path into the colony cache
+    @Nullable
+    private       BlockPos     cacheStart;
+    @Nullable
+    private       BlockPos     cacheDestination;
 
     /**
      * Instantiates the navigation of an entity.
@@ -152,9 +157,65 @@ public class PathNavigate extends PathNavigateGround
         @NotNull final BlockPos start = AbstractPathJob.prepareStart(entity);
         @NotNull final BlockPos dest = new BlockPos(newX, newY, newZ);
 
-        return setPathJob(
+        @Nullable final PathCache cache = getPathCache();
+        if (cache != null)
+        {
+            @Nullable final Path cachedPath = cache.get(start, dest);
+            if (cachedPath != null)
+            {
+                return setCachedPath(cachedPath, dest, speed);
+            }
+        }
+
+        final PathResult result = setPathJob(
           new PathJobMoveToLocation(entity.worldObj, start, dest, (int) getPathSearchRange()),
           dest, speed);
+
+        if (cache != null)
+        {
+            cacheStart = start;
+            cacheDestination = dest;
+        }
+        return result;
+    }
+
+    /**
+     * Get the path cache of the colony of the entity.
+     *
+     * @return the cache or null if the entity isn't a citizen of a colony.
+     */
+    @Nullable
+    private PathCache getPathCache()
+    {
+        if (entity instanceof EntityCitizen && ((EntityCitizen) entity).getColony() != null)
+        {
+            return ((EntityCitizen) entity).getColony().getPathCache();
+        }
+        return null;
+    }
+
+    /**
+     * Follow a path taken from the colony path cache instead of queueing a job.
+     *
+     * @param path  the cached path.
+     * @param dest  the destination.
+     * @param speed the walking speed.
+     * @return the PathResult.
+     */
+    @NotNull
+    private PathResult setCachedPath(@NotNull final Path path, final BlockPos dest, final double speed)
+    {
+        clearPathEntity();
+
+        this.destination = dest;
+        this.walkSpeed = speed;
+
+        pathResult = new PathResult();
+        super.setPath(path, speed);
+        pathResult.setPathReachesDestination(true);
+        pathResult.setPathLength(path.getCurrentPathLength());
+        pathResult.setStatus(PathResult.Status.IN_PROGRESS_FOLLOWING);
+        return pathResult;
     }
 
     public boolean isUnableToReachDestination()
@@ -170,6 +231,20 @@ public class PathNavigate extends PathNavigateGround
         this.destination = dest;
         this.walkSpeed = speed;
 
+        if (entity instanceof EntityCitizen)
+        {
+            final EntityCitizen citizen = (EntityCitizen) entity;
+            if (citizen.getColony() != null)
+            {
+                job.setColonyId(citizen.getColony().getID());
+            }
+
+            if (citizen.getColonyJob() instanceof JobGuard)
+            {
+                job.setPriority(PathPriority.URGENT);
+            }
+        }
+
         future = Pathfinding.enqueue(job);
         pathResult = job.getResult();
         return pathResult;
@@ -220,6 +295,12 @@ public class PathNavigate extends PathNavigateGround
 
                 setPath(future.get(), walkSpeed);
 
+                @Nullable final PathCache cache = getPathCache();
+                if (cache != null && cacheStart != null && cacheDestination != null && pathResult.getPathReachesDestination())
+                {
+                    cache.put(cacheStart, cacheDestination, getPath());
+                }
+
                 pathResult.setPathLength(getPath().getCurrentPathLength());
                 pathResult.setStatus(PathResult.Status.IN_PROGRESS_FOLLOWING);
 
@@ -238,6 +319,8 @@ public class PathNavigate extends PathNavigateGround
             }
 
             future = null;
+            cacheStart = null;
+            cacheDestination = null;
         }
 
         int oldIndex = this.noPath() ? 0 : this.getPath().getCurrentPathIndex();
@@ -384,39 +467,11 @@ public class PathNavigate extends PathNavigateGround
         }
 
         destination = null;
+        cacheStart = null;
+        cacheDestination = null;
         super.clearPathEntity();
     }
 
-    /**
-     * Used to find a tree.
-     *
-     * @param range in the range.
-     * @param speed walking speed.
-     * @return the result of the search.
-     */
-    public PathJobFindTree.TreePathResult moveToTree(final int range, final double speed)
-    {
-        @NotNull final BlockPos start = AbstractPathJob.prepareStart(entity);
-        return (PathJobFindTree.TreePathResult) setPathJob(
-          new PathJobFindTree(entity.worldObj, start, ((EntityCitizen) entity).getWorkBuilding().getLocation(), range), null, speed);
-    }
-
-    /**
-     * Used to find a water.
-     *
-     * @param range in the range.
-     * @param speed walking speed.
-     * @param ponds a list of ponds.
-     * @return the result of the search.
-     */
-    @Nullable
-    public PathJobFindWater.WaterPathResult moveToWater(final int range, final double speed, final List<BlockPos> ponds)
-    {
-        @NotNull final BlockPos start = AbstractPathJob.prepareStart(entity);
-        return (PathJobFindWater.WaterPathResult) setPathJob(
-          new PathJobFindWater(entity.worldObj, start, ((EntityCitizen) entity).getWorkBuilding().getLocation(), range, ponds), null, speed);
-    }
-
     /**
      * Used to move a living entity with a speed.
      *
@@ -0,0 +1,23 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+/**
+ * Priority of a path job in the pathfinding queue, most urgent first.
+ */
+public enum PathPriority
+{
+    /**
+     * Jobs which have to be answered quickly, like guards chasing a target.
+     * These are accepted even when the queue is full.
+     */
+    URGENT,
+
+    /**
+     * Short jobs, which are cheap to compute.
+     */
+    SHORT,
+
+    /**
+     * Every other job.
+     */
+    NORMAL
+}
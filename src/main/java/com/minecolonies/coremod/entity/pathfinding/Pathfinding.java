@@ -14,24 +14,68 @@ import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.lwjgl.opengl.GL11;
 
 import java.util.ConcurrentModificationException;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Static class the handles all the Pathfinding.
+ * <p>
+ * Jobs are run on a fixed pool of worker threads sized from {@link Configurations#pathfindingMaxThreadCount}.
+ * Queued jobs are ordered by their {@link PathPriority}, then round-robin between the colonies which submitted them,
+ * then in submission order.
  */
 public final class Pathfinding
 {
-    private static final BlockingQueue<Runnable> jobQueue = new LinkedBlockingDeque<>();
-    private static final ResourceLocation        TEXTURE  = new ResourceLocation("textures/gui/widgets.png");
+    private static final ResourceLocation TEXTURE = new ResourceLocation("textures/gui/widgets.png");
+
+    /**
+     * Time idle worker threads are kept alive, in seconds.
+     */
+    private static final int WORKER_KEEP_ALIVE = 10;
+
+    /**
+     * Nanoseconds per millisecond, used for the latency metrics.
+     */
+    private static final double NANOS_PER_MILLI = 1_000_000D;
+
+    private static final PriorityBlockingQueue<Runnable> jobQueue = new PriorityBlockingQueue<>();
     private static final ThreadPoolExecutor executor;
+
+    /**
+     * Number of queued jobs per colony id, used to interleave the jobs of busy colonies with those of quiet ones.
+     */
+    private static final Map<Integer, AtomicInteger> pendingJobsPerColony = new ConcurrentHashMap<>();
+
+    //  Metrics
+    private static final AtomicLong jobSequence   = new AtomicLong();
+    private static final AtomicLong submittedJobs = new AtomicLong();
+    private static final AtomicLong completedJobs = new AtomicLong();
+    private static final AtomicLong rejectedJobs  = new AtomicLong();
+    private static final AtomicLong totalWaitTime = new AtomicLong();
+    private static final AtomicLong totalRunTime  = new AtomicLong();
+    private static final AtomicLong maxWaitTime   = new AtomicLong();
+
     static
     {
-        executor = new ThreadPoolExecutor(1, Configurations.pathfindingMaxThreadCount, 10, TimeUnit.SECONDS, jobQueue);
+        final int threads = Math.max(1, Configurations.pathfindingMaxThreadCount);
+        final AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, WORKER_KEEP_ALIVE, TimeUnit.SECONDS, jobQueue, runnable ->
+        {
+            final Thread thread = new Thread(runnable, "Minecolonies Pathfinding Worker #" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
     }
+
     private Pathfinding()
     {
         //Hides default constructor.
@@ -39,13 +83,115 @@ public final class Pathfinding
 
     /**
      * Add a job to the queue for processing.
+     * <p>
+     * When the queue already holds {@link Configurations#pathfindingMaxQueueSize} jobs, only
+     * {@link PathPriority#URGENT} jobs are accepted; other jobs are rejected and their result is cancelled.
      *
      * @param job PathJob
-     * @return a Future containing the Path
+     * @return a Future containing the Path, or null if the job was rejected.
      */
+    @Nullable
     public static Future<Path> enqueue(@NotNull final AbstractPathJob job)
     {
-        return executor.submit(job);
+        if (job.getPriority() != PathPriority.URGENT && jobQueue.size() >= Configurations.pathfindingMaxQueueSize)
+        {
+            rejectedJobs.incrementAndGet();
+            job.getResult().setStatus(PathResult.Status.CANCELLED);
+            return null;
+        }
+
+        final AtomicInteger pending = pendingJobsPerColony.computeIfAbsent(job.getColonyId(), id -> new AtomicInteger());
+        @NotNull final PathJobFuture future = new PathJobFuture(job, pending.getAndIncrement(), jobSequence.incrementAndGet(), pending);
+
+        submittedJobs.incrementAndGet();
+        executor.execute(future);
+        return future;
+    }
+
+    /**
+     * @return the number of jobs waiting for a worker thread.
+     */
+    public static int getQueueDepth()
+    {
+        return jobQueue.size();
+    }
+
+    /**
+     * @return the number of jobs currently being computed.
+     */
+    public static int getActiveJobs()
+    {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * @return the number of worker threads in the pool.
+     */
+    public static int getWorkerCount()
+    {
+        return executor.getMaximumPoolSize();
+    }
+
+    /**
+     * Get the number of jobs a colony has waiting in the queue.
+     *
+     * @param colonyId the id of the colony.
+     * @return the number of queued jobs of that colony.
+     */
+    public static int getQueuedJobs(final int colonyId)
+    {
+        final AtomicInteger pending = pendingJobsPerColony.get(colonyId);
+        return pending == null ? 0 : pending.get();
+    }
+
+    /**
+     * @return the total number of jobs accepted since startup.
+     */
+    public static long getSubmittedJobs()
+    {
+        return submittedJobs.get();
+    }
+
+    /**
+     * @return the total number of jobs computed since startup.
+     */
+    public static long getCompletedJobs()
+    {
+        return completedJobs.get();
+    }
+
+    /**
+     * @return the total number of jobs rejected because the queue was full.
+     */
+    public static long getRejectedJobs()
+    {
+        return rejectedJobs.get();
+    }
+
+    /**
+     * @return the average time a job waited in the queue, in milliseconds.
+     */
+    public static double getAverageWaitMillis()
+    {
+        final long completed = completedJobs.get();
+        return completed == 0 ? 0 : totalWaitTime.get() / NANOS_PER_MILLI / completed;
+    }
+
+    /**
+     * @return the longest time a job waited in the queue, in milliseconds.
+     */
+    public static double getMaxWaitMillis()
+    {
+        return maxWaitTime.get() / NANOS_PER_MILLI;
+    }
+
+    /**
+     * @return the average time needed to compute a job, in milliseconds.
+     */
+    public static double getAverageRunMillis()
+    {
+        final long completed = completedJobs.get();
+        return completed == 0 ? 0 : totalRunTime.get() / NANOS_PER_MILLI / completed;
     }
 
     /**
@@ -240,4 +386,81 @@ public final class Pathfinding
         GL11.glPopMatrix();
         GL11.glPopAttrib();
     }
+
+    /**
+     * Future wrapping a path job in the queue, ordered by priority, colony round and submission order.
+     */
+    private static final class PathJobFuture extends FutureTask<Path> implements Comparable<PathJobFuture>
+    {
+        private final PathPriority  priority;
+        private final int           colonyRound;
+        private final long          sequence;
+        private final AtomicInteger colonyPending;
+        private final long          enqueuedAt = System.nanoTime();
+
+        /**
+         * Wraps a job for the queue.
+         *
+         * @param job           the job to run.
+         * @param colonyRound   the number of jobs the colony had queued before this one.
+         * @param sequence      the global submission number.
+         * @param colonyPending the counter of queued jobs of the colony.
+         */
+        PathJobFuture(@NotNull final AbstractPathJob job, final int colonyRound, final long sequence, @NotNull final AtomicInteger colonyPending)
+        {
+            super(job);
+            this.priority = job.getPriority();
+            this.colonyRound = colonyRound;
+            this.sequence = sequence;
+            this.colonyPending = colonyPending;
+        }
+
+        @Override
+        public void run()
+        {
+            colonyPending.decrementAndGet();
+            if (isCancelled())
+            {
+                return;
+            }
+
+            final long startedAt = System.nanoTime();
+            final long waited = startedAt - enqueuedAt;
+            totalWaitTime.addAndGet(waited);
+            maxWaitTime.accumulateAndGet(waited, Math::max);
+
+            super.run();
+
+            totalRunTime.addAndGet(System.nanoTime() - startedAt);
+            completedJobs.incrementAndGet();
+        }
+
+        @Override
+        public int compareTo(@NotNull final PathJobFuture other)
+        {
+            if (priority != other.priority)
+            {
+                return priority.compareTo(other.priority);
+            }
+
+            if (colonyRound != other.colonyRound)
+            {
+                return Integer.compare(colonyRound, other.colonyRound);
+            }
+
+            return Long.compare(sequence, other.sequence);
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            return this == o;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Long.hashCode(sequence);
+        }
+    }
 }
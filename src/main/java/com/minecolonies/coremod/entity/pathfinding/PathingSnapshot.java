@@ -0,0 +1,653 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import com.minecolonies.coremod.blocks.BlockHutField;
+import com.minecolonies.coremod.util.BlockUtils;
+import net.minecraft.block.*;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Biomes;
+import net.minecraft.init.Blocks;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Immutable, per chunk section snapshots of the blocks the path jobs of a world walk through.
+ * <p>
+ * Creating a job only records the box it may walk through. When a job reads a section which isn't captured yet, it
+ * requests it and waits, the server thread captures up to {@link #CAPTURES_PER_TICK} requested sections at the end of
+ * each world tick. A job keeps the sections it read, so it sees a consistent world. Captured sections are shared by
+ * every later job in the same world until a block inside the section changes or the section expires. Each section
+ * stores the block states and a packed set of passability flags, so the pathfinding checks are plain array reads and
+ * never touch the world.
+ * <p>
+ * Block accesses which are not a world, like the recorded terrain of the benchmarks, are captured by the reader itself.
+ */
+public final class PathingSnapshot
+{
+    /**
+     * The block is air.
+     */
+    public static final int AIR             = 1;
+    /**
+     * The material of the block blocks movement.
+     */
+    public static final int BLOCKS_MOVEMENT = 1 << 1;
+    /**
+     * The block is a liquid.
+     */
+    public static final int LIQUID          = 1 << 2;
+    /**
+     * The block is water.
+     */
+    public static final int WATER           = 1 << 3;
+    /**
+     * The block is a door or fence gate, which can be walked through.
+     */
+    public static final int DOOR            = 1 << 4;
+    /**
+     * The block is a fence, wall, gate or field, which can't be walked upon.
+     */
+    public static final int FENCE           = 1 << 5;
+    /**
+     * The material of the block is solid.
+     */
+    public static final int SOLID           = 1 << 6;
+    /**
+     * The block is a ladder.
+     */
+    public static final int LADDER          = 1 << 7;
+    /**
+     * The block is a path block.
+     */
+    public static final int PATH            = 1 << 8;
+    /**
+     * The block is leaves.
+     */
+    public static final int LEAVES          = 1 << 9;
+
+    /**
+     * Flags of blocks in chunks which are not loaded, neither passable nor walkable.
+     */
+    private static final int UNLOADED = BLOCKS_MOVEMENT | FENCE;
+
+    /**
+     * Time after which a section is captured again, even if no block update was seen, in nanoseconds.
+     */
+    private static final long SECTION_EXPIRY = 30_000_000_000L;
+
+    /**
+     * Number of sections kept per world before the snapshot is flushed.
+     */
+    private static final int MAX_SECTIONS = 4096;
+
+    /**
+     * Number of requested sections the server thread captures per world tick.
+     */
+    private static final int CAPTURES_PER_TICK = 64;
+
+    /**
+     * Time a job waits for a requested section before reading it as unloaded, in milliseconds.
+     */
+    private static final long CAPTURE_TIMEOUT = 2000L;
+
+    private static final int SECTION_SIZE  = 16;
+    private static final int SECTION_MASK  = 15;
+    private static final int SECTION_SHIFT = 4;
+    private static final int SECTION_COUNT = 16;
+    private static final int SECTION_BLOCKS = SECTION_SIZE * SECTION_SIZE * SECTION_SIZE;
+    private static final int MAX_Y         = 256;
+
+    /**
+     * Shifts to pack the section coordinates into a long key.
+     */
+    private static final int KEY_X_SHIFT = 38;
+    private static final int KEY_Z_SHIFT = 12;
+    private static final int KEY_BITS    = 64;
+    private static final int KEY_XZ_BITS = 26;
+    private static final long KEY_XZ_MASK = 0x3FFFFFFL;
+    private static final long KEY_Y_MASK  = 0xFFFL;
+
+    private static final Map<World, PathingSnapshot> snapshots = new WeakHashMap<>();
+
+    @NotNull
+    private final IBlockAccess       blocks;
+    private final Map<Long, Section> sections      = new ConcurrentHashMap<>();
+    /**
+     * The epoch of the last invalidation of each section, captures started before it are thrown away.
+     */
+    private final Map<Long, Long>    invalidations = new ConcurrentHashMap<>();
+    private final AtomicLong         epoch         = new AtomicLong();
+    /**
+     * The epoch of the last flush of the invalidations, captures started before it are thrown away.
+     */
+    private volatile long            flushedAt     = 0;
+    /**
+     * Sections the path jobs wait for, captured by the server thread in the order they were requested.
+     */
+    private final Map<Long, CompletableFuture<Section>> requests     = new ConcurrentHashMap<>();
+    private final Queue<Long>                           requestOrder = new ConcurrentLinkedQueue<>();
+    /**
+     * The thread ticking the world, which may capture sections right away.
+     */
+    @Nullable
+    private volatile Thread                             tickThread   = null;
+
+    private PathingSnapshot(@NotNull final IBlockAccess blocks)
+    {
+        this.blocks = blocks;
+    }
+
+    /**
+     * Create an unshared snapshot over any block access, for example recorded terrain in the benchmarks.
+     * Block accesses which are not a {@link World} are read block by block and considered fully loaded.
+     *
+     * @param blocks the blocks to read.
+     * @return a new snapshot.
+     */
+    @NotNull
+    public static PathingSnapshot of(@NotNull final IBlockAccess blocks)
+    {
+        return new PathingSnapshot(blocks);
+    }
+
+    /**
+     * Get the shared snapshot of a world.
+     *
+     * @param world the world.
+     * @return the snapshot.
+     */
+    @NotNull
+    public static PathingSnapshot forWorld(@NotNull final World world)
+    {
+        synchronized (snapshots)
+        {
+            return snapshots.computeIfAbsent(world, PathingSnapshot::new);
+        }
+    }
+
+    /**
+     * Drop the section containing a changed block, so the next job reading it captures it again.
+     *
+     * @param world the world the block changed in.
+     * @param pos   the position of the block.
+     */
+    public static void invalidate(@NotNull final World world, @NotNull final BlockPos pos)
+    {
+        final PathingSnapshot snapshot;
+        synchronized (snapshots)
+        {
+            snapshot = snapshots.get(world);
+        }
+
+        if (snapshot != null)
+        {
+            snapshot.invalidate(sectionKey(pos.getX() >> SECTION_SHIFT, pos.getY() >> SECTION_SHIFT, pos.getZ() >> SECTION_SHIFT));
+        }
+    }
+
+    /**
+     * Capture the sections the path jobs of a world requested, call at the end of each world tick.
+     *
+     * @param world the world.
+     */
+    public static void onWorldTick(@NotNull final World world)
+    {
+        final PathingSnapshot snapshot;
+        synchronized (snapshots)
+        {
+            snapshot = snapshots.get(world);
+        }
+
+        if (snapshot != null)
+        {
+            snapshot.captureRequested();
+        }
+    }
+
+    private void captureRequested()
+    {
+        tickThread = Thread.currentThread();
+        for (int i = 0; i < CAPTURES_PER_TICK; i++)
+        {
+            final Long key = requestOrder.poll();
+            if (key == null)
+            {
+                return;
+            }
+
+            final CompletableFuture<Section> request = requests.remove(key);
+            if (request != null)
+            {
+                request.complete(getSection(key));
+            }
+        }
+    }
+
+    private void invalidate(final long key)
+    {
+        sections.compute(key, (k, old) ->
+        {
+            invalidations.put(k, epoch.incrementAndGet());
+            return null;
+        });
+    }
+
+    /**
+     * Create a reader for one path job; readers are not thread safe.
+     * Nothing is captured here, the reader captures or requests the sections when the job reads them. Blocks outside
+     * of the box read as unloaded.
+     *
+     * @param from the lowest corner of the box the job may walk through.
+     * @param to   the highest corner of the box.
+     * @return a new reader.
+     */
+    @NotNull
+    public Reader newReader(@NotNull final BlockPos from, @NotNull final BlockPos to)
+    {
+        return new Reader(from.toImmutable(), to.toImmutable());
+    }
+
+    private static long sectionKey(final int sectionX, final int sectionY, final int sectionZ)
+    {
+        return ((sectionX & KEY_XZ_MASK) << KEY_X_SHIFT) | ((sectionZ & KEY_XZ_MASK) << KEY_Z_SHIFT) | (sectionY & KEY_Y_MASK);
+    }
+
+    private static int keyX(final long key)
+    {
+        return (int) (key >> KEY_X_SHIFT);
+    }
+
+    private static int keyZ(final long key)
+    {
+        return (int) ((key << (KEY_BITS - KEY_X_SHIFT)) >> (KEY_BITS - KEY_XZ_BITS));
+    }
+
+    private static int keyY(final long key)
+    {
+        return (int) (key & KEY_Y_MASK);
+    }
+
+    private static int index(final int x, final int y, final int z)
+    {
+        return ((y & SECTION_MASK) << (SECTION_SHIFT * 2)) | ((z & SECTION_MASK) << SECTION_SHIFT) | (x & SECTION_MASK);
+    }
+
+    /**
+     * Get a section for a job, a world is only read on the thread ticking it, other threads request the section
+     * and wait for the next tick.
+     */
+    @Nullable
+    private Section readSection(final long key)
+    {
+        final Section cached = getCached(key);
+        if (cached != null || !(blocks instanceof World) || Thread.currentThread() == tickThread)
+        {
+            return cached == null ? getSection(key) : cached;
+        }
+
+        final CompletableFuture<Section> request = requests.computeIfAbsent(key, k ->
+        {
+            requestOrder.add(k);
+            return new CompletableFuture<>();
+        });
+
+        try
+        {
+            return request.get(CAPTURE_TIMEOUT, TimeUnit.MILLISECONDS);
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        catch (final ExecutionException | TimeoutException e)
+        {
+            //  The world stopped ticking, read the section as unloaded
+            return null;
+        }
+    }
+
+    @Nullable
+    private Section getCached(final long key)
+    {
+        final Section cached = sections.get(key);
+        return cached != null && System.nanoTime() - cached.capturedAt <= SECTION_EXPIRY ? cached : null;
+    }
+
+    @Nullable
+    private Section getSection(final long key)
+    {
+        final Section cached = getCached(key);
+        if (cached != null)
+        {
+            return cached;
+        }
+
+        final long startedAt = epoch.get();
+        final Section section = Section.capture(blocks, keyX(key), keyY(key), keyZ(key));
+        if (section == null)
+        {
+            return null;
+        }
+
+        if (sections.size() >= MAX_SECTIONS)
+        {
+            final long now = System.nanoTime();
+            sections.values().removeIf(old -> now - old.capturedAt > SECTION_EXPIRY);
+            if (sections.size() >= MAX_SECTIONS)
+            {
+                sections.clear();
+            }
+        }
+        if (invalidations.size() >= MAX_SECTIONS)
+        {
+            flushedAt = epoch.incrementAndGet();
+            invalidations.clear();
+        }
+        //  A block changed while capturing, keep whatever is there instead of the stale capture
+        sections.compute(key, (k, old) -> startedAt < flushedAt || invalidations.getOrDefault(k, 0L) > startedAt ? old : section);
+        return section;
+    }
+
+    /**
+     * Compute the flags of a block state.
+     *
+     * @param blocks the blocks the block is in.
+     * @param pos    the position of the block.
+     * @param state  the state.
+     * @return the flags.
+     */
+    private static int computeFlags(@NotNull final IBlockAccess blocks, @NotNull final BlockPos pos, @NotNull final IBlockState state)
+    {
+        final Block block = state.getBlock();
+        final Material material = state.getMaterial();
+        int flags = 0;
+
+        if (material == Material.AIR)
+        {
+            flags |= AIR;
+        }
+        if (material.blocksMovement())
+        {
+            flags |= BLOCKS_MOVEMENT;
+        }
+        if (material.isLiquid())
+        {
+            flags |= LIQUID;
+        }
+        if (material == Material.WATER)
+        {
+            flags |= WATER;
+        }
+        if (material.isSolid())
+        {
+            flags |= SOLID;
+        }
+        if (material == Material.LEAVES)
+        {
+            flags |= LEAVES;
+        }
+        if (block instanceof BlockDoor || block instanceof BlockFenceGate)
+        {
+            flags |= DOOR;
+        }
+        if (block instanceof BlockFence || block instanceof BlockFenceGate || block instanceof BlockWall || block instanceof BlockHutField)
+        {
+            flags |= FENCE;
+        }
+        if (BlockUtils.isPathBlock(block))
+        {
+            flags |= PATH;
+        }
+        if (material != Material.AIR && block.isLadder(state, blocks, pos, null))
+        {
+            flags |= LADDER;
+        }
+
+        return flags;
+    }
+
+    /**
+     * Reader used by a single path job, keeps the sections it read and remembers the last one.
+     * It is a block access of its own, for checks which need one, like finding trees and ponds.
+     */
+    public final class Reader implements IBlockAccess
+    {
+        @NotNull
+        private final BlockPos           from;
+        @NotNull
+        private final BlockPos           to;
+        /**
+         * The sections the job read, null for unloaded ones.
+         */
+        @NotNull
+        private final Map<Long, Section> read        = new HashMap<>();
+        private       long               lastKey     = Long.MIN_VALUE;
+        @Nullable
+        private       Section            lastSection = null;
+
+        private Reader(@NotNull final BlockPos from, @NotNull final BlockPos to)
+        {
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Get the flags of a block.
+         *
+         * @param pos the position.
+         * @return the flags; blocks in unloaded chunks are neither passable nor walkable.
+         */
+        public int getFlags(@NotNull final BlockPos pos)
+        {
+            if (pos.getY() < 0 || pos.getY() >= MAX_Y)
+            {
+                return AIR;
+            }
+
+            final Section section = section(pos);
+            return section == null ? UNLOADED : section.flags[index(pos.getX(), pos.getY(), pos.getZ())];
+        }
+
+        /**
+         * Get the state of a block.
+         *
+         * @param pos the position.
+         * @return the state; air outside the world or in unloaded chunks.
+         */
+        @NotNull
+        @Override
+        public IBlockState getBlockState(@NotNull final BlockPos pos)
+        {
+            if (pos.getY() < 0 || pos.getY() >= MAX_Y)
+            {
+                return Blocks.AIR.getDefaultState();
+            }
+
+            final Section section = section(pos);
+            return section == null ? Blocks.AIR.getDefaultState() : section.states[index(pos.getX(), pos.getY(), pos.getZ())];
+        }
+
+        @Nullable
+        private Section section(@NotNull final BlockPos pos)
+        {
+            if (pos.getX() < from.getX() || pos.getX() > to.getX() || pos.getZ() < from.getZ() || pos.getZ() > to.getZ())
+            {
+                return null;
+            }
+
+            final long key = sectionKey(pos.getX() >> SECTION_SHIFT, pos.getY() >> SECTION_SHIFT, pos.getZ() >> SECTION_SHIFT);
+            if (key != lastKey)
+            {
+                if (read.containsKey(key))
+                {
+                    lastSection = read.get(key);
+                }
+                else
+                {
+                    lastSection = readSection(key);
+                    read.put(key, lastSection);
+                }
+                lastKey = key;
+            }
+            return lastSection;
+        }
+
+        @Override
+        public boolean isAirBlock(@NotNull final BlockPos pos)
+        {
+            return (getFlags(pos) & AIR) != 0;
+        }
+
+        @Nullable
+        @Override
+        public TileEntity getTileEntity(@NotNull final BlockPos pos)
+        {
+            return null;
+        }
+
+        @Override
+        public int getStrongPower(@NotNull final BlockPos pos, @NotNull final EnumFacing direction)
+        {
+            return 0;
+        }
+
+        @Override
+        public boolean isSideSolid(@NotNull final BlockPos pos, @NotNull final EnumFacing side, final boolean defaultValue)
+        {
+            return getBlockState(pos).isSideSolid(this, pos, side);
+        }
+
+        //  Client only accessors, not used by the pathfinding.
+
+        public int getCombinedLight(@NotNull final BlockPos pos, final int lightValue)
+        {
+            return 0;
+        }
+
+        public Biome getBiome(@NotNull final BlockPos pos)
+        {
+            return Biomes.PLAINS;
+        }
+
+        public Biome getBiomeGenForCoords(@NotNull final BlockPos pos)
+        {
+            return Biomes.PLAINS;
+        }
+
+        public boolean extendedLevelsInChunkCache()
+        {
+            return false;
+        }
+
+        public WorldType getWorldType()
+        {
+            return WorldType.DEFAULT;
+        }
+    }
+
+    /**
+     * Immutable copy of one 16x16x16 chunk section.
+     */
+    private static final class Section
+    {
+        /**
+         * Shared by all sections without blocks.
+         */
+        private static final IBlockState[] EMPTY_STATES = new IBlockState[SECTION_BLOCKS];
+        private static final short[]       EMPTY_FLAGS  = new short[SECTION_BLOCKS];
+
+        static
+        {
+            Arrays.fill(EMPTY_STATES, Blocks.AIR.getDefaultState());
+            Arrays.fill(EMPTY_FLAGS, (short) AIR);
+        }
+
+        private final IBlockState[] states;
+        private final short[]       flags;
+        private final long          capturedAt = System.nanoTime();
+
+        private Section(@NotNull final IBlockState[] states, @NotNull final short[] flags)
+        {
+            this.states = states;
+            this.flags = flags;
+        }
+
+        /**
+         * Copy a section out of a loaded chunk, or block by block if the blocks are not a world.
+         *
+         * @param blocks   the blocks.
+         * @param sectionX the section x coordinate.
+         * @param sectionY the section y coordinate.
+         * @param sectionZ the section z coordinate.
+         * @return the section or null if the chunk isn't loaded.
+         */
+        @Nullable
+        private static Section capture(@NotNull final IBlockAccess blocks, final int sectionX, final int sectionY, final int sectionZ)
+        {
+            if (sectionY < 0 || sectionY >= SECTION_COUNT)
+            {
+                return null;
+            }
+
+            ExtendedBlockStorage storage = Chunk.NULL_BLOCK_STORAGE;
+            if (blocks instanceof World)
+            {
+                final Chunk chunk = ((World) blocks).getChunkProvider().getLoadedChunk(sectionX, sectionZ);
+                if (chunk == null)
+                {
+                    return null;
+                }
+                storage = chunk.getBlockStorageArray()[sectionY];
+                if (storage == Chunk.NULL_BLOCK_STORAGE)
+                {
+                    return new Section(EMPTY_STATES, EMPTY_FLAGS);
+                }
+            }
+
+            final boolean fromChunk = blocks instanceof World;
+            final IBlockState[] states = new IBlockState[SECTION_BLOCKS];
+            final short[] flags = new short[SECTION_BLOCKS];
+            final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+
+            for (int y = 0; y < SECTION_SIZE; y++)
+            {
+                for (int z = 0; z < SECTION_SIZE; z++)
+                {
+                    for (int x = 0; x < SECTION_SIZE; x++)
+                    {
+                        pos.setPos((sectionX << SECTION_SHIFT) + x, (sectionY << SECTION_SHIFT) + y, (sectionZ << SECTION_SHIFT) + z);
+                        final IBlockState state;
+                        if (!fromChunk)
+                        {
+                            state = blocks.getBlockState(pos);
+                        }
+                        else
+                        {
+                            state = storage.get(x, y, z);
+                        }
+
+                        final int i = index(x, y, z);
+                        states[i] = state;
+                        flags[i] = (short) computeFlags(blocks, pos, state);
+                    }
+                }
+            }
+
+            return new Section(states, flags);
+        }
+    }
+}
@@ -263,10 +263,11 @@ public class WalkToProxy
 
     /**
      * Returns a proxy point to the goal.
+     * The route is looked up in the waypoint graph of the colony and appended to the proxy list.
      *
      * @param target         the target.
      * @param distanceToPath the total distance.
-     * @return a proxy or, if not applicable null.
+     * @return a proxy or, if not applicable the target.
      */
     @NotNull
     private BlockPos getProxy(@NotNull BlockPos target, @NotNull BlockPos position, double distanceToPath)
@@ -276,39 +277,21 @@ public class WalkToProxy
             return target;
         }
 
-        double weight = Double.MAX_VALUE;
-        BlockPos proxyPoint = null;
-
-        for (BlockPos wayPoint : worker.getColony().getWayPoints(position, target))
-        {
-            final double simpleDistance = BlockPosUtil.getDistanceSquared(position, wayPoint);
-            final double currentWeight = simpleDistance * simpleDistance + BlockPosUtil.getDistanceSquared(wayPoint, target);
-            if (currentWeight < weight
-                  && BlockPosUtil.getDistanceSquared2D(wayPoint, target) < distanceToPath
-                  && simpleDistance > MIN_DISTANCE
-                  && simpleDistance < distanceToPath
-                  && !proxyList.contains(proxyPoint))
-            {
-                proxyPoint = wayPoint;
-                weight = currentWeight;
-            }
-        }
-
-        if (proxyList.contains(proxyPoint))
+        final List<BlockPos> route = worker.getColony().getWaypointRoute(position, target);
+        if (route.isEmpty())
         {
-            proxyPoint = null;
+            //No proxy point exists.
+            return target;
         }
 
-        if (proxyPoint != null)
+        for (final BlockPos proxyPoint : route)
         {
-            proxyList.add(proxyPoint);
-
-            getProxy(target, proxyPoint, distanceToPath);
-
-            return proxyList.get(0);
+            if (!proxyList.contains(proxyPoint))
+            {
+                proxyList.add(proxyPoint);
+            }
         }
 
-        //No proxy point exists.
-        return target;
+        return proxyList.get(0);
     }
 }
@@ -0,0 +1,263 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Abstract graph over the waypoints and buildings of a colony, used to route long walks.
+ * <p>
+ * Nodes closer than {@link #LINK_RANGE} to each other are linked, so every hop of a route can be computed by a
+ * single path job. Routes are found with A* on this graph and then walked hop by hop by the {@link WalkToProxy},
+ * the hops themselves being cached by the colony {@link PathCache}.
+ * The graph is rebuilt lazily after the waypoints or buildings of the colony changed.
+ */
+public class WaypointGraph
+{
+    /**
+     * Maximum distance between two linked nodes, the length one path job can cover.
+     */
+    private static final double LINK_RANGE    = PathNavigate.MAX_PATHING_LENGTH;
+    private static final double LINK_RANGE_SQ = LINK_RANGE * LINK_RANGE;
+
+    /**
+     * Nodes closer than this to the start of a route are skipped, the worker is already there.
+     */
+    private static final double MIN_HOP_SQ = 25;
+
+    /**
+     * Shift used to put the nodes into buckets of at least the link range while building the graph.
+     */
+    private static final int BUCKET_SHIFT = 6;
+
+    private static final int NO_PARENT = -1;
+
+    @NotNull
+    private BlockPos[] nodes     = new BlockPos[0];
+    @NotNull
+    private int[][]    neighbors = new int[0][];
+    @NotNull
+    private double[][] costs     = new double[0][];
+    private boolean    dirty     = true;
+
+    /**
+     * Mark the graph for rebuilding, call when a waypoint or building was added or removed.
+     */
+    public void markDirty()
+    {
+        dirty = true;
+    }
+
+    /**
+     * @return true if the graph has to be rebuilt before it is queried.
+     */
+    public boolean isDirty()
+    {
+        return dirty;
+    }
+
+    /**
+     * @return the number of nodes in the graph.
+     */
+    public int size()
+    {
+        return nodes.length;
+    }
+
+    /**
+     * Rebuild the graph from the current waypoints and buildings.
+     *
+     * @param positions the positions of all waypoints and buildings.
+     */
+    public void rebuild(@NotNull final Collection<BlockPos> positions)
+    {
+        nodes = new LinkedHashSet<>(positions).toArray(new BlockPos[0]);
+
+        final Map<Long, List<Integer>> buckets = new HashMap<>();
+        for (int i = 0; i < nodes.length; i++)
+        {
+            buckets.computeIfAbsent(bucketKey(nodes[i].getX() >> BUCKET_SHIFT, nodes[i].getZ() >> BUCKET_SHIFT), key -> new ArrayList<>()).add(i);
+        }
+
+        neighbors = new int[nodes.length][];
+        costs = new double[nodes.length][];
+        for (int i = 0; i < nodes.length; i++)
+        {
+            final List<Integer> linked = new ArrayList<>();
+            final int bucketX = nodes[i].getX() >> BUCKET_SHIFT;
+            final int bucketZ = nodes[i].getZ() >> BUCKET_SHIFT;
+            for (int dx = -1; dx <= 1; dx++)
+            {
+                for (int dz = -1; dz <= 1; dz++)
+                {
+                    for (final int j : buckets.getOrDefault(bucketKey(bucketX + dx, bucketZ + dz), Collections.emptyList()))
+                    {
+                        if (j != i && nodes[i].distanceSq(nodes[j]) <= LINK_RANGE_SQ)
+                        {
+                            linked.add(j);
+                        }
+                    }
+                }
+            }
+
+            neighbors[i] = new int[linked.size()];
+            costs[i] = new double[linked.size()];
+            for (int k = 0; k < linked.size(); k++)
+            {
+                neighbors[i][k] = linked.get(k);
+                costs[i][k] = Math.sqrt(nodes[i].distanceSq(nodes[linked.get(k)]));
+            }
+        }
+
+        dirty = false;
+    }
+
+    /**
+     * Find the waypoints to walk through from start to target.
+     *
+     * @param start  the start position.
+     * @param target the target position.
+     * @return the waypoints in walking order, without start and target; empty if the target can be walked to directly
+     * or no route through the graph exists.
+     */
+    @NotNull
+    public List<BlockPos> findRoute(@NotNull final BlockPos start, @NotNull final BlockPos target)
+    {
+        if (nodes.length == 0 || start.distanceSq(target) <= LINK_RANGE_SQ)
+        {
+            return Collections.emptyList();
+        }
+
+        //  The target is the virtual node with index nodes.length
+        final int goal = nodes.length;
+        final double[] cost = new double[nodes.length + 1];
+        final int[] parent = new int[nodes.length + 1];
+        final boolean[] closed = new boolean[nodes.length + 1];
+        Arrays.fill(cost, Double.MAX_VALUE);
+        Arrays.fill(parent, NO_PARENT);
+
+        final PriorityQueue<OpenNode> open = new PriorityQueue<>();
+
+        for (int i = 0; i < nodes.length; i++)
+        {
+            final double distanceSq = start.distanceSq(nodes[i]);
+            if (distanceSq > MIN_HOP_SQ && distanceSq <= LINK_RANGE_SQ)
+            {
+                cost[i] = Math.sqrt(distanceSq);
+                open.add(new OpenNode(i, cost[i] + distance(nodes[i], target)));
+            }
+        }
+
+        if (open.isEmpty())
+        {
+            final int nearest = nearestNode(start);
+            cost[nearest] = Math.sqrt(start.distanceSq(nodes[nearest]));
+            open.add(new OpenNode(nearest, cost[nearest] + distance(nodes[nearest], target)));
+        }
+
+        while (!open.isEmpty())
+        {
+            final int current = open.poll().node;
+            if (closed[current])
+            {
+                continue;
+            }
+            closed[current] = true;
+
+            if (current == goal)
+            {
+                return buildRoute(parent);
+            }
+
+            final double toTargetSq = nodes[current].distanceSq(target);
+            if (toTargetSq <= LINK_RANGE_SQ)
+            {
+                relax(current, goal, cost[current] + Math.sqrt(toTargetSq), 0, cost, parent, closed, open);
+            }
+
+            for (int k = 0; k < neighbors[current].length; k++)
+            {
+                final int next = neighbors[current][k];
+                relax(current, next, cost[current] + costs[current][k], distance(nodes[next], target), cost, parent, closed, open);
+            }
+        }
+
+        return Collections.emptyList();
+    }
+
+    private static void relax(
+                               final int from, final int to, final double newCost, final double heuristic,
+                               @NotNull final double[] cost, @NotNull final int[] parent,
+                               @NotNull final boolean[] closed, @NotNull final PriorityQueue<OpenNode> open)
+    {
+        if (closed[to] || newCost >= cost[to])
+        {
+            return;
+        }
+
+        cost[to] = newCost;
+        parent[to] = from;
+        open.add(new OpenNode(to, newCost + heuristic));
+    }
+
+    @NotNull
+    private List<BlockPos> buildRoute(@NotNull final int[] parent)
+    {
+        final LinkedList<BlockPos> route = new LinkedList<>();
+        int node = parent[nodes.length];
+        while (node != NO_PARENT)
+        {
+            route.addFirst(nodes[node]);
+            node = parent[node];
+        }
+        return new ArrayList<>(route);
+    }
+
+    private int nearestNode(@NotNull final BlockPos pos)
+    {
+        int nearest = 0;
+        double nearestDistance = Double.MAX_VALUE;
+        for (int i = 0; i < nodes.length; i++)
+        {
+            final double distanceSq = pos.distanceSq(nodes[i]);
+            if (distanceSq < nearestDistance)
+            {
+                nearest = i;
+                nearestDistance = distanceSq;
+            }
+        }
+        return nearest;
+    }
+
+    private static double distance(@NotNull final BlockPos from, @NotNull final BlockPos to)
+    {
+        return Math.sqrt(from.distanceSq(to));
+    }
+
+    private static long bucketKey(final int bucketX, final int bucketZ)
+    {
+        return ((long) bucketX << Integer.SIZE) | (bucketZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Entry of the open set; nodes whose cost improved are added again and the stale entries skipped.
+     */
+    private static final class OpenNode implements Comparable<OpenNode>
+    {
+        private final int    node;
+        private final double score;
+
+        private OpenNode(final int node, final double score)
+        {
+            this.node = node;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(@NotNull final OpenNode other)
+        {
+            return Double.compare(score, other.score);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.minecolonies.coremod.event;
 
 import com.minecolonies.coremod.MineColonies;
 import com.minecolonies.coremod.colony.ColonyManager;
+import com.minecolonies.coremod.entity.pathfinding.PathingSnapshot;
 import com.minecolonies.coremod.network.messages.ColonyStylesMessage;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
@@ -40,7 +41,7 @@ public class FMLEventHandler
 
     /**
      * Called when the world ticks.
-     * Calls {@link ColonyManager#onWorldTick(TickEvent.WorldTickEvent)}.
+     * Calls {@link ColonyManager#onWorldTick(TickEvent.WorldTickEvent)} and captures the blocks the path jobs wait for.
      *
      * @param event {@link net.minecraftforge.fml.common.gameevent.TickEvent.WorldTickEvent}.
      */
@@ -48,6 +49,10 @@ public class FMLEventHandler
     public void onWorldTick(final TickEvent.WorldTickEvent event)
     {
         ColonyManager.onWorldTick(event);
+        if (event.phase == TickEvent.Phase.END && !event.world.isRemote)
+        {
+            PathingSnapshot.onWorldTick(event.world);
+        }
     }
 
     /**
@@ -83,6 +83,11 @@ public class InventoryCitizen implements IInventory
      * The citizen which owns the inventory.
      */
     private EntityCitizen citizen;
+    /**
+     * Index of the items and tools in the inventory.
+     */
+    @NotNull
+    private final InventoryIndex itemIndex = new InventoryIndex(this);
 
     /**
      * Creates the inventory of the citizen.
@@ -149,6 +154,17 @@ public class InventoryCitizen implements IInventory
         return false;
     }
 
+    /**
+     * Get the index of the items and tools in the inventory.
+     *
+     * @return the index.
+     */
+    @NotNull
+    public InventoryIndex getItemIndex()
+    {
+        return itemIndex;
+    }
+
     /**
      * Returns the item that is currently being held by citizen.
      *
@@ -189,6 +205,7 @@ public class InventoryCitizen implements IInventory
             if (this.stacks[i].stackSize <= 0)
             {
                 this.stacks[i] = null;
+                itemIndex.update(i);
             }
 
             return true;
@@ -229,6 +246,7 @@ public class InventoryCitizen implements IInventory
                         return false;
                     }
                     this.stacks[j] = ItemStack.copyItemStack(itemStackIn);
+                    itemIndex.update(j);
                     itemStackIn.stackSize = 0;
                     return true;
                 }
@@ -316,6 +334,7 @@ public class InventoryCitizen implements IInventory
                 // Forge: Replace Item clone above to preserve item capabilities when picking the item up.
                 this.stacks[j] = itemStackIn.copy();
                 this.stacks[j].stackSize = 0;
+                itemIndex.update(j);
             }
 
             int k = i;
@@ -458,6 +477,7 @@ public class InventoryCitizen implements IInventory
     {
         final NBTTagList nbttaglist = compound.getTagList(TAG_ITEMS, Constants.NBT.TAG_COMPOUND);
         this.stacks = new ItemStack[this.getSizeInventory()];
+        itemIndex.markStale();
 
         for (int i = 0; i < nbttaglist.tagCount(); ++i)
         {
@@ -516,6 +536,7 @@ public class InventoryCitizen implements IInventory
             {
                 final ItemStack itemstack1 = this.stacks[index];
                 this.stacks[index] = null;
+                itemIndex.update(index);
                 this.markDirty();
                 if (index == heldItem)
                 {
@@ -534,6 +555,7 @@ public class InventoryCitizen implements IInventory
                 if (this.stacks[index].stackSize == 0)
                 {
                     this.stacks[index] = null;
+                    itemIndex.update(index);
                 }
 
                 this.markDirty();
@@ -563,6 +585,7 @@ public class InventoryCitizen implements IInventory
 
         final ItemStack itemstack = this.stacks[index];
         this.stacks[index] = null;
+        itemIndex.update(index);
         return itemstack;
     }
 
@@ -585,6 +608,7 @@ public class InventoryCitizen implements IInventory
         }
 
         this.stacks[index] = stack;
+        itemIndex.update(index);
 
         if (stack != null && stack.stackSize > this.getInventoryStackLimit())
         {
@@ -730,6 +754,7 @@ public class InventoryCitizen implements IInventory
         {
             this.stacks[i] = null;
         }
+        itemIndex.markStale();
     }
 
     /**
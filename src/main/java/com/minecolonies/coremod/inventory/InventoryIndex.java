@@ -0,0 +1,278 @@
+package com.minecolonies.coremod.inventory;
+
+import com.minecolonies.coremod.util.Utils;
+import net.minecraft.inventory.IInventory;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Index of an inventory, which slots hold which item and which slots hold a tool of which type.
+ * <p>
+ * The inventory updates a slot whenever it puts another stack into it and marks the index stale when many slots changed
+ * at once, like on loading. A stale index compares the stacks of the slots with the ones it saw last and only looks at
+ * the changed slots again. Stack sizes and damage changing in place are fine, lookups test the live stacks. Lookups only
+ * test the slots of the wanted item or tool instead of the whole inventory.
+ */
+public class InventoryIndex
+{
+    /**
+     * The tool types which are indexed.
+     */
+    private static final String[] TOOL_TYPES = {Utils.PICKAXE, Utils.SHOVEL, Utils.AXE, Utils.HOE};
+
+    /**
+     * Returned if no slot has been found.
+     */
+    private static final int NO_SLOT = -1;
+
+    @NotNull
+    private final IInventory                       inventory;
+    @NotNull
+    private final Map<Item, SortedSet<Integer>>    slotsByItem = new HashMap<>();
+    @NotNull
+    private final Map<String, SortedSet<Integer>>  slotsByTool = new HashMap<>();
+    @NotNull
+    private final SortedSet<Integer>               weapons     = new TreeSet<>();
+    /**
+     * The stacks the slots held when they were indexed.
+     */
+    @Nullable
+    private       ItemStack[]                      indexed;
+    private       boolean                          stale       = true;
+
+    /**
+     * Create the index of an inventory.
+     *
+     * @param inventory the inventory.
+     */
+    public InventoryIndex(@NotNull final IInventory inventory)
+    {
+        this.inventory = inventory;
+    }
+
+    /**
+     * Index a slot again after its stack was set.
+     *
+     * @param slot the slot.
+     */
+    public void update(final int slot)
+    {
+        if (indexed == null || slot < 0 || slot >= indexed.length)
+        {
+            stale = true;
+            return;
+        }
+        reindex(slot);
+    }
+
+    /**
+     * Check the slots for changed stacks before the next lookup, call when slots changed without {@link #update(int)}.
+     */
+    public void markStale()
+    {
+        stale = true;
+    }
+
+    /**
+     * Checks if a stack of an item is in the inventory.
+     *
+     * @param item the item.
+     * @return true if there is one.
+     */
+    public boolean hasItem(@Nullable final Item item)
+    {
+        return findFirstSlot(item, stack -> true) != NO_SLOT;
+    }
+
+    /**
+     * Find the first slot holding an item whose stack matches a predicate.
+     *
+     * @param item   the item.
+     * @param tester the predicate.
+     * @return the slot or -1 if none matches.
+     */
+    public int findFirstSlot(@Nullable final Item item, @NotNull final Predicate<ItemStack> tester)
+    {
+        sync();
+        return findFirst(slotsByItem.get(item), tester);
+    }
+
+    /**
+     * Get the stacks of an item in the order of their slots.
+     *
+     * @param item the item.
+     * @return the stacks.
+     */
+    @NotNull
+    public List<ItemStack> getStacks(@Nullable final Item item)
+    {
+        sync();
+        final SortedSet<Integer> slots = slotsByItem.get(item);
+        if (slots == null)
+        {
+            return Collections.emptyList();
+        }
+
+        final List<ItemStack> stacks = new ArrayList<>(slots.size());
+        for (final int slot : slots)
+        {
+            final ItemStack stack = inventory.getStackInSlot(slot);
+            if (stack != null)
+            {
+                stacks.add(stack);
+            }
+        }
+        return stacks;
+    }
+
+    /**
+     * Find the first slot holding a tool of a type whose stack matches a predicate.
+     *
+     * @param tool   the tool type, one of the types in {@link Utils}.
+     * @param tester the predicate.
+     * @return the slot or -1 if none matches.
+     */
+    public int findFirstToolSlot(@NotNull final String tool, @NotNull final Predicate<ItemStack> tester)
+    {
+        sync();
+        return findFirst(slotsByTool.get(tool), tester);
+    }
+
+    /**
+     * Get the highest mining level of the tools of a type.
+     *
+     * @param tool the tool type, one of the types in {@link Utils}.
+     * @return the level or -1 if there is no tool of the type.
+     */
+    public int getBestToolLevel(@NotNull final String tool)
+    {
+        sync();
+        final SortedSet<Integer> slots = slotsByTool.get(tool);
+        int best = -1;
+        if (slots != null)
+        {
+            for (final int slot : slots)
+            {
+                best = Math.max(best, Utils.getMiningLevel(inventory.getStackInSlot(slot), tool));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Find the first slot holding a weapon.
+     *
+     * @return the slot or -1 if there is none.
+     */
+    public int findFirstWeaponSlot()
+    {
+        sync();
+        return findFirst(weapons, Utils::doesItemServeAsWeapon);
+    }
+
+    private int findFirst(@Nullable final SortedSet<Integer> slots, @NotNull final Predicate<ItemStack> tester)
+    {
+        if (slots == null)
+        {
+            return NO_SLOT;
+        }
+
+        for (final int slot : slots)
+        {
+            final ItemStack stack = inventory.getStackInSlot(slot);
+            if (stack != null && tester.test(stack))
+            {
+                return slot;
+            }
+        }
+        return NO_SLOT;
+    }
+
+    /**
+     * Brings a stale index up to date, only the slots holding another stack than before are indexed again.
+     */
+    private void sync()
+    {
+        if (!stale)
+        {
+            return;
+        }
+        stale = false;
+
+        if (indexed == null || indexed.length != inventory.getSizeInventory())
+        {
+            indexed = new ItemStack[inventory.getSizeInventory()];
+            slotsByItem.clear();
+            slotsByTool.clear();
+            weapons.clear();
+            for (int slot = 0; slot < indexed.length; slot++)
+            {
+                add(slot, inventory.getStackInSlot(slot));
+            }
+            return;
+        }
+
+        for (int slot = 0; slot < indexed.length; slot++)
+        {
+            if (indexed[slot] != inventory.getStackInSlot(slot))
+            {
+                reindex(slot);
+            }
+        }
+    }
+
+    private void reindex(final int slot)
+    {
+        final ItemStack old = indexed[slot];
+        if (old != null)
+        {
+            removeFrom(slotsByItem, old.getItem(), slot);
+            for (final String tool : TOOL_TYPES)
+            {
+                removeFrom(slotsByTool, tool, slot);
+            }
+            weapons.remove(slot);
+        }
+        add(slot, inventory.getStackInSlot(slot));
+    }
+
+    private void add(final int slot, @Nullable final ItemStack stack)
+    {
+        indexed[slot] = stack;
+        if (stack == null || stack.getItem() == null)
+        {
+            return;
+        }
+
+        slotsByItem.computeIfAbsent(stack.getItem(), key -> new TreeSet<>()).add(slot);
+        for (final String tool : TOOL_TYPES)
+        {
+            if (Utils.isTool(stack, tool))
+            {
+                slotsByTool.computeIfAbsent(tool, key -> new TreeSet<>()).add(slot);
+            }
+        }
+        if (Utils.doesItemServeAsWeapon(stack))
+        {
+            weapons.add(slot);
+        }
+    }
+
+    private static <K> void removeFrom(@NotNull final Map<K, SortedSet<Integer>> index, @Nullable final K key, final int slot)
+    {
+        final SortedSet<Integer> slots = index.get(key);
+        if (slots != null)
+        {
+            slots.remove(slot);
+            if (slots.isEmpty())
+            {
+                index.remove(key);
+            }
+        }
+    }
+}
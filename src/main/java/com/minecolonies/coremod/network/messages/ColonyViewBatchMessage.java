@@ -0,0 +1,181 @@
+package com.minecolonies.coremod.network.messages;
+
+import com.minecolonies.coremod.colony.CitizenData;
+import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.colony.ColonyManager;
+import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
+import com.minecolonies.coremod.colony.workorders.AbstractWorkOrder;
+import com.minecolonies.coremod.util.BlockPosUtil;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Add or Update the work orders, citizens and buildings of a ColonyView on the client, all changes of one tick at once.
+ * <p>
+ * Each changed object is serialized once into an entry, the entries are shared by the messages of every subscriber
+ * through reference counted buffers. Release the message once it was sent to every subscriber.
+ */
+public class ColonyViewBatchMessage implements IMessage, IMessageHandler<ColonyViewBatchMessage, IMessage>
+{
+    private static final byte TYPE_WORK_ORDER = 0;
+    private static final byte TYPE_CITIZEN    = 1;
+    private static final byte TYPE_BUILDING   = 2;
+
+    private int     colonyId;
+    private int     entryCount;
+    private ByteBuf entries;
+
+    /**
+     * Empty constructor used when registering the message.
+     */
+    public ColonyViewBatchMessage()
+    {
+        super();
+    }
+
+    /**
+     * Creates an empty batch for a colony.
+     *
+     * @param colony the colony.
+     */
+    public ColonyViewBatchMessage(@NotNull final Colony colony)
+    {
+        this.colonyId = colony.getID();
+        this.entries = Unpooled.compositeBuffer(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Serialize the view of a work order.
+     *
+     * @param workOrder the work order.
+     * @return the entry, owned by the caller.
+     */
+    @NotNull
+    public static ByteBuf workOrderEntry(@NotNull final AbstractWorkOrder workOrder)
+    {
+        final ByteBuf data = Unpooled.buffer();
+        workOrder.serializeViewNetworkData(data);
+        return entry(TYPE_WORK_ORDER, data);
+    }
+
+    /**
+     * Serialize the view of a citizen.
+     *
+     * @param citizen the citizen.
+     * @return the entry, owned by the caller.
+     */
+    @NotNull
+    public static ByteBuf citizenEntry(@NotNull final CitizenData citizen)
+    {
+        final ByteBuf data = Unpooled.buffer();
+        data.writeInt(citizen.getId());
+        citizen.serializeViewNetworkData(data);
+        return entry(TYPE_CITIZEN, data);
+    }
+
+    /**
+     * Serialize the view of a building.
+     *
+     * @param building the building.
+     * @return the entry, owned by the caller.
+     */
+    @NotNull
+    public static ByteBuf buildingEntry(@NotNull final AbstractBuilding building)
+    {
+        final ByteBuf data = Unpooled.buffer();
+        BlockPosUtil.writeToByteBuf(data, building.getID());
+        building.serializeToView(data);
+        return entry(TYPE_BUILDING, data);
+    }
+
+    @NotNull
+    private static ByteBuf entry(final byte type, @NotNull final ByteBuf data)
+    {
+        final ByteBuf entry = Unpooled.buffer(Byte.BYTES + Integer.BYTES + data.readableBytes());
+        entry.writeByte(type);
+        entry.writeInt(data.readableBytes());
+        entry.writeBytes(data);
+        data.release();
+        return entry;
+    }
+
+    /**
+     * Add an entry to the batch, the batch keeps its own reference to it.
+     *
+     * @param entry the entry created by one of the entry methods.
+     */
+    public void add(@NotNull final ByteBuf entry)
+    {
+        ((CompositeByteBuf) entries).addComponent(true, entry.retain());
+        entryCount++;
+    }
+
+    /**
+     * @return true if the batch has no entries and doesn't need to be sent.
+     */
+    public boolean isEmpty()
+    {
+        return entryCount == 0;
+    }
+
+    /**
+     * Release the entries of the batch, call after it was sent to every subscriber.
+     */
+    public void release()
+    {
+        entries.release();
+    }
+
+    @Override
+    public void fromBytes(@NotNull final ByteBuf buf)
+    {
+        colonyId = buf.readInt();
+        entryCount = buf.readInt();
+        entries = Unpooled.buffer(buf.readableBytes());
+        buf.readBytes(entries, buf.readableBytes());
+    }
+
+    @Override
+    public void toBytes(@NotNull final ByteBuf buf)
+    {
+        buf.writeInt(colonyId);
+        buf.writeInt(entryCount);
+        //  Don't move the reader index, the same message is written once per subscriber.
+        buf.writeBytes(entries, entries.readerIndex(), entries.readableBytes());
+    }
+
+    @Nullable
+    @Override
+    public IMessage onMessage(@NotNull final ColonyViewBatchMessage message, final MessageContext ctx)
+    {
+        final ByteBuf buf = message.entries;
+        for (int i = 0; i < message.entryCount; i++)
+        {
+            final byte type = buf.readByte();
+            final ByteBuf data = buf.readBytes(buf.readInt());
+            switch (type)
+            {
+                case TYPE_WORK_ORDER:
+                    ColonyManager.handleColonyViewWorkOrderMessage(message.colonyId, data);
+                    break;
+                case TYPE_CITIZEN:
+                    ColonyManager.handleColonyViewCitizensMessage(message.colonyId, data.readInt(), data);
+                    break;
+                case TYPE_BUILDING:
+                    final BlockPos buildingId = BlockPosUtil.readFromByteBuf(data);
+                    ColonyManager.handleColonyBuildingViewMessage(message.colonyId, buildingId, data);
+                    break;
+                default:
+                    break;
+            }
+        }
+        return null;
+    }
+}
@@ -105,7 +105,7 @@ public class WorkOrderChangeMessage extends AbstractMessage<WorkOrderChangeMessa
             }
             else
             {
-                colony.getWorkManager().getWorkOrder(message.workOrderId).setPriority(message.priority);
+                colony.getWorkManager().setPriority(message.workOrderId, message.priority);
             }
         }
     }
@@ -2,6 +2,7 @@ package com.minecolonies.coremod.permissions;
 
 import com.minecolonies.coremod.blocks.AbstractBlockHut;
 import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.colony.ColonyManager;
 import com.minecolonies.coremod.colony.permissions.Permissions;
 import com.minecolonies.coremod.configuration.Configurations;
 import com.minecolonies.coremod.entity.EntityCitizen;
@@ -22,6 +23,7 @@ import net.minecraftforge.event.world.BlockEvent;
 import net.minecraftforge.event.world.ExplosionEvent;
 import net.minecraftforge.fml.common.eventhandler.Event;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.function.Predicate;
@@ -29,20 +31,27 @@ import java.util.stream.Collectors;
 
 /**
  * This class handles all permission checks on events and cancels them if needed.
+ * <p>
+ * One handler serves all colonies, the colony at the position of an event is looked up in the chunk index of the
+ * {@link ColonyManager}. The ranks come from the hashed player maps of the colony permissions.
  */
 public class ColonyPermissionEventHandler
 {
-
-    private final Colony colony;
-
     /**
-     * Create this EventHandler.
+     * Get the colony at a position, only colonies on the server are protected.
      *
-     * @param colony the colony to check on.
+     * @param world the world.
+     * @param pos   the position.
+     * @return the colony or null if there is none.
      */
-    public ColonyPermissionEventHandler(final Colony colony)
+    @Nullable
+    private static Colony getColony(final World world, final BlockPos pos)
     {
-        this.colony = colony;
+        if (world == null || world.isRemote)
+        {
+            return null;
+        }
+        return ColonyManager.getColony(world, pos);
     }
 
     /**
@@ -68,9 +77,10 @@ public class ColonyPermissionEventHandler
      * @param blockState the state that block is in
      * @return true if canceled
      */
-    private boolean checkBlockEventDenied(final World worldIn, final BlockPos posIn, final EntityPlayer playerIn, final IBlockState blockState)
+    private static boolean checkBlockEventDenied(final World worldIn, final BlockPos posIn, final EntityPlayer playerIn, final IBlockState blockState)
     {
-        if (colony.isCoordInColony(worldIn, posIn))
+        final Colony colony = getColony(worldIn, posIn);
+        if (colony != null)
         {
             if (!colony.getPermissions().isColonyMember(playerIn))
             {
@@ -131,8 +141,8 @@ public class ColonyPermissionEventHandler
         }
 
         final World eventWorld = event.getWorld();
-        final Predicate<BlockPos> getBlocksInColony = pos -> colony.isCoordInColony(eventWorld, pos);
-        final Predicate<Entity> getEntitiesInColony = entity -> colony.isCoordInColony(entity.getEntityWorld(), entity.getPosition());
+        final Predicate<BlockPos> getBlocksInColony = pos -> getColony(eventWorld, pos) != null;
+        final Predicate<Entity> getEntitiesInColony = entity -> getColony(entity.getEntityWorld(), entity.getPosition()) != null;
         // if block is in colony -> remove from list
         final List<BlockPos> blocksToRemove = event.getAffectedBlocks().stream()
                                                 .filter(getBlocksInColony)
@@ -156,7 +166,7 @@ public class ColonyPermissionEventHandler
     {
         if (Configurations.enableColonyProtection
                 && Configurations.turnOffExplosionsInColonies
-                && colony.isCoordInColony(event.getWorld(), new BlockPos(event.getExplosion().getPosition())))
+                && getColony(event.getWorld(), new BlockPos(event.getExplosion().getPosition())) != null)
         {
             cancelEvent(event);
         }
@@ -176,7 +186,8 @@ public class ColonyPermissionEventHandler
     @SubscribeEvent
     public void on(final PlayerInteractEvent event)
     {
-        if (colony.isCoordInColony(event.getWorld(), event.getPos()))
+        final Colony colony = getColony(event.getWorld(), event.getPos());
+        if (colony != null)
         {
             final Block block = event.getWorld().getBlockState(event.getPos()).getBlock();
             // Huts
@@ -220,7 +231,8 @@ public class ColonyPermissionEventHandler
     public void on(final ItemTossEvent event)
     {
         final EntityPlayer playerIn = event.getPlayer();
-        if (Configurations.enableColonyProtection && colony.isCoordInColony(playerIn.getEntityWorld(), playerIn.getPosition()))
+        final Colony colony = Configurations.enableColonyProtection ? getColony(playerIn.getEntityWorld(), playerIn.getPosition()) : null;
+        if (colony != null)
         {
             final Permissions.Rank rank = colony.getPermissions().getRank(playerIn);
 
@@ -251,7 +263,8 @@ public class ColonyPermissionEventHandler
     public void on(final EntityItemPickupEvent event)
     {
         final EntityPlayer playerIn = event.getEntityPlayer();
-        if (Configurations.enableColonyProtection && colony.isCoordInColony(playerIn.getEntityWorld(), playerIn.getPosition()))
+        final Colony colony = Configurations.enableColonyProtection ? getColony(playerIn.getEntityWorld(), playerIn.getPosition()) : null;
+        if (colony != null)
         {
             final Permissions.Rank rank = colony.getPermissions().getRank(playerIn);
 
@@ -277,7 +290,9 @@ public class ColonyPermissionEventHandler
     public void on(final AttackEntityEvent event)
     {
         final EntityPlayer playerIn = event.getEntityPlayer();
-        if (Configurations.enableColonyProtection && colony.isCoordInColony(playerIn.getEntityWorld(), playerIn.getPosition()) && event.getTarget() instanceof EntityCitizen )
+        final Colony colony = Configurations.enableColonyProtection && event.getTarget() instanceof EntityCitizen
+                                ? getColony(playerIn.getEntityWorld(), playerIn.getPosition()) : null;
+        if (colony != null)
         {
             final Permissions.Rank rank = colony.getPermissions().getRank(playerIn);
 
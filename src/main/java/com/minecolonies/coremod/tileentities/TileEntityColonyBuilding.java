@@ -6,6 +6,7 @@ import com.minecolonies.coremod.colony.ColonyView;
 import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
 import com.minecolonies.coremod.colony.materials.MaterialSystem;
 import com.minecolonies.coremod.colony.permissions.Permissions;
+import com.minecolonies.coremod.inventory.InventoryIndex;
 import com.minecolonies.coremod.util.Log;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
@@ -41,6 +42,12 @@ public class TileEntityColonyBuilding extends TileEntityChest
      */
     private AbstractBuilding building;
 
+    /**
+     * Index of the items and tools in the chest.
+     */
+    @NotNull
+    private final InventoryIndex itemIndex = new InventoryIndex(this);
+
     /**
      * Empty standard constructor.
      */
@@ -210,6 +217,17 @@ public class TileEntityColonyBuilding extends TileEntityChest
         building = b;
     }
 
+    /**
+     * Get the index of the items and tools in the chest.
+     *
+     * @return the index.
+     */
+    @NotNull
+    public InventoryIndex getItemIndex()
+    {
+        return itemIndex;
+    }
+
     /**
      * Returns the view of the building associated with the tile entity.
      *
@@ -227,6 +245,7 @@ public class TileEntityColonyBuilding extends TileEntityChest
     public void readFromNBT(final NBTTagCompound compound)
     {
         super.readFromNBT(compound);
+        itemIndex.markStale();
         if (compound.hasKey(TAG_COLONY))
         {
             colonyId = compound.getInteger(TAG_COLONY);
@@ -273,6 +292,7 @@ public class TileEntityColonyBuilding extends TileEntityChest
     public ItemStack decrStackSize(final int index, final int quantity)
     {
         final ItemStack removed = super.decrStackSize(index, quantity);
+        itemIndex.update(index);
 
         removeStackFromMaterialStore(removed);
 
@@ -283,6 +303,7 @@ public class TileEntityColonyBuilding extends TileEntityChest
     public ItemStack removeStackFromSlot(final int index)
     {
         final ItemStack removed = super.removeStackFromSlot(index);
+        itemIndex.update(index);
 
         removeStackFromMaterialStore(removed);
 
@@ -296,10 +317,18 @@ public class TileEntityColonyBuilding extends TileEntityChest
         removeStackFromMaterialStore(previous);
 
         super.setInventorySlotContents(index, stack);
+        itemIndex.update(index);
 
         addStackToMaterialStore(stack);
     }
 
+    @Override
+    public void clear()
+    {
+        super.clear();
+        itemIndex.markStale();
+    }
+
     private void addStackToMaterialStore(final ItemStack stack)
     {
         if (stack == null)
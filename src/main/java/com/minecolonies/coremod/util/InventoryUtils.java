@@ -639,17 +639,9 @@ public class InventoryUtils
      */
     public static boolean hasToolLevel(final String tool, @NotNull final InventoryCitizen inventory, final int hutLevel)
     {
-        for (int i = 0; i < inventory.getSizeInventory(); i++)
-        {
-            final ItemStack item = inventory.getStackInSlot(i);
-            final int level = Utils.getMiningLevel(item, tool);
-
-            if (Utils.isTool(item, tool) && verifyToolLevel(item, level, hutLevel))
-            {
-                return true;
-            }
-        }
-        return false;
+        return inventory.getItemIndex().findFirstToolSlot(
+          tool,
+          item -> Utils.isTool(item, tool) && verifyToolLevel(item, Utils.getMiningLevel(item, tool), hutLevel)) >= 0;
     }
 
     /**
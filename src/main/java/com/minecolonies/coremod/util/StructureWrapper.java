@@ -1,6 +1,5 @@
 package com.minecolonies.coremod.util;
 
-import com.minecolonies.coremod.blocks.ModBlocks;
 import com.minecolonies.coremod.configuration.Configurations;
 import com.minecolonies.structures.helpers.StructureProxy;
 import net.minecraft.block.Block;
@@ -163,43 +162,28 @@ public final class StructureWrapper
 
         @NotNull final List<BlockPos> delayedBlocks = new ArrayList<>();
 
-        //structure.getBlockInfo()[0].pos
-
-        for (int j = 0; j < structure.getHeight(); j++)
+        structure.forEachBlock(true, (x, y, z, localState) ->
         {
-            for (int k = 0; k < structure.getLength(); k++)
+            @NotNull final BlockPos localPos = new BlockPos(x, y, z);
+            final Block localBlock = localState.getBlock();
+            final BlockPos worldPos = pos.add(localPos);
+
+            if (localBlock == Blocks.AIR && !world.getBlockState(worldPos).getMaterial().isSolid())
             {
-                for (int i = 0; i < structure.getWidth(); i++)
-                {
-                    @NotNull final BlockPos localPos = new BlockPos(i, j, k);
-                    final IBlockState localState = this.structure.getBlockState(localPos);
-                    final Block localBlock = localState.getBlock();
-
-                    final BlockPos worldPos = pos.add(localPos);
-                    final IBlockState worldState = world.getBlockState(worldPos);
-
-                    if (localBlock == ModBlocks.blockSubstitution)
-                    {
-                        continue;
-                    }
-                    else if (localBlock == Blocks.AIR && !worldState.getMaterial().isSolid())
-                    {
-                        world.setBlockToAir(worldPos);
-                    }
-                    else if (localState.getMaterial().isSolid())
-                    {
-                        placeBlock(localState, localBlock, worldPos);
-                    }
-                    else
-                    {
-                        delayedBlocks.add(localPos);
-                    }
-
-                    //setTileEntity checks for null and ignores it.
-                    world.setTileEntity(worldPos, structure.getTileEntity(localPos));
-                }
+                world.setBlockToAir(worldPos);
             }
-        }
+            else if (localState.getMaterial().isSolid())
+            {
+                placeBlock(localState, localBlock, worldPos);
+            }
+            else
+            {
+                delayedBlocks.add(localPos);
+            }
+
+            //setTileEntity checks for null and ignores it.
+            world.setTileEntity(worldPos, structure.getTileEntity(localPos));
+        });
 
         for (@NotNull final BlockPos coords : delayedBlocks)
         {
@@ -282,15 +266,15 @@ public final class StructureWrapper
      */
     public boolean doesStructureBlockEqualWorldBlock()
     {
-        final IBlockState structureBlockState = structure.getBlockState(this.getLocalPosition());
-        final Block structureBlock = structureBlockState.getBlock();
-
         //All worldBlocks are equal the substitution block
-        if (structureBlock == ModBlocks.blockSubstitution)
+        if (structure.isSkipped(this.getLocalPosition()))
         {
             return true;
         }
 
+        final IBlockState structureBlockState = structure.getBlockState(this.getLocalPosition());
+        final Block structureBlock = structureBlockState.getBlock();
+
         final BlockPos worldPos = this.getBlockPosition();
 
         final IBlockState worldBlockState = world.getBlockState(worldPos);
@@ -0,0 +1,99 @@
+package com.minecolonies.structures.helpers;
+
+import net.minecraft.world.World;
+import net.minecraft.world.gen.structure.template.PlacementSettings;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of the parsed schematics, by name and rotation.
+ * <p>
+ * A schematic is read from disk once and all its rotations are computed at the same time, every builder and miner
+ * working on it shares the same immutable {@link SchematicData}. The least recently used entries are dropped when
+ * the cache is full. Clear it when the schematics on disk changed.
+ */
+public final class SchematicCache
+{
+    /**
+     * Number of rotations of a schematic.
+     */
+    private static final int ROTATIONS = 4;
+
+    /**
+     * Maximum number of cached rotations, 16 schematics in all their rotations.
+     */
+    private static final int MAX_ENTRIES = 64;
+
+    /**
+     * Load factor of the cache map.
+     */
+    private static final float LOAD_FACTOR = 0.75F;
+
+    private static final Map<String, SchematicData> cache = new LinkedHashMap<String, SchematicData>(MAX_ENTRIES, LOAD_FACTOR, true)
+    {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, SchematicData> eldest)
+        {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private SchematicCache()
+    {
+        //Hides default constructor.
+    }
+
+    /**
+     * Get a schematic in a rotation, loading it if it isn't cached.
+     *
+     * @param world the world, used to find the schematic folder.
+     * @param name  the name of the schematic.
+     * @param times times to rotate clockwise.
+     * @return the data or null if the schematic doesn't exist.
+     */
+    @Nullable
+    public static synchronized SchematicData get(@Nullable final World world, @NotNull final String name, final int times)
+    {
+        final int rotation = times > 0 && times < ROTATIONS ? times : 0;
+        final SchematicData cached = cache.get(key(name, rotation));
+        if (cached != null)
+        {
+            return cached;
+        }
+
+        final Structure structure = new Structure(world, name, new PlacementSettings());
+        if (structure.isTemplateNull())
+        {
+            return null;
+        }
+
+        SchematicData requested = null;
+        for (int i = 0; i < ROTATIONS; i++)
+        {
+            final SchematicData data = SchematicData.create(structure, i);
+            cache.put(key(name, i), data);
+            if (i == rotation)
+            {
+                requested = data;
+            }
+        }
+        return requested;
+    }
+
+    /**
+     * Drop all cached schematics, call when the schematics were reloaded.
+     */
+    public static synchronized void clear()
+    {
+        cache.clear();
+    }
+
+    @NotNull
+    private static String key(@NotNull final String name, final int rotation)
+    {
+        return name + ":" + rotation;
+    }
+}
@@ -0,0 +1,310 @@
+package com.minecolonies.structures.helpers;
+
+import com.minecolonies.coremod.blocks.AbstractBlockHut;
+import com.minecolonies.coremod.blocks.ModBlocks;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.BitArray;
+import net.minecraft.util.Rotation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.gen.structure.template.PlacementSettings;
+import net.minecraft.world.gen.structure.template.Template;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable blocks of one rotation of a schematic, shared by every {@link StructureProxy} of that schematic.
+ * <p>
+ * The blocks are stored as a palette of the distinct states and one palette index per position, packed with as
+ * few bits as the palette needs and flattened in the y, z, x order the structures are built in.
+ * Index 0 is reserved for positions the template doesn't contain, which read as null.
+ */
+public final class SchematicData
+{
+    /**
+     * Kind of the palette entries, so iterating doesn't have to look at the states.
+     */
+    private static final byte KIND_BLOCK   = 0;
+    private static final byte KIND_AIR     = 1;
+    private static final byte KIND_SKIPPED = 2;
+
+    private final int           width;
+    private final int           height;
+    private final int           length;
+    @NotNull
+    private final IBlockState[] palette;
+    @NotNull
+    private final byte[]        kinds;
+    @NotNull
+    private final BitArray      indices;
+    @Nullable
+    private final BlockPos      hutOffset;
+    @NotNull
+    private final BlockPos      offset;
+
+    /**
+     * Visitor of the blocks of a schematic.
+     */
+    @FunctionalInterface
+    public interface BlockVisitor
+    {
+        /**
+         * Called for each visited block.
+         *
+         * @param x     the x position.
+         * @param y     the y position.
+         * @param z     the z position.
+         * @param state the state at the position.
+         */
+        void visit(int x, int y, int z, @NotNull IBlockState state);
+    }
+
+    private SchematicData(
+                           final int width, final int height, final int length,
+                           @NotNull final IBlockState[] palette, @NotNull final BitArray indices,
+                           @Nullable final BlockPos hutOffset, @NotNull final BlockPos offset)
+    {
+        this.width = width;
+        this.height = height;
+        this.length = length;
+        this.palette = palette;
+        this.indices = indices;
+        this.hutOffset = hutOffset;
+        this.offset = offset;
+
+        this.kinds = new byte[palette.length];
+        for (int i = 0; i < palette.length; i++)
+        {
+            if (palette[i] == null || palette[i].getBlock() == ModBlocks.blockSubstitution)
+            {
+                kinds[i] = KIND_SKIPPED;
+            }
+            else if (palette[i].getBlock() == Blocks.AIR)
+            {
+                kinds[i] = KIND_AIR;
+            }
+            else
+            {
+                kinds[i] = KIND_BLOCK;
+            }
+        }
+    }
+
+    /**
+     * Read the blocks of a structure in a rotation.
+     * Rotated positions are moved back to start at 0, the offset is the hut or the center of a decoration.
+     *
+     * @param structure the loaded structure.
+     * @param times     times to rotate clockwise.
+     * @return the data.
+     */
+    @NotNull
+    static SchematicData create(@NotNull final Structure structure, final int times)
+    {
+        final Rotation rotation = toRotation(times);
+        final BlockPos size = structure.getSize(rotation);
+        final Template.BlockInfo[] infos = structure.getBlockInfoWithSettings(new PlacementSettings().setRotation(rotation));
+
+        int minX = 0;
+        int minY = 0;
+        int minZ = 0;
+        for (final Template.BlockInfo info : infos)
+        {
+            minX = Math.min(minX, info.pos.getX());
+            minY = Math.min(minY, info.pos.getY());
+            minZ = Math.min(minZ, info.pos.getZ());
+        }
+        minX = Math.abs(minX);
+        minY = Math.abs(minY);
+        minZ = Math.abs(minZ);
+
+        final int width = size.getX();
+        final int height = size.getY();
+        final int length = size.getZ();
+        final int[] unpacked = new int[width * height * length];
+        final List<IBlockState> palette = new ArrayList<>();
+        final Map<IBlockState, Integer> paletteIndex = new HashMap<>();
+        palette.add(null);
+
+        BlockPos hutOffset = null;
+        for (final Template.BlockInfo info : infos)
+        {
+            final int x = info.pos.getX() + minX;
+            final int y = info.pos.getY() + minY;
+            final int z = info.pos.getZ() + minZ;
+
+            Integer index = paletteIndex.get(info.blockState);
+            if (index == null)
+            {
+                index = palette.size();
+                palette.add(info.blockState);
+                paletteIndex.put(info.blockState, index);
+            }
+            unpacked[(y * length + z) * width + x] = index;
+
+            if (info.blockState.getBlock() instanceof AbstractBlockHut)
+            {
+                hutOffset = new BlockPos(x, y, z);
+            }
+        }
+
+        final int bits = Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(palette.size() - 1));
+        final BitArray indices = new BitArray(bits, Math.max(1, unpacked.length));
+        for (int i = 0; i < unpacked.length; i++)
+        {
+            if (unpacked[i] != 0)
+            {
+                indices.setAt(i, unpacked[i]);
+            }
+        }
+
+        final BlockPos offset = hutOffset == null ? getDecorationOffset(size, times, minX, minY, minZ) : hutOffset;
+        return new SchematicData(width, height, length, palette.toArray(new IBlockState[palette.size()]), indices, hutOffset, offset);
+    }
+
+    /**
+     * Calculates the offset of a decoration, which has no hut to anchor it.
+     */
+    @NotNull
+    private static BlockPos getDecorationOffset(@NotNull final BlockPos size, final int rotation, final int minX, final int minY, final int minZ)
+    {
+        BlockPos tempSize = size;
+        if (rotation == 1)
+        {
+            tempSize = new BlockPos(-size.getX(), size.getY(), size.getZ());
+        }
+        if (rotation == 2)
+        {
+            tempSize = new BlockPos(-size.getX(), size.getY(), -size.getZ());
+        }
+        if (rotation == 3)
+        {
+            tempSize = new BlockPos(size.getX(), size.getY(), -size.getZ());
+        }
+
+        return new BlockPos(tempSize.getX() / 2, 0, tempSize.getZ() / 2).add(minX, minY, minZ);
+    }
+
+    /**
+     * Converts the rotate count to a rotation.
+     *
+     * @param times times to rotate clockwise.
+     * @return the rotation.
+     */
+    @NotNull
+    static Rotation toRotation(final int times)
+    {
+        switch (times)
+        {
+            case 1:
+                return Rotation.CLOCKWISE_90;
+            case 2:
+                return Rotation.CLOCKWISE_180;
+            case 3:
+                return Rotation.COUNTERCLOCKWISE_90;
+            default:
+                return Rotation.NONE;
+        }
+    }
+
+    /**
+     * Getter of the IBlockState at a certain position.
+     *
+     * @param x the x position.
+     * @param y the y position.
+     * @param z the z position.
+     * @return the blockState or null if the template has no block there.
+     */
+    @Nullable
+    public IBlockState getBlockState(final int x, final int y, final int z)
+    {
+        return palette[indices.getAt((y * length + z) * width + x)];
+    }
+
+    /**
+     * Check whether a position is left as it is in the world, because the template doesn't contain it or it holds a
+     * substitution block.
+     *
+     * @param x the x position.
+     * @param y the y position.
+     * @param z the z position.
+     * @return true if it is skipped.
+     */
+    public boolean isSkipped(final int x, final int y, final int z)
+    {
+        return kinds[indices.getAt((y * length + z) * width + x)] == KIND_SKIPPED;
+    }
+
+    /**
+     * Visit the blocks in building order, y then z then x, leaving out skipped positions.
+     *
+     * @param includeAir whether to visit air too.
+     * @param visitor    the visitor.
+     */
+    public void forEachBlock(final boolean includeAir, @NotNull final BlockVisitor visitor)
+    {
+        int index = 0;
+        for (int y = 0; y < height; y++)
+        {
+            for (int z = 0; z < length; z++)
+            {
+                for (int x = 0; x < width; x++)
+                {
+                    final int paletteIndex = indices.getAt(index++);
+                    final byte kind = kinds[paletteIndex];
+                    if (kind == KIND_BLOCK || (includeAir && kind == KIND_AIR))
+                    {
+                        visitor.visit(x, y, z, palette[paletteIndex]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the position of the hut block, or null if this is a decoration.
+     */
+    @Nullable
+    public BlockPos getHutOffset()
+    {
+        return hutOffset;
+    }
+
+    /**
+     * @return the position of the hut block, or the center of a decoration.
+     */
+    @NotNull
+    public BlockPos getOffset()
+    {
+        return offset;
+    }
+
+    /**
+     * @return the width.
+     */
+    public int getWidth()
+    {
+        return width;
+    }
+
+    /**
+     * @return the height.
+     */
+    public int getHeight()
+    {
+        return height;
+    }
+
+    /**
+     * @return the length.
+     */
+    public int getLength()
+    {
+        return length;
+    }
+}
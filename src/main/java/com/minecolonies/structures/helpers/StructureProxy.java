@@ -1,37 +1,30 @@
 package com.minecolonies.structures.helpers;
 
-import com.minecolonies.coremod.blocks.AbstractBlockHut;
 import com.minecolonies.coremod.util.BlockPosUtil;
-import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.tileentity.TileEntity;
-import net.minecraft.util.Rotation;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import net.minecraft.world.gen.structure.template.PlacementSettings;
-import net.minecraft.world.gen.structure.template.Template;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.util.*;
 
 /**
  * Proxy class translating the structures method to something we can use.
  */
 public class StructureProxy
 {
-    private final Structure structure;
-    private final List<TileEntity> tileEntities = new ArrayList<>();
-    private final List<Entity>     entities     = new ArrayList<>();
-    private Block[][][]       blocks;
-    private IBlockState[][][] metadata;
-    private int               width;
-    private int               height;
-    private int               length;
-    private BlockPos          offset;
+    private final World                     world;
+    private final String                    name;
+    private final Map<BlockPos, TileEntity> tileEntities = new HashMap<>();
+    private final List<Entity>              entities     = new ArrayList<>();
+    private SchematicData                   data;
+    private int                             width;
+    private int                             height;
+    private int                             length;
+    private BlockPos                        offset;
 
     /**
      * @param worldObj the world.
@@ -39,32 +32,19 @@ public class StructureProxy
      */
     public StructureProxy(final World worldObj, final String name)
     {
-        this.structure = new Structure(worldObj, name, new PlacementSettings());
+        this.world = worldObj;
+        this.name = name;
+        this.data = SchematicCache.get(worldObj, name, 0);
 
-        if(structure.isTemplateNull())
+        if (data == null)
         {
             return;
         }
-        final BlockPos size = structure.getSize(Rotation.NONE);
 
-        this.width = size.getX();
-        this.height = size.getY();
-        this.length = size.getZ();
-
-        this.blocks = new Block[width][height][length];
-        this.metadata = new IBlockState[width][height][length];
-
-        for (final Template.BlockInfo info : structure.getBlockInfo())
-        {
-            final BlockPos tempPos = info.pos;
-            blocks[tempPos.getX()][tempPos.getY()][tempPos.getZ()] = info.blockState.getBlock();
-            metadata[tempPos.getX()][tempPos.getY()][tempPos.getZ()] = info.blockState;
-
-            if (info.blockState.getBlock() instanceof AbstractBlockHut)
-            {
-                offset = info.pos;
-            }
-        }
+        this.width = data.getWidth();
+        this.height = data.getHeight();
+        this.length = data.getLength();
+        this.offset = data.getHutOffset();
     }
 
     /**
@@ -112,23 +92,39 @@ public class StructureProxy
     }
 
     /**
-     * Getter for the structure.
-     * @return the structure object.
+     * Getter of the IBlockState at a certain position.
+     *
+     * @param pos the position.
+     * @return the blockState.
      */
-    public Structure getStructure()
+    public IBlockState getBlockState(@NotNull final BlockPos pos)
     {
-        return structure;
+        return data.getBlockState(pos.getX(), pos.getY(), pos.getZ());
     }
 
     /**
-     * Getter of the IBlockState at a certain position.
+     * Check whether a position is left as it is in the world, because it holds a substitution block or nothing.
      *
      * @param pos the position.
-     * @return the blockState.
+     * @return true if it is skipped.
      */
-    public IBlockState getBlockState(@NotNull final BlockPos pos)
+    public boolean isSkipped(@NotNull final BlockPos pos)
+    {
+        return data.isSkipped(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    /**
+     * Visit the blocks of the structure in building order, leaving out substitution blocks.
+     *
+     * @param includeAir whether to visit air too.
+     * @param visitor    the visitor.
+     */
+    public void forEachBlock(final boolean includeAir, @NotNull final SchematicData.BlockVisitor visitor)
     {
-        return metadata[pos.getX()][pos.getY()][pos.getZ()];
+        if (data != null)
+        {
+            data.forEachBlock(includeAir, visitor);
+        }
     }
 
     /**
@@ -139,25 +135,18 @@ public class StructureProxy
      */
     public TileEntity getTileEntity(final BlockPos pos)
     {
-        for (final TileEntity tileEntity : this.tileEntities)
-        {
-            if (tileEntity.getPos().equals(pos))
-            {
-                return tileEntity;
-            }
-        }
-
-        return null;
+        return this.tileEntities.get(pos);
     }
 
     /**
-     * Return a list of tileEntities.
+     * Return the tileEntities.
      *
-     * @return list of them.
+     * @return the tileEntities by position.
      */
-    public List<TileEntity> getTileEntities()
+    @NotNull
+    public Map<BlockPos, TileEntity> getTileEntities()
     {
-        return this.tileEntities;
+        return Collections.unmodifiableMap(this.tileEntities);
     }
 
     /**
@@ -173,11 +162,13 @@ public class StructureProxy
             return;
         }
 
-        removeTileEntity(pos);
-
-        if (tileEntity != null)
+        if (tileEntity == null)
+        {
+            this.tileEntities.remove(pos);
+        }
+        else
         {
-            this.tileEntities.add(tileEntity);
+            this.tileEntities.put(pos.toImmutable(), tileEntity);
         }
     }
 
@@ -196,25 +187,6 @@ public class StructureProxy
         return (x < 0 || y < 0 || z < 0 || x >= this.width || y >= this.height || z >= this.length);
     }
 
-    /**
-     * Removes a tileEntity at a position.
-     *
-     * @param pos the position to remove it at.
-     */
-    private void removeTileEntity(final BlockPos pos)
-    {
-        final Iterator<TileEntity> iterator = this.tileEntities.iterator();
-
-        while (iterator.hasNext())
-        {
-            final TileEntity tileEntity = iterator.next();
-            if (tileEntity.getPos().equals(pos))
-            {
-                iterator.remove();
-            }
-        }
-    }
-
     /**
      * Return all entities.
      *
@@ -309,106 +281,16 @@ public class StructureProxy
      */
     public void rotate(final int times)
     {
-        final Rotation rotation;
-        switch (times)
+        final SchematicData rotated = SchematicCache.get(world, name, times);
+        if (rotated == null)
         {
-            case 1:
-                rotation = Rotation.CLOCKWISE_90;
-                break;
-            case 2:
-                rotation = Rotation.CLOCKWISE_180;
-                break;
-            case 3:
-                rotation = Rotation.COUNTERCLOCKWISE_90;
-                break;
-            default:
-                rotation = Rotation.NONE;
-        }
-        structure.setPlacementSettings(new PlacementSettings().setRotation(rotation));
-
-        final BlockPos size = structure.getSize(rotation);
-
-        this.width = size.getX();
-        this.height = size.getY();
-        this.length = size.getZ();
-
-        this.blocks = new Block[width][height][length];
-        this.metadata = new IBlockState[width][height][length];
-
-        int minX = 0;
-        int minY = 0;
-        int minZ = 0;
-
-        for (final Template.BlockInfo info : structure.getBlockInfoWithSettings(new PlacementSettings().setRotation(rotation)))
-        {
-            final BlockPos tempPos = info.pos;
-            final int x = tempPos.getX();
-            final int y = tempPos.getY();
-            final int z = tempPos.getZ();
-            if (x < minX)
-            {
-                minX = x;
-            }
-
-            if (y < minY)
-            {
-                minY = y;
-            }
-
-            if (z < minZ)
-            {
-                minZ = z;
-            }
-        }
-
-        minX = Math.abs(minX);
-        minY = Math.abs(minY);
-        minZ = Math.abs(minZ);
-        boolean foundHut = false;
-
-        for (final Template.BlockInfo info : structure.getBlockInfoWithSettings(new PlacementSettings().setRotation(rotation)))
-        {
-            final BlockPos tempPos = info.pos;
-            final int x = tempPos.getX() + minX;
-            final int y = tempPos.getY() + minY;
-            final int z = tempPos.getZ() + minZ;
-
-            this.blocks[x][y][z] = info.blockState.getBlock();
-            this.metadata[x][y][z] = info.blockState;
-
-            if (info.blockState.getBlock() instanceof AbstractBlockHut)
-            {
-                foundHut = true;
-                offset = info.pos.add(minX, minY, minZ);
-            }
+            return;
         }
-        updateOffSetIfDecoration(foundHut, size, times, minX, minY, minZ);
-    }
-
-    /**
-     * Updates the offset if the structure is a decoration.
-     *
-     * @param foundHut if false update.
-     */
-    private void updateOffSetIfDecoration(final boolean foundHut, final BlockPos size, int rotation, int minX, int minY, int minZ)
-    {
-        if (!foundHut)
-        {
-            BlockPos tempSize = size;
-            if (rotation == 1)
-            {
-                tempSize = new BlockPos(-size.getX(), size.getY(), size.getZ());
-            }
-            if (rotation == 2)
-            {
-                tempSize = new BlockPos(-size.getX(), size.getY(), -size.getZ());
-            }
-            if (rotation == 3)
-            {
-                tempSize = new BlockPos(size.getX(), size.getY(), -size.getZ());
-            }
 
-            offset = new BlockPos(tempSize.getX() / 2, 0, tempSize.getZ() / 2).add(minX, minY, minZ);
-        }
+        this.data = rotated;
+        this.width = rotated.getWidth();
+        this.height = rotated.getHeight();
+        this.length = rotated.getLength();
+        this.offset = rotated.getOffset();
     }
 }
@@ -0,0 +1,166 @@
+package com.minecolonies.coremod.entity.ai.util;
+
+import com.minecolonies.coremod.test.AbstractTest;
+import net.minecraft.util.math.BlockPos;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.number.OrderingComparison.greaterThanOrEqualTo;
+import static org.hamcrest.number.OrderingComparison.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+public class BuildPlanTest extends AbstractTest
+{
+    private static final int WIDTH  = 5;
+    private static final int HEIGHT = 3;
+    private static final int LENGTH = 4;
+
+    @Override
+    public String getTestName()
+    {
+        return "BuildPlanTest";
+    }
+
+    @Test
+    public void bottomUpOrderTest()
+    {
+        final List<BlockPos> order = planAll(false);
+
+        assertThat(order.get(0), is(new BlockPos(0, 0, 0)));
+        for (int i = 1; i < order.size(); i++)
+        {
+            assertThat(order.get(i).getY(), greaterThanOrEqualTo(order.get(i - 1).getY()));
+        }
+        assertThat(order.get(order.size() - 1).getY(), is(HEIGHT - 1));
+    }
+
+    @Test
+    public void topDownOrderTest()
+    {
+        final List<BlockPos> order = planAll(true);
+
+        assertThat(order.get(0), is(new BlockPos(0, HEIGHT - 1, 0)));
+        for (int i = 1; i < order.size(); i++)
+        {
+            assertThat(order.get(i).getY(), lessThanOrEqualTo(order.get(i - 1).getY()));
+        }
+        assertThat(order.get(order.size() - 1).getY(), is(0));
+    }
+
+    @Test
+    public void everyPositionOnceTest()
+    {
+        for (final boolean topDown : new boolean[] {false, true})
+        {
+            final List<BlockPos> order = planAll(topDown);
+            assertThat(order.size(), is(WIDTH * HEIGHT * LENGTH));
+            assertThat(new HashSet<>(order).size(), is(WIDTH * HEIGHT * LENGTH));
+        }
+    }
+
+    @Test
+    public void serpentineTest()
+    {
+        for (final int length : new int[] {LENGTH, LENGTH + 1})
+        {
+            for (final boolean topDown : new boolean[] {false, true})
+            {
+                final BuildPlan plan = new BuildPlan(Structure.Stage.BUILD, topDown, WIDTH, HEIGHT, length);
+                plan.scan(WIDTH * HEIGHT * length, pos -> true);
+
+                BlockPos previous = plan.poll();
+                for (BlockPos pos = plan.poll(); pos != null; pos = plan.poll())
+                {
+                    //Consecutive positions are next to each other, also across rows and layers.
+                    final int distance = Math.abs(pos.getX() - previous.getX())
+                                           + Math.abs(pos.getY() - previous.getY())
+                                           + Math.abs(pos.getZ() - previous.getZ());
+                    assertThat(distance, is(1));
+                    previous = pos;
+                }
+            }
+        }
+    }
+
+    @Test
+    public void scanBudgetTest()
+    {
+        final BuildPlan plan = new BuildPlan(Structure.Stage.CLEAR, true, WIDTH, HEIGHT, LENGTH);
+        final int total = WIDTH * HEIGHT * LENGTH;
+
+        plan.scan(total - 1, pos -> true);
+        assertThat(plan.isScanned(), is(false));
+
+        plan.scan(total, pos -> true);
+        assertThat(plan.isScanned(), is(true));
+    }
+
+    @Test
+    public void requiredFilterTest()
+    {
+        final BuildPlan plan = new BuildPlan(Structure.Stage.BUILD, false, WIDTH, HEIGHT, LENGTH);
+        plan.scan(WIDTH * HEIGHT * LENGTH, pos -> pos.getY() == 1 && pos.getX() == 2);
+
+        int count = 0;
+        for (BlockPos pos = plan.poll(); pos != null; pos = plan.poll())
+        {
+            assertThat(pos.getY(), is(1));
+            assertThat(pos.getX(), is(2));
+            count++;
+        }
+        assertThat(count, is(LENGTH));
+    }
+
+    @Test
+    public void addAgainTest()
+    {
+        final BuildPlan plan = new BuildPlan(Structure.Stage.BUILD, false, WIDTH, HEIGHT, LENGTH);
+        final BlockPos first = new BlockPos(1, 0, 1);
+        final BlockPos second = new BlockPos(3, 2, 1);
+        plan.scan(WIDTH * HEIGHT * LENGTH, pos -> pos.equals(first) || pos.equals(second));
+
+        //Already planned positions aren't added twice.
+        plan.add(second);
+        assertThat(plan.poll(), is(first));
+        assertThat(plan.poll(), is(second));
+        assertThat(plan.poll(), is(nullValue()));
+
+        //Done positions are planned again at the end.
+        plan.add(first);
+        assertThat(plan.poll(), is(first));
+        assertThat(plan.poll(), is(nullValue()));
+    }
+
+    @Test
+    public void containsTest()
+    {
+        final BuildPlan plan = new BuildPlan(Structure.Stage.BUILD, false, WIDTH, HEIGHT, LENGTH);
+
+        assertThat(plan.contains(new BlockPos(0, 0, 0)), is(true));
+        assertThat(plan.contains(new BlockPos(WIDTH - 1, HEIGHT - 1, LENGTH - 1)), is(true));
+        assertThat(plan.contains(new BlockPos(-1, 0, 0)), is(false));
+        assertThat(plan.contains(new BlockPos(0, HEIGHT, 0)), is(false));
+        assertThat(plan.contains(new BlockPos(0, 0, LENGTH)), is(false));
+    }
+
+    /**
+     * Scans a whole plan which requires every position and returns the positions in the order of the plan.
+     */
+    private static List<BlockPos> planAll(final boolean topDown)
+    {
+        final BuildPlan plan = new BuildPlan(Structure.Stage.BUILD, topDown, WIDTH, HEIGHT, LENGTH);
+        plan.scan(WIDTH * HEIGHT * LENGTH, pos -> true);
+
+        final List<BlockPos> order = new ArrayList<>();
+        for (BlockPos pos = plan.poll(); pos != null; pos = plan.poll())
+        {
+            order.add(pos);
+        }
+        return order;
+    }
+}
@@ -0,0 +1,189 @@
+package com.minecolonies.coremod.entity.ai.util;
+
+import com.minecolonies.coremod.colony.ColonyManager;
+import com.minecolonies.coremod.test.AbstractTest;
+import com.minecolonies.coremod.util.LanguageHandler;
+import com.minecolonies.coremod.util.Log;
+import com.minecolonies.coremod.util.StructureWrapper;
+import com.minecolonies.structures.helpers.StructureProxy;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.powermock.api.mockito.PowerMockito.doAnswer;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+@PrepareForTest({ColonyManager.class, LanguageHandler.class, Log.class, StructureWrapper.class})
+public class StructureTest extends AbstractTest
+{
+    private static final int      WIDTH  = 4;
+    private static final int      HEIGHT = 2;
+    private static final int      LENGTH = 4;
+    private static final BlockPos OFFSET = new BlockPos(100, 64, 100);
+
+    private static final BlockPos FIRST_TORCH  = new BlockPos(2, 0, 2);
+    private static final BlockPos SECOND_TORCH = new BlockPos(1, 0, 1);
+
+    private final Map<BlockPos, IBlockState> structureStates = new HashMap<>();
+    private final Map<BlockPos, IBlockState> worldStates     = new HashMap<>();
+    private       BlockPos                   progress        = new BlockPos(-1, -1, -1);
+
+    private Structure structure;
+
+    @Override
+    public String getTestName()
+    {
+        return "StructureTest";
+    }
+
+    @BeforeClass
+    public static void bootstrap()
+    {
+        Bootstrap.register();
+    }
+
+    @Before
+    public void setupStructure()
+    {
+        structureStates.put(FIRST_TORCH, Blocks.TORCH.getDefaultState());
+        structureStates.put(SECOND_TORCH, Blocks.TORCH.getDefaultState());
+
+        final World world = mock(World.class);
+        when(world.getBlockState(any(BlockPos.class))).thenAnswer(
+          invocation -> worldStates.getOrDefault(invocation.getArguments()[0], Blocks.AIR.getDefaultState()));
+
+        final StructureProxy proxy = mock(StructureProxy.class);
+        when(proxy.isSkipped(any(BlockPos.class))).thenReturn(false);
+
+        final StructureWrapper wrapper = mock(StructureWrapper.class);
+        when(wrapper.structure()).thenReturn(proxy);
+        when(wrapper.getWidth()).thenReturn(WIDTH);
+        when(wrapper.getHeight()).thenReturn(HEIGHT);
+        when(wrapper.getLength()).thenReturn(LENGTH);
+        when(wrapper.getOffsetPosition()).thenReturn(OFFSET);
+        when(wrapper.getLocalPosition()).thenAnswer(invocation -> progress);
+        when(wrapper.getBlockPosition()).thenAnswer(invocation -> progress.add(OFFSET));
+        when(wrapper.getBlockState()).thenAnswer(invocation -> getStructureState(progress));
+        when(wrapper.getBlock()).thenAnswer(invocation -> getStructureState(progress).getBlock());
+        doAnswer(invocation ->
+        {
+            progress = (BlockPos) invocation.getArguments()[0];
+            return null;
+        }).when(wrapper).setLocalPosition(any(BlockPos.class));
+        doAnswer(invocation ->
+        {
+            progress = new BlockPos(-1, -1, -1);
+            return null;
+        }).when(wrapper).reset();
+
+        structure = new Structure(world, wrapper, Structure.Stage.DECORATE);
+    }
+
+    private IBlockState getStructureState(final BlockPos local)
+    {
+        return structureStates.getOrDefault(local, Blocks.AIR.getDefaultState());
+    }
+
+    /**
+     * Advances the structure until the plan is scanned and it returns a block or the end.
+     */
+    private Structure.Result advance()
+    {
+        Structure.Result result = structure.advanceBlock();
+        while (result == Structure.Result.CONFIG_LIMIT)
+        {
+            result = structure.advanceBlock();
+        }
+        return result;
+    }
+
+    /**
+     * Lets the builder place the block of the structure at the current position.
+     */
+    private void placeCurrentBlock()
+    {
+        worldStates.put(progress.add(OFFSET), getStructureState(progress));
+    }
+
+    @Test
+    public void planOrderTest()
+    {
+        //Decoration works top down and the layer at y 0 is walked from the far end.
+        assertThat(advance(), is(Structure.Result.NEW_BLOCK));
+        assertThat(progress, is(FIRST_TORCH));
+        placeCurrentBlock();
+
+        assertThat(advance(), is(Structure.Result.NEW_BLOCK));
+        assertThat(progress, is(SECOND_TORCH));
+        placeCurrentBlock();
+
+        assertThat(advance(), is(Structure.Result.AT_END));
+    }
+
+    @Test
+    public void changedBlockIsPlannedAgainTest()
+    {
+        while (advance() == Structure.Result.NEW_BLOCK)
+        {
+            placeCurrentBlock();
+        }
+
+        //Somebody breaks a placed torch.
+        worldStates.remove(FIRST_TORCH.add(OFFSET));
+        structure.onBlockChanged(FIRST_TORCH.add(OFFSET));
+
+        assertThat(advance(), is(Structure.Result.NEW_BLOCK));
+        assertThat(progress, is(FIRST_TORCH));
+        placeCurrentBlock();
+        assertThat(advance(), is(Structure.Result.AT_END));
+    }
+
+    @Test
+    public void unchangedBlockIsNotPlannedTest()
+    {
+        while (advance() == Structure.Result.NEW_BLOCK)
+        {
+            placeCurrentBlock();
+        }
+
+        //Changes which leave the world matching the structure, or outside of it, are ignored.
+        structure.onBlockChanged(SECOND_TORCH.add(OFFSET));
+        structure.onBlockChanged(OFFSET.add(WIDTH, 0, 0));
+        structure.onBlockChanged(OFFSET.down());
+
+        assertThat(advance(), is(Structure.Result.AT_END));
+    }
+
+    @Test
+    public void changeKeepsProgressTest()
+    {
+        assertThat(advance(), is(Structure.Result.NEW_BLOCK));
+        assertThat(progress, is(FIRST_TORCH));
+
+        //Somebody breaks the other torch while the builder is working on the first one.
+        structure.onBlockChanged(SECOND_TORCH.add(OFFSET));
+        assertThat(progress, is(FIRST_TORCH));
+    }
+
+    @Test
+    public void changeBeforePlanTest()
+    {
+        structure.onBlockChanged(FIRST_TORCH.add(OFFSET));
+
+        assertThat(advance(), is(Structure.Result.NEW_BLOCK));
+        assertThat(progress, is(FIRST_TORCH));
+    }
+}
@@ -0,0 +1,211 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import com.minecolonies.coremod.test.AbstractTest;
+import net.minecraft.util.math.BlockPos;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.number.OrderingComparison.greaterThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+public class NodeStoreTest extends AbstractTest
+{
+    /**
+     * Enough keys to grow the table a few times.
+     */
+    private static final int MANY_KEYS = 20_000;
+
+    /**
+     * Enough keys to grow the table beyond the capacity which is kept on clear.
+     */
+    private static final int TOO_MANY_KEYS = 300_000;
+
+    private NodeStore store;
+
+    @Override
+    public String getTestName()
+    {
+        return "NodeStoreTest";
+    }
+
+    @Before
+    public void setupStore()
+    {
+        store = NodeStore.forCurrentThread();
+    }
+
+    @Test
+    public void collidingKeysTest()
+    {
+        final int[] keys = findCollidingKeys(3);
+        final Node[] nodes = new Node[keys.length];
+        for (int i = 0; i < keys.length; i++)
+        {
+            nodes[i] = node(i, 0);
+            store.putVisited(keys[i], nodes[i]);
+        }
+
+        for (int i = 0; i < keys.length; i++)
+        {
+            assertThat(store.getVisited(keys[i]), is(sameInstance(nodes[i])));
+        }
+        assertThat(store.getVisited(findCollidingKeys(4)[3]), is(nullValue()));
+    }
+
+    @Test
+    public void replaceVisitedTest()
+    {
+        final int[] keys = findCollidingKeys(2);
+        store.putVisited(keys[0], node(0, 0));
+        store.putVisited(keys[1], node(1, 0));
+
+        final Node replacement = node(2, 0);
+        store.putVisited(keys[1], replacement);
+
+        assertThat(store.getVisited(keys[1]), is(sameInstance(replacement)));
+    }
+
+    @Test
+    public void tableGrowthTest()
+    {
+        final List<Node> nodes = new ArrayList<>();
+        for (int key = 0; key < MANY_KEYS; key++)
+        {
+            final Node node = node(key, 0);
+            nodes.add(node);
+            store.putVisited(key, node);
+        }
+
+        for (int key = 0; key < MANY_KEYS; key++)
+        {
+            assertThat(store.getVisited(key), is(sameInstance(nodes.get(key))));
+        }
+        assertThat(store.getVisited(MANY_KEYS), is(nullValue()));
+    }
+
+    @Test
+    public void pollOrderTest()
+    {
+        final Random random = getRandom();
+        for (int i = 0; i < 1000; i++)
+        {
+            store.offer(node(i, random.nextInt(100)));
+        }
+
+        double last = Double.NEGATIVE_INFINITY;
+        while (store.hasOpen())
+        {
+            final Node node = store.poll();
+            assertThat(store.isOpen(node), is(false));
+            assertThat(node.getScore(), greaterThanOrEqualTo(last));
+            last = node.getScore();
+        }
+    }
+
+    @Test
+    public void decreaseKeyTest()
+    {
+        final List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < 50; i++)
+        {
+            final Node node = node(i, 10 + i);
+            nodes.add(node);
+            store.offer(node);
+        }
+
+        final Node last = nodes.get(nodes.size() - 1);
+        last.setScore(1);
+        store.decreaseKey(last);
+        final Node middle = nodes.get(nodes.size() / 2);
+        middle.setScore(5);
+        store.decreaseKey(middle);
+
+        assertThat(store.poll(), is(sameInstance(last)));
+        assertThat(store.poll(), is(sameInstance(middle)));
+        double previous = Double.NEGATIVE_INFINITY;
+        while (store.hasOpen())
+        {
+            final Node node = store.poll();
+            assertThat(node.getScore(), greaterThanOrEqualTo(previous));
+            previous = node.getScore();
+        }
+    }
+
+    @Test
+    public void reuseAfterClearTest()
+    {
+        for (int key = 0; key < MANY_KEYS; key++)
+        {
+            final Node node = node(key, key);
+            store.putVisited(key, node);
+            store.offer(node);
+        }
+
+        store = NodeStore.forCurrentThread();
+        assertThat(store.hasOpen(), is(false));
+        for (int key = 0; key < MANY_KEYS; key++)
+        {
+            assertThat(store.getVisited(key), is(nullValue()));
+        }
+
+        final Node node = node(0, 0);
+        store.putVisited(1, node);
+        store.offer(node);
+        assertThat(store.getVisited(1), is(sameInstance(node)));
+        assertThat(store.poll(), is(sameInstance(node)));
+        assertThat(store.hasOpen(), is(false));
+    }
+
+    @Test
+    public void reuseAfterOversizedClearTest()
+    {
+        for (int key = 0; key < TOO_MANY_KEYS; key++)
+        {
+            store.putVisited(key, node(key, 0));
+        }
+
+        store = NodeStore.forCurrentThread();
+        assertThat(store.getVisited(0), is(nullValue()));
+
+        final int[] keys = findCollidingKeys(2);
+        final Node first = node(0, 0);
+        final Node second = node(1, 0);
+        store.putVisited(keys[0], first);
+        store.putVisited(keys[1], second);
+        assertThat(store.getVisited(keys[0]), is(sameInstance(first)));
+        assertThat(store.getVisited(keys[1]), is(sameInstance(second)));
+    }
+
+    /**
+     * Finds keys which start probing at the same slot of a new table.
+     */
+    private static int[] findCollidingKeys(final int count)
+    {
+        final int mask = NodeStore.INITIAL_TABLE_CAPACITY - 1;
+        final int[] keys = new int[count];
+        final int slot = NodeStore.slotFor(0, mask);
+        int found = 0;
+        for (int key = 0; found < count; key++)
+        {
+            if (NodeStore.slotFor(key, mask) == slot)
+            {
+                keys[found++] = key;
+            }
+        }
+        return keys;
+    }
+
+    private static Node node(final int x, final double score)
+    {
+        final Node node = new Node(null, new BlockPos(x, 0, 0), 0, 0, score);
+        node.setCounterAdded(x);
+        return node;
+    }
+}
@@ -0,0 +1,164 @@
+package com.minecolonies.coremod.inventory;
+
+import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
+import com.minecolonies.coremod.colony.materials.MaterialStore;
+import com.minecolonies.coremod.colony.materials.MaterialSystem;
+import com.minecolonies.coremod.test.AbstractTest;
+import com.minecolonies.coremod.tileentities.TileEntityColonyBuilding;
+import com.minecolonies.coremod.util.Utils;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class InventoryIndexTest extends AbstractTest
+{
+    private static final int NO_SLOT = -1;
+
+    private TileEntityColonyBuilding hut;
+    private InventoryCitizen         citizenInventory;
+    private Item                     log;
+    private Item                     stone;
+
+    @Override
+    public String getTestName()
+    {
+        return "InventoryIndexTest";
+    }
+
+    @Before
+    public void setupInventories()
+    {
+        final MaterialSystem materialSystem = new MaterialSystem();
+        final AbstractBuilding mockBuilding = mock(AbstractBuilding.class);
+        when(mockBuilding.getMaterialStore()).thenReturn(new MaterialStore(MaterialStore.Type.CHEST, materialSystem));
+        hut = new TileEntityColonyBuilding();
+        hut.setBuilding(mockBuilding);
+
+        citizenInventory = new InventoryCitizen("test", false);
+        log = mockItem();
+        stone = mockItem();
+    }
+
+    /**
+     * Mocks an item which isn't a tool.
+     */
+    private static Item mockItem()
+    {
+        final Item item = mock(Item.class);
+        when(item.getHarvestLevel(any(ItemStack.class), anyString())).thenReturn(-1);
+        return item;
+    }
+
+    @Test
+    public void updateAfterSetTest()
+    {
+        final InventoryIndex index = hut.getItemIndex();
+        assertThat(index.hasItem(log), is(false));
+
+        hut.setInventorySlotContents(3, new ItemStack(log, 5));
+        assertThat(index.findFirstSlot(log, stack -> true), is(3));
+
+        hut.setInventorySlotContents(1, new ItemStack(log, 2));
+        assertThat(index.findFirstSlot(log, stack -> true), is(1));
+        assertThat(index.getStacks(log).size(), is(2));
+
+        hut.setInventorySlotContents(1, new ItemStack(stone, 1));
+        assertThat(index.findFirstSlot(log, stack -> true), is(3));
+        assertThat(index.findFirstSlot(stone, stack -> true), is(1));
+
+        hut.setInventorySlotContents(3, null);
+        assertThat(index.hasItem(log), is(false));
+    }
+
+    @Test
+    public void predicateTest()
+    {
+        final InventoryIndex index = hut.getItemIndex();
+        hut.setInventorySlotContents(0, new ItemStack(log, 2));
+        hut.setInventorySlotContents(4, new ItemStack(log, 8));
+
+        assertThat(index.findFirstSlot(log, stack -> stack.stackSize > 4), is(4));
+        assertThat(index.findFirstSlot(log, stack -> stack.stackSize > 8), is(NO_SLOT));
+    }
+
+    @Test
+    public void toolTest()
+    {
+        final Item axe = mock(Item.class);
+        when(axe.getHarvestLevel(any(ItemStack.class), anyString())).thenReturn(-1);
+        when(axe.getHarvestLevel(any(ItemStack.class), eq(Utils.AXE))).thenReturn(2);
+        final InventoryIndex index = citizenInventory.getItemIndex();
+
+        citizenInventory.setInventorySlotContents(5, new ItemStack(axe, 1));
+        citizenInventory.setInventorySlotContents(6, new ItemStack(log, 1));
+
+        assertThat(index.findFirstToolSlot(Utils.AXE, stack -> true), is(5));
+        assertThat(index.getBestToolLevel(Utils.AXE), is(2));
+        assertThat(index.findFirstToolSlot(Utils.PICKAXE, stack -> true), is(NO_SLOT));
+        assertThat(index.getBestToolLevel(Utils.PICKAXE), is(NO_SLOT));
+    }
+
+    @Test
+    public void resyncAfterClearTest()
+    {
+        final InventoryIndex index = hut.getItemIndex();
+        hut.setInventorySlotContents(2, new ItemStack(log, 1));
+        assertThat(index.hasItem(log), is(true));
+
+        hut.clear();
+        assertThat(index.hasItem(log), is(false));
+
+        hut.setInventorySlotContents(7, new ItemStack(log, 1));
+        assertThat(index.findFirstSlot(log, stack -> true), is(7));
+    }
+
+    @Test
+    public void resyncAfterReadTest()
+    {
+        final InventoryIndex index = citizenInventory.getItemIndex();
+        citizenInventory.setInventorySlotContents(2, new ItemStack(log, 1));
+        assertThat(index.hasItem(log), is(true));
+
+        citizenInventory.readFromNBT(new NBTTagCompound());
+        assertThat(index.hasItem(log), is(false));
+        assertThat(index.getStacks(log), is(Collections.<ItemStack>emptyList()));
+
+        final ItemStack stack = new ItemStack(log, 1);
+        citizenInventory.setInventorySlotContents(2, stack);
+        assertThat(index.getStacks(log).get(0), is(sameInstance(stack)));
+    }
+
+    @Test
+    public void decrStackSizeTest()
+    {
+        final InventoryIndex index = citizenInventory.getItemIndex();
+        citizenInventory.setInventorySlotContents(1, new ItemStack(log, 4));
+        citizenInventory.setInventorySlotContents(8, new ItemStack(log, 4));
+
+        citizenInventory.decrStackSize(1, 2);
+        assertThat(index.findFirstSlot(log, stack -> true), is(1));
+
+        citizenInventory.decrStackSize(1, 2);
+        assertThat(index.findFirstSlot(log, stack -> true), is(8));
+
+        citizenInventory.decrStackSize(8, 10);
+        assertThat(index.hasItem(log), is(false));
+
+        citizenInventory.setInventorySlotContents(1, new ItemStack(stone, 1));
+        assertThat(index.hasItem(log), is(false));
+        assertThat(index.findFirstSlot(stone, stack -> true), is(1));
+    }
+}